@@ -0,0 +1,202 @@
+package com.github.chengzhy.basiccode.aspect.distributedlock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.redisson.RedissonMultiLock;
+import org.redisson.api.RFuture;
+import org.redisson.api.RLock;
+import org.redisson.client.RedisException;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * 异步方法分布式锁
+ *
+ * <p>返回{@link CompletableFuture}、{@link CompletionStage}或{@link ListenableFuture}的方法使用redisson异步加锁，
+ * 等待锁期间不占用线程；加锁成功后调用方法，方法返回的future完成时异步解锁。
+ * <ul>
+ *     <li>加锁和解锁可能在不同线程，每次调用分配一个负数的虚拟线程id作为锁的持有者(不会与真实线程id冲突)，
+ *     因此异步方法的锁不可重入</li>
+ *     <li>锁立即获取成功时在调用线程执行方法，需要等待时在指定线程池执行，不占用redisson的netty线程</li>
+ *     <li>与同步方式一致：tryLock失败或加锁被中断时返回值为null，redis异常时不加锁直接执行</li>
+ * </ul>
+ *
+ * @author chengzhy
+ * @date 2026/10/18 19:30
+ */
+@Slf4j
+final class AsyncLockInvoker {
+
+    private static final AtomicLong ASYNC_THREAD_ID = new AtomicLong(Long.MIN_VALUE);
+
+    private final Executor executor;
+
+    AsyncLockInvoker(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 是否异步返回类型
+     *
+     * @author chengzhy
+     * @param returnType 方法返回类型
+     * @date 2026/10/18 19:30
+     * @return 是|否
+     */
+    static boolean isAsyncReturnType(Class<?> returnType) {
+        return returnType == CompletableFuture.class || returnType == CompletionStage.class
+                || returnType == ListenableFuture.class;
+    }
+
+    /**
+     * 异步加锁并调用方法
+     *
+     * @author chengzhy
+     * @param joinPoint 程序连接点 {@code ProceedingJoinPoint}
+     * @param rLock {@link RLock}
+     * @param metadata 分布式锁元数据 {@link DistributedLockMetadata}
+     * @date 2026/10/18 19:30
+     * @return 与方法返回类型一致的future
+     */
+    Object lock(@NonNull ProceedingJoinPoint joinPoint, @NonNull RLock rLock,
+                @NonNull DistributedLockMetadata metadata) {
+        long threadId = ASYNC_THREAD_ID.getAndIncrement();
+        DistributedLockMetrics.LockMeters meters = metadata.getMeters();
+        String lockName = (rLock instanceof RedissonMultiLock) ? metadata.getKeyPrefix() : rLock.getName();
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        CompletableFuture<Boolean> lockFuture;
+        long startNanos = System.nanoTime();
+        try {
+            lockFuture = lockAsync(rLock, metadata, threadId).toCompletableFuture();
+        } catch (RedisException e) {
+            log.error(e.getMessage(), e);
+            meters.recordAcquire(lockName, System.nanoTime() - startNanos,
+                    DistributedLockMetrics.AcquireResult.FALLBACK);
+            proceed(joinPoint, result, null);
+            return adapt(joinPoint, result);
+        }
+        BiConsumer<Boolean, Throwable> action = (locked, e) -> {
+            long acquireNanos = System.nanoTime() - startNanos;
+            if (e != null) {
+                Throwable cause = unwrap(e);
+                log.error(cause.getMessage(), cause);
+                if (cause instanceof RedisException) {
+                    meters.recordAcquire(lockName, acquireNanos, DistributedLockMetrics.AcquireResult.FALLBACK);
+                    proceed(joinPoint, result, null);
+                } else {
+                    meters.recordAcquire(lockName, acquireNanos, DistributedLockMetrics.AcquireResult.INTERRUPTED);
+                    result.complete(null);
+                }
+            } else if (Boolean.TRUE.equals(locked)) {
+                meters.recordAcquire(lockName, acquireNanos, DistributedLockMetrics.AcquireResult.ACQUIRED);
+                long lockedNanos = System.nanoTime();
+                proceed(joinPoint, result, () -> {
+                    unlock(rLock, threadId);
+                    meters.recordHold(System.nanoTime() - lockedNanos);
+                });
+            } else {
+                meters.recordAcquire(lockName, acquireNanos, DistributedLockMetrics.AcquireResult.TIMEOUT);
+                result.complete(null);
+            }
+        };
+        if (lockFuture.isDone()) {
+            lockFuture.whenComplete(action);
+        } else {
+            lockFuture.whenCompleteAsync(action, executor);
+        }
+        return adapt(joinPoint, result);
+    }
+
+    private CompletionStage<Boolean> lockAsync(RLock rLock, DistributedLockMetadata metadata, long threadId) {
+        long leaseTime = metadata.getLeaseTime();
+        if (metadata.isTryLock()) {
+            // tryLock加锁方式
+            return (metadata.getWaitTime() == -1L) ? rLock.tryLockAsync(threadId)
+                    : rLock.tryLockAsync(TimeUnit.SECONDS.toMillis(metadata.getWaitTime()),
+                    leaseTime == -1L ? -1L : TimeUnit.SECONDS.toMillis(leaseTime), TimeUnit.MILLISECONDS, threadId);
+        }
+        // 普通加锁方式
+        RFuture<Void> future = (leaseTime == -1L) ? rLock.lockAsync(threadId)
+                : rLock.lockAsync(leaseTime, TimeUnit.SECONDS, threadId);
+        return future.thenApply(v -> Boolean.TRUE);
+    }
+
+    /**
+     * 调用方法，方法返回的future完成后执行解锁并完成result
+     */
+    private void proceed(ProceedingJoinPoint joinPoint, CompletableFuture<Object> result, @Nullable Runnable unlock) {
+        CompletionStage<?> stage;
+        try {
+            Object returnValue = joinPoint.proceed();
+            stage = (returnValue instanceof ListenableFuture) ? ((ListenableFuture<?>) returnValue).completable()
+                    : (CompletionStage<?>) returnValue;
+        } catch (Throwable e) {
+            if (unlock != null) {
+                unlock.run();
+            }
+            result.completeExceptionally(e);
+            return;
+        }
+        if (stage == null) {
+            if (unlock != null) {
+                unlock.run();
+            }
+            result.complete(null);
+            return;
+        }
+        stage.whenComplete((value, e) -> {
+            if (unlock != null) {
+                unlock.run();
+            }
+            if (e != null) {
+                result.completeExceptionally(unwrap(e));
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private void unlock(RLock rLock, long threadId) {
+        try {
+            rLock.unlockAsync(threadId).whenComplete((v, e) -> {
+                if (e != null) {
+                    log.error(e.getMessage(), e);
+                }
+            });
+        } catch (RedisException e) {
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    private static Object adapt(ProceedingJoinPoint joinPoint, CompletableFuture<Object> result) {
+        Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+        if (returnType != ListenableFuture.class) {
+            return result;
+        }
+        SettableListenableFuture<Object> future = new SettableListenableFuture<>();
+        result.whenComplete((value, e) -> {
+            if (e != null) {
+                future.setException(e);
+            } else {
+                future.set(value);
+            }
+        });
+        return future;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+    }
+
+}
@@ -3,20 +3,28 @@ package com.github.chengzhy.basiccode.aspect.distributedlock;
 import com.github.chengzhy.basiccode.aspect.distributedlock.annotation.DistributedRedisLock;
 import com.github.chengzhy.basiccode.aspect.distributedlock.annotation.RedisLockKey;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.redisson.RedissonMultiLock;
 import org.redisson.api.RLock;
+import org.redisson.api.RPermitExpirableSemaphore;
 import org.redisson.api.RedissonClient;
 import org.redisson.client.RedisException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
-import java.lang.annotation.Annotation;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -33,8 +41,28 @@ public class DistributedLockAspect {
 
     private final RedissonClient redissonClient;
 
-    public DistributedLockAspect(RedissonClient redissonClient) {
+    /**
+     * 方法-分布式锁元数据
+     */
+    private final ConcurrentMap<Method, DistributedLockMetadata> lockMetadataCache = new ConcurrentHashMap<>();
+
+    /**
+     * 全局共享的key表达式计算上下文(只提供属性访问器、方法解析器等组件，不保存变量)
+     */
+    private final EvaluationContext keyEvaluationContext = new StandardEvaluationContext();
+
+    private final LocalLocks localLocks = new LocalLocks();
+
+    private final AsyncLockInvoker asyncLockInvoker;
+
+    private final DistributedLockMetrics distributedLockMetrics;
+
+    public DistributedLockAspect(RedissonClient redissonClient,
+                                 @Qualifier("defaultExecutor") Executor executor,
+                                 DistributedLockMetrics distributedLockMetrics) {
         this.redissonClient = redissonClient;
+        this.distributedLockMetrics = distributedLockMetrics;
+        this.asyncLockInvoker = new AsyncLockInvoker(executor);
     }
 
     /**
@@ -48,57 +76,38 @@ public class DistributedLockAspect {
      */
     @Around("@annotation(com.github.chengzhy.basiccode.aspect.distributedlock.annotation.DistributedRedisLock)")
     public Object redisLock(ProceedingJoinPoint joinPoint) throws Throwable {
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        DistributedRedisLock distributedRedisLock = methodSignature.getMethod()
-                .getAnnotation(DistributedRedisLock.class);
-        return distributedRedisLock.lockType().lock(joinPoint, redissonClient, getRedisLockKey(joinPoint));
+        DistributedLockMetadata metadata = getLockMetadata(joinPoint);
+        RedissonLockTypeEnum lockType = metadata.getLockType();
+        List<String> lockKeys = lockType.isMultiKey()
+                ? metadata.buildLockKeys(joinPoint.getArgs(), keyEvaluationContext)
+                : Collections.singletonList(metadata.buildLockKey(joinPoint.getArgs(), keyEvaluationContext));
+        if (metadata.isAsync() && !metadata.isLocalLock() && !lockKeys.isEmpty()) {
+            // 异步方法使用异步加锁，本地锁与线程绑定，开启本地锁时仍使用同步方式
+            RLock rLock = lockType.getLock(redissonClient, lockKeys);
+            if (rLock != null) {
+                return asyncLockInvoker.lock(joinPoint, rLock, metadata);
+            }
+        }
+        return lockType.lock(joinPoint, redissonClient, lockKeys, metadata);
     }
 
     /**
-     * 获取redis分布式锁key
+     * 获取方法的分布式锁元数据，每个方法只解析一次
      *
      * @author chengzhy
      * @param joinPoint 程序连接点 {@code ProceedingJoinPoint}
-     * @date 2021/6/23 14:20
-     * @return
+     * @date 2026/10/18 18:30
+     * @return 分布式锁元数据
      */
-    private String getRedisLockKey(@NonNull ProceedingJoinPoint joinPoint) {
-        StringBuilder lockKey = new StringBuilder(REDIS_LOCK_KEY_PREFIX);
-        // @DistributedRedisLock
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        DistributedRedisLock distributedRedisLock = methodSignature.getMethod()
-                .getAnnotation(DistributedRedisLock.class);
-        if (StringUtils.isBlank(distributedRedisLock.lockKey())
-                && distributedRedisLock.defaultKey()) {
-            // 设置默认key
-            lockKey.append(methodSignature.getDeclaringTypeName())
-                    .append(".")
-                    .append(methodSignature.getName());
-        } else {
-            lockKey.append(distributedRedisLock.lockKey());
+    private DistributedLockMetadata getLockMetadata(@NonNull ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        DistributedLockMetadata metadata = lockMetadataCache.get(method);
+        if (metadata == null) {
+            metadata = lockMetadataCache.computeIfAbsent(method,
+                    key -> DistributedLockMetadata.resolve(key, REDIS_LOCK_KEY_PREFIX, localLocks,
+                            distributedLockMetrics));
         }
-        // @RedisLockKey
-        Object[] args = joinPoint.getArgs();
-        if (args!=null && args.length>0) {
-            Annotation[][] annotations = methodSignature.getMethod().getParameterAnnotations();
-            SortedMap<Integer, String> keys = new TreeMap<>();
-            for (int i=0; i<annotations.length; i++) {
-                Annotation[] paramAnnotations = annotations[i];
-                for (Annotation annotation : paramAnnotations) {
-                    if (RedisLockKey.class.equals(annotation.annotationType())) {
-                        if (args[i] != null) {
-                            RedisLockKey redisLockKey = (RedisLockKey) annotation;
-                            keys.put(redisLockKey.order(), args[i].toString());
-                        }
-                        break;
-                    }
-                }
-            }
-            for (String key : keys.values()) {
-                lockKey.append(".").append(key);
-            }
-        }
-        return lockKey.toString();
+        return metadata;
     }
 
     public enum RedissonLockTypeEnum {
@@ -109,8 +118,18 @@ public class DistributedLockAspect {
         REDISSON_LOCK {
             @Override
             public Object lock(ProceedingJoinPoint joinPoint, RedissonClient redissonClient,
-                               String lockKey) throws Throwable {
-                return lock(joinPoint, redissonClient.getLock(lockKey));
+                               List<String> lockKeys, DistributedLockMetadata metadata) throws Throwable {
+                return lock(joinPoint, getLock(redissonClient, lockKeys), metadata);
+            }
+
+            @Override
+            public RLock getLock(RedissonClient redissonClient, List<String> lockKeys) {
+                return redissonClient.getLock(lockKeys.get(0));
+            }
+
+            @Override
+            public boolean isExclusive() {
+                return true;
             }
         },
         /**
@@ -120,8 +139,98 @@ public class DistributedLockAspect {
         REDISSON_FAIR_LOCK {
             @Override
             public Object lock(ProceedingJoinPoint joinPoint, RedissonClient redissonClient,
-                               String lockKey) throws Throwable {
-                return lock(joinPoint, redissonClient.getFairLock(lockKey));
+                               List<String> lockKeys, DistributedLockMetadata metadata) throws Throwable {
+                return lock(joinPoint, getLock(redissonClient, lockKeys), metadata);
+            }
+
+            @Override
+            public RLock getLock(RedissonClient redissonClient, List<String> lockKeys) {
+                return redissonClient.getFairLock(lockKeys.get(0));
+            }
+
+            @Override
+            public boolean isExclusive() {
+                return true;
+            }
+        },
+        /**
+         * 可重入读锁(读读不互斥，读写互斥)
+         * @see org.redisson.RedissonReadLock
+         */
+        REDISSON_READ_LOCK {
+            @Override
+            public Object lock(ProceedingJoinPoint joinPoint, RedissonClient redissonClient,
+                               List<String> lockKeys, DistributedLockMetadata metadata) throws Throwable {
+                return lock(joinPoint, getLock(redissonClient, lockKeys), metadata);
+            }
+
+            @Override
+            public RLock getLock(RedissonClient redissonClient, List<String> lockKeys) {
+                return redissonClient.getReadWriteLock(lockKeys.get(0)).readLock();
+            }
+        },
+        /**
+         * 可重入写锁(与同一key的读锁、写锁都互斥)
+         * @see org.redisson.RedissonWriteLock
+         */
+        REDISSON_WRITE_LOCK {
+            @Override
+            public Object lock(ProceedingJoinPoint joinPoint, RedissonClient redissonClient,
+                               List<String> lockKeys, DistributedLockMetadata metadata) throws Throwable {
+                return lock(joinPoint, getLock(redissonClient, lockKeys), metadata);
+            }
+
+            @Override
+            public RLock getLock(RedissonClient redissonClient, List<String> lockKeys) {
+                return redissonClient.getReadWriteLock(lockKeys.get(0)).writeLock();
+            }
+
+            @Override
+            public boolean isExclusive() {
+                return true;
+            }
+        },
+        /**
+         * 可过期许可信号量，最多允许{@link DistributedRedisLock#permits()}个调用同时执行
+         * <p>leaseTime为许可的过期时间，进程宕机时许可到期自动归还
+         * @see org.redisson.RedissonPermitExpirableSemaphore
+         */
+        REDISSON_SEMAPHORE {
+            @Override
+            public Object lock(ProceedingJoinPoint joinPoint, RedissonClient redissonClient,
+                               List<String> lockKeys, DistributedLockMetadata metadata) throws Throwable {
+                return acquire(joinPoint, redissonClient.getPermitExpirableSemaphore(lockKeys.get(0)), metadata);
+            }
+        },
+        /**
+         * 联锁，同时锁住多个key，全部加锁成功才执行
+         * <p>key表达式或{@link RedisLockKey @RedisLockKey}参数为集合或数组时按元素展开为多个key，
+         * 多个key的加锁请求并行发出
+         * @see org.redisson.RedissonMultiLock
+         */
+        REDISSON_MULTI_LOCK {
+            @Override
+            public Object lock(ProceedingJoinPoint joinPoint, RedissonClient redissonClient,
+                               List<String> lockKeys, DistributedLockMetadata metadata) throws Throwable {
+                if (lockKeys.isEmpty()) {
+                    // 集合为空，没有需要加锁的资源
+                    return joinPoint.proceed();
+                }
+                return lock(joinPoint, getLock(redissonClient, lockKeys), metadata);
+            }
+
+            @Override
+            public RLock getLock(RedissonClient redissonClient, List<String> lockKeys) {
+                RLock[] locks = new RLock[lockKeys.size()];
+                for (int i=0; i<locks.length; i++) {
+                    locks[i] = redissonClient.getLock(lockKeys.get(i));
+                }
+                return redissonClient.getMultiLock(locks);
+            }
+
+            @Override
+            public boolean isMultiKey() {
+                return true;
             }
         };
 
@@ -131,13 +240,51 @@ public class DistributedLockAspect {
          * @author chengzhy
          * @param joinPoint 程序连接点 {@code ProceedingJoinPoint}
          * @param redissonClient {@link RedissonClient}
-         * @param lockKey 分布式锁key {@code String}
+         * @param lockKeys 分布式锁key，只有{@link #isMultiKey()}的类型可能有多个
+         * @param metadata 分布式锁元数据 {@link DistributedLockMetadata}
          * @date 2021/9/9 17:00
          * @return {@code Object} ({@code joinPoint.proceed()} 或 {@code null})
          * @throws Throwable 程序错误
          */
         public abstract Object lock(@NonNull ProceedingJoinPoint joinPoint, @NonNull RedissonClient redissonClient,
-                                    @NonNull String lockKey) throws Throwable;
+                                    @NonNull List<String> lockKeys, @NonNull DistributedLockMetadata metadata)
+                throws Throwable;
+
+        /**
+         * 获取key对应的{@link RLock}
+         *
+         * @author chengzhy
+         * @param redissonClient {@link RedissonClient}
+         * @param lockKeys 分布式锁key，不能为空
+         * @date 2026/10/18 19:30
+         * @return {@link RLock}，不是RLock的类型(信号量)返回null
+         */
+        @Nullable
+        public RLock getLock(@NonNull RedissonClient redissonClient, @NonNull List<String> lockKeys) {
+            return null;
+        }
+
+        /**
+         * 是否锁多个key
+         *
+         * @author chengzhy
+         * @date 2026/10/18 19:00
+         * @return 是|否
+         */
+        public boolean isMultiKey() {
+            return false;
+        }
+
+        /**
+         * 是否互斥锁(同一key同时只有一个持有者)
+         *
+         * @author chengzhy
+         * @date 2026/10/18 19:15
+         * @return 是|否
+         */
+        public boolean isExclusive() {
+            return false;
+        }
 
         /**
          * RLock加锁操作
@@ -145,46 +292,176 @@ public class DistributedLockAspect {
          * @author chengzhy
          * @param joinPoint 程序连接点 {@code ProceedingJoinPoint}
          * @param rLock {@link RLock}
+         * @param metadata 分布式锁元数据 {@link DistributedLockMetadata}
          * @date 2021/8/9 9:32
          * @return {@code Object} ({@code joinPoint.proceed()} 或 {@code null})
          */
-        Object lock(@NonNull ProceedingJoinPoint joinPoint, @NonNull RLock rLock) throws Throwable {
+        Object lock(@NonNull ProceedingJoinPoint joinPoint, @NonNull RLock rLock,
+                    @NonNull DistributedLockMetadata metadata) throws Throwable {
+            // 联锁不支持getName，只有开启本地锁时才获取key
+            LocalLocks.LocalLock localLock = metadata.isLocalLock() ? metadata.getLocalLock(rLock.getName()) : null;
+            if (localLock == null) {
+                return lock(joinPoint, rLock, metadata, metadata.getWaitTime() == -1L ? -1L
+                        : TimeUnit.SECONDS.toMillis(metadata.getWaitTime()));
+            }
+            // 先获取本地锁，本地锁的等待时间从总等待时间中扣除
+            long waitTimeMillis = -1L;
+            long startNanos = System.nanoTime();
+            boolean localLockSuccess = false;
+            try {
+                try {
+                    if (!metadata.isTryLock()) {
+                        localLock.getLock().lock();
+                        localLockSuccess = true;
+                    } else if (metadata.getWaitTime() == -1L) {
+                        localLockSuccess = localLock.getLock().tryLock();
+                    } else {
+                        localLockSuccess = localLock.getLock().tryLock(metadata.getWaitTime(), TimeUnit.SECONDS);
+                        waitTimeMillis = Math.max(0L, TimeUnit.SECONDS.toMillis(metadata.getWaitTime())
+                                - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.error(e.getMessage(), e);
+                } finally {
+                    metadata.getMeters().recordWait(rLock.getName(), System.nanoTime() - startNanos,
+                            localLockSuccess);
+                }
+                if (!localLockSuccess) {
+                    return null;
+                }
+                try {
+                    return lock(joinPoint, rLock, metadata, waitTimeMillis);
+                } finally {
+                    localLock.getLock().unlock();
+                }
+            } finally {
+                localLock.release();
+            }
+        }
+
+        private Object lock(ProceedingJoinPoint joinPoint, RLock rLock, DistributedLockMetadata metadata,
+                            long waitTimeMillis) throws Throwable {
+            DistributedLockMetrics.LockMeters meters = metadata.getMeters();
+            String lockName = (rLock instanceof RedissonMultiLock) ? metadata.getKeyPrefix() : rLock.getName();
             boolean lockSuccess = false;
-            MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-            DistributedRedisLock distributedRedisLock = methodSignature.getMethod()
-                    .getAnnotation(DistributedRedisLock.class);
+            long startNanos = System.nanoTime();
             try {
-                if (distributedRedisLock.tryLock()) {
+                if (metadata.isTryLock()) {
                     // tryLock加锁方式
-                    lockSuccess = (distributedRedisLock.waitTime() == -1L) ? rLock.tryLock()
-                            : (distributedRedisLock.leaseTime() == -1L) ? rLock.tryLock(distributedRedisLock.waitTime(), TimeUnit.SECONDS)
-                            : rLock.tryLock(distributedRedisLock.waitTime(), distributedRedisLock.leaseTime(), TimeUnit.SECONDS);
+                    lockSuccess = (waitTimeMillis == -1L) ? rLock.tryLock()
+                            : (metadata.getLeaseTime() == -1L)
+                            ? rLock.tryLock(waitTimeMillis, TimeUnit.MILLISECONDS)
+                            : rLock.tryLock(waitTimeMillis, TimeUnit.SECONDS.toMillis(metadata.getLeaseTime()),
+                            TimeUnit.MILLISECONDS);
                 } else {
                     // 普通加锁方式
-                    if (distributedRedisLock.leaseTime() == -1L) {
+                    if (metadata.getLeaseTime() == -1L) {
                         rLock.lock();
                     } else {
-                        rLock.lock(distributedRedisLock.leaseTime(), TimeUnit.SECONDS);
+                        rLock.lock(metadata.getLeaseTime(), TimeUnit.SECONDS);
                     }
                     lockSuccess = true;
                 }
             } catch (RedisException e) {
                 log.error(e.getMessage(), e);
+                meters.recordAcquire(lockName, System.nanoTime() - startNanos,
+                        DistributedLockMetrics.AcquireResult.FALLBACK);
                 return joinPoint.proceed();
             } catch (IllegalStateException | InterruptedException e) {
                 log.error(e.getMessage(), e);
+                meters.recordAcquire(lockName, System.nanoTime() - startNanos,
+                        DistributedLockMetrics.AcquireResult.INTERRUPTED);
+                return null;
             }
+            meters.recordAcquire(lockName, System.nanoTime() - startNanos, lockSuccess
+                    ? DistributedLockMetrics.AcquireResult.ACQUIRED : DistributedLockMetrics.AcquireResult.TIMEOUT);
             if (lockSuccess) {
+                long lockedNanos = System.nanoTime();
+                try {
+                    return joinPoint.proceed();
+                } finally {
+                    unlock(rLock);
+                    meters.recordHold(System.nanoTime() - lockedNanos);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * RLock解锁操作
+         *
+         * @author chengzhy
+         * @param rLock {@link RLock}
+         * @date 2026/10/18 19:00
+         */
+        void unlock(@NonNull RLock rLock) {
+            try {
+                if (rLock instanceof RedissonMultiLock) {
+                    // 联锁不支持isLocked/isHeldByCurrentThread，已过期的锁解锁时抛出IllegalMonitorStateException
+                    rLock.unlock();
+                } else if (rLock.isLocked() && rLock.isHeldByCurrentThread()) {
+                    rLock.unlock();
+                }
+            } catch (RedisException | IllegalMonitorStateException e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+
+        /**
+         * 信号量获取许可操作
+         * <p>信号量不存在时先按{@link DistributedRedisLock#permits()}初始化许可数
+         *
+         * @author chengzhy
+         * @param joinPoint 程序连接点 {@code ProceedingJoinPoint}
+         * @param semaphore {@link RPermitExpirableSemaphore}
+         * @param metadata 分布式锁元数据 {@link DistributedLockMetadata}
+         * @date 2026/10/18 19:00
+         * @return {@code Object} ({@code joinPoint.proceed()} 或 {@code null})
+         */
+        Object acquire(@NonNull ProceedingJoinPoint joinPoint, @NonNull RPermitExpirableSemaphore semaphore,
+                       @NonNull DistributedLockMetadata metadata) throws Throwable {
+            DistributedLockMetrics.LockMeters meters = metadata.getMeters();
+            String permitId = null;
+            long startNanos = System.nanoTime();
+            try {
+                semaphore.trySetPermits(metadata.getPermits());
+                if (metadata.isTryLock()) {
+                    // tryAcquire方式
+                    permitId = (metadata.getWaitTime() == -1L) ? semaphore.tryAcquire()
+                            : (metadata.getLeaseTime() == -1L)
+                            ? semaphore.tryAcquire(metadata.getWaitTime(), TimeUnit.SECONDS)
+                            : semaphore.tryAcquire(metadata.getWaitTime(), metadata.getLeaseTime(), TimeUnit.SECONDS);
+                } else {
+                    // 阻塞获取方式
+                    permitId = (metadata.getLeaseTime() == -1L) ? semaphore.acquire()
+                            : semaphore.acquire(metadata.getLeaseTime(), TimeUnit.SECONDS);
+                }
+            } catch (RedisException e) {
+                log.error(e.getMessage(), e);
+                meters.recordAcquire(semaphore.getName(), System.nanoTime() - startNanos,
+                        DistributedLockMetrics.AcquireResult.FALLBACK);
+                return joinPoint.proceed();
+            } catch (IllegalStateException | InterruptedException e) {
+                log.error(e.getMessage(), e);
+                meters.recordAcquire(semaphore.getName(), System.nanoTime() - startNanos,
+                        DistributedLockMetrics.AcquireResult.INTERRUPTED);
+                return null;
+            }
+            meters.recordAcquire(semaphore.getName(), System.nanoTime() - startNanos, permitId != null
+                    ? DistributedLockMetrics.AcquireResult.ACQUIRED : DistributedLockMetrics.AcquireResult.TIMEOUT);
+            if (permitId != null) {
+                long acquiredNanos = System.nanoTime();
                 try {
                     return joinPoint.proceed();
                 } finally {
                     try {
-                        if (rLock.isLocked() && rLock.isHeldByCurrentThread()) {
-                            rLock.unlock();
-                        }
+                        // 许可已过期时返回false
+                        semaphore.tryRelease(permitId);
                     } catch (RedisException e) {
                         log.error(e.getMessage(), e);
                     }
+                    meters.recordHold(System.nanoTime() - acquiredNanos);
                 }
             }
             return null;
@@ -0,0 +1,302 @@
+package com.github.chengzhy.basiccode.aspect.distributedlock;
+
+import com.github.chengzhy.basiccode.aspect.distributedlock.annotation.DistributedRedisLock;
+import com.github.chengzhy.basiccode.aspect.distributedlock.annotation.RedisLockKey;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * 分布式锁方法元数据
+ *
+ * <p>每个方法只在第一次调用时解析{@link DistributedRedisLock @DistributedRedisLock}和{@link RedisLockKey @RedisLockKey}，
+ * 之后每次调用只需读取参数拼接key。
+ * key表达式也只解析一次，并在解释执行若干次后编译为字节码(编译失败时继续解释执行)
+ *
+ * @author chengzhy
+ * @date 2026/10/18 18:30
+ */
+@Getter
+public final class DistributedLockMetadata {
+
+    private static final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, DistributedLockMetadata.class.getClassLoader()));
+
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    private final DistributedLockAspect.RedissonLockTypeEnum lockType;
+
+    private final boolean tryLock;
+
+    private final long leaseTime;
+
+    private final long waitTime;
+
+    private final int permits;
+
+    private final boolean localLock;
+
+    /**
+     * 是否异步方法(返回CompletableFuture、CompletionStage或ListenableFuture)，异步方法使用redisson异步加锁
+     */
+    private final boolean async;
+
+    /**
+     * 统计对象
+     */
+    private final DistributedLockMetrics.LockMeters meters;
+
+    /**
+     * 本地锁，未开启本地锁时为null
+     */
+    @Nullable
+    @Getter(AccessLevel.NONE)
+    private final LocalLocks localLocks;
+
+    /**
+     * key前缀："DistributedRedisLock:" + lockKey(或默认key)
+     */
+    private final String keyPrefix;
+
+    /**
+     * {@link RedisLockKey @RedisLockKey}参数下标，按(order, 下标)排序
+     */
+    private final int[] keyParameterIndexes;
+
+    /**
+     * 与{@link #keyParameterIndexes}一一对应的order
+     */
+    private final int[] keyParameterOrders;
+
+    /**
+     * key表达式，未配置时为null
+     */
+    @Nullable
+    @Getter(AccessLevel.NONE)
+    private final Expression keyExpression;
+
+    /**
+     * 参数名(包括p0、a0别名)-参数下标
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Integer> parameterIndexes;
+
+    private DistributedLockMetadata(DistributedRedisLock distributedRedisLock, String keyPrefix,
+                                    int[] keyParameterIndexes, int[] keyParameterOrders,
+                                    @Nullable Expression keyExpression, Map<String, Integer> parameterIndexes,
+                                    @Nullable LocalLocks localLocks, boolean async,
+                                    DistributedLockMetrics.LockMeters meters) {
+        this.lockType = distributedRedisLock.lockType();
+        this.tryLock = distributedRedisLock.tryLock();
+        this.leaseTime = distributedRedisLock.leaseTime();
+        this.waitTime = distributedRedisLock.waitTime();
+        this.permits = distributedRedisLock.permits();
+        this.keyPrefix = keyPrefix;
+        this.keyParameterIndexes = keyParameterIndexes;
+        this.keyParameterOrders = keyParameterOrders;
+        this.keyExpression = keyExpression;
+        this.parameterIndexes = parameterIndexes;
+        this.localLock = localLocks != null;
+        this.localLocks = localLocks;
+        this.async = async;
+        this.meters = meters;
+    }
+
+    /**
+     * 解析方法的分布式锁元数据
+     *
+     * @author chengzhy
+     * @param method 具有{@linkplain DistributedRedisLock @DistributedRedisLock}注解的方法
+     * @param keyPrefix 分布式锁key统一前缀
+     * @param localLocks 本地锁
+     * @param metrics 分布式锁统计
+     * @date 2026/10/18 18:30
+     * @return 分布式锁元数据
+     */
+    static DistributedLockMetadata resolve(@NonNull Method method, @NonNull String keyPrefix,
+                                           @NonNull LocalLocks localLocks,
+                                           @NonNull DistributedLockMetrics metrics) {
+        DistributedRedisLock distributedRedisLock = method.getAnnotation(DistributedRedisLock.class);
+        Assert.isTrue(distributedRedisLock.permits() > 0,
+                () -> "@DistributedRedisLock permits必须大于0：" + method);
+        Assert.isTrue(!distributedRedisLock.localLock() || distributedRedisLock.lockType().isExclusive(),
+                () -> "@DistributedRedisLock localLock只支持互斥锁类型：" + method);
+        StringBuilder prefix = new StringBuilder(keyPrefix);
+        if (StringUtils.isBlank(distributedRedisLock.lockKey())
+                && distributedRedisLock.defaultKey()) {
+            // 设置默认key
+            prefix.append(method.getDeclaringClass().getName())
+                    .append(".")
+                    .append(method.getName());
+        } else {
+            prefix.append(distributedRedisLock.lockKey());
+        }
+        Annotation[][] annotations = method.getParameterAnnotations();
+        List<int[]> keyParameters = new ArrayList<>();
+        for (int i=0; i<annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (RedisLockKey.class.equals(annotation.annotationType())) {
+                    keyParameters.add(new int[]{((RedisLockKey) annotation).order(), i});
+                    break;
+                }
+            }
+        }
+        keyParameters.sort(Comparator.<int[]>comparingInt(keyParameter -> keyParameter[0])
+                .thenComparingInt(keyParameter -> keyParameter[1]));
+        int[] indexes = new int[keyParameters.size()];
+        int[] orders = new int[keyParameters.size()];
+        for (int i=0; i<keyParameters.size(); i++) {
+            orders[i] = keyParameters.get(i)[0];
+            indexes[i] = keyParameters.get(i)[1];
+        }
+        Expression keyExpression = null;
+        Map<String, Integer> parameterIndexes = Collections.emptyMap();
+        if (StringUtils.isNotBlank(distributedRedisLock.key())) {
+            try {
+                keyExpression = EXPRESSION_PARSER.parseExpression(distributedRedisLock.key());
+            } catch (ParseException e) {
+                throw new IllegalStateException("@DistributedRedisLock key表达式解析失败：" + method, e);
+            }
+            parameterIndexes = resolveParameterIndexes(method);
+        }
+        String lockKeyPrefix = prefix.toString();
+        return new DistributedLockMetadata(distributedRedisLock, lockKeyPrefix, indexes, orders,
+                keyExpression, parameterIndexes, distributedRedisLock.localLock() ? localLocks : null,
+                AsyncLockInvoker.isAsyncReturnType(method.getReturnType()),
+                metrics.create(lockKeyPrefix, distributedRedisLock.lockType()));
+    }
+
+    private static Map<String, Integer> resolveParameterIndexes(Method method) {
+        Map<String, Integer> parameterIndexes = new HashMap<>();
+        String[] parameterNames = PARAMETER_NAME_DISCOVERER.getParameterNames(method);
+        for (int i=0; i<method.getParameterCount(); i++) {
+            parameterIndexes.put("p" + i, i);
+            parameterIndexes.put("a" + i, i);
+            if (parameterNames != null) {
+                parameterIndexes.put(parameterNames[i], i);
+            }
+        }
+        return parameterIndexes;
+    }
+
+    /**
+     * 根据参数拼接分布式锁key
+     * <p>key格式为 keyPrefix + "." + key表达式计算结果 + "." + @RedisLockKey参数(按order排序)，
+     * null值忽略，order相同时取下标最大的非null参数
+     *
+     * @author chengzhy
+     * @param args 方法参数
+     * @param sharedContext 全局共享的表达式计算上下文
+     * @date 2026/10/18 18:30
+     * @return 分布式锁key
+     */
+    public String buildLockKey(Object[] args, EvaluationContext sharedContext) {
+        if (keyExpression == null && (keyParameterIndexes.length == 0 || args == null || args.length == 0)) {
+            return keyPrefix;
+        }
+        StringBuilder lockKey = new StringBuilder(keyPrefix);
+        forEachKeyPart(args, sharedContext, key -> lockKey.append(".").append(key.toString()));
+        return lockKey.toString();
+    }
+
+    /**
+     * 根据参数拼接多个分布式锁key(用于{@link DistributedLockAspect.RedissonLockTypeEnum#REDISSON_MULTI_LOCK})
+     * <p>与{@link #buildLockKey}相同，但值为集合或数组时按元素展开，多个集合时取笛卡尔积，结果去重并排序，
+     * 保证不同调用加锁顺序一致
+     *
+     * @author chengzhy
+     * @param args 方法参数
+     * @param sharedContext 全局共享的表达式计算上下文
+     * @date 2026/10/18 19:00
+     * @return 分布式锁key，按字典序排序
+     */
+    public List<String> buildLockKeys(Object[] args, EvaluationContext sharedContext) {
+        List<Object> keyParts = new ArrayList<>(2);
+        forEachKeyPart(args, sharedContext, keyParts::add);
+        List<String> lockKeys = Collections.singletonList(keyPrefix);
+        for (Object keyPart : keyParts) {
+            Collection<?> elements = (keyPart instanceof Collection) ? (Collection<?>) keyPart
+                    : keyPart.getClass().isArray() ? CollectionUtils.arrayToList(keyPart)
+                    : Collections.singletonList(keyPart);
+            List<String> expanded = new ArrayList<>(lockKeys.size() * elements.size());
+            for (String lockKey : lockKeys) {
+                for (Object element : elements) {
+                    if (element != null) {
+                        expanded.add(lockKey + "." + element.toString());
+                    }
+                }
+            }
+            lockKeys = expanded;
+        }
+        return new ArrayList<>(new TreeSet<>(lockKeys));
+    }
+
+    /**
+     * 获取分布式锁key对应的本地锁，使用完后必须调用{@link LocalLocks.LocalLock#release()}
+     *
+     * @author chengzhy
+     * @param lockKey 分布式锁key
+     * @date 2026/10/18 19:15
+     * @return 本地锁，未开启本地锁时返回null
+     */
+    @Nullable
+    LocalLocks.LocalLock getLocalLock(String lockKey) {
+        if (localLocks == null) {
+            return null;
+        }
+        return localLocks.acquire(lockKey, lockType == DistributedLockAspect.RedissonLockTypeEnum.REDISSON_FAIR_LOCK);
+    }
+
+    private void forEachKeyPart(Object[] args, EvaluationContext sharedContext, Consumer<Object> consumer) {
+        if (args == null) {
+            args = new Object[0];
+        }
+        if (keyExpression != null) {
+            Object key = keyExpression.getValue(
+                    new LockKeyEvaluationContext(sharedContext, parameterIndexes, args));
+            if (key != null) {
+                consumer.accept(key);
+            }
+        }
+        int i = 0;
+        while (i < keyParameterIndexes.length) {
+            // 同一order的参数中取最后一个非null参数
+            Object key = null;
+            int order = keyParameterOrders[i];
+            for (; i<keyParameterIndexes.length && keyParameterOrders[i]==order; i++) {
+                Object arg = args[keyParameterIndexes[i]];
+                if (arg != null) {
+                    key = arg;
+                }
+            }
+            if (key != null) {
+                consumer.accept(key);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.github.chengzhy.basiccode.aspect.distributedlock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式锁统计
+ *
+ * <p>按key模式("DistributedRedisLock:" + lockKey，不包含参数部分，数量与注解方法数一致)记录：
+ * <ul>
+ *     <li>{@code distributed.lock.wait}：本地锁等待时间(开启localLock时)</li>
+ *     <li>{@code distributed.lock.acquire}：获取分布式锁耗时，按result区分acquired、timeout、interrupted、fallback</li>
+ *     <li>{@code distributed.lock.hold}：持有锁的时间</li>
+ *     <li>{@code distributed.lock.fallback}：redis异常时不加锁直接执行的次数</li>
+ * </ul>
+ * 完整key(包含参数)的竞争情况记录在有界的热点key统计中，超时或等待时间超过阈值记为一次竞争
+ *
+ * @author chengzhy
+ * @date 2026/10/18 19:45
+ */
+@Component
+public class DistributedLockMetrics {
+
+    private static final String METRIC_WAIT = "distributed.lock.wait";
+
+    private static final String METRIC_ACQUIRE = "distributed.lock.acquire";
+
+    private static final String METRIC_HOLD = "distributed.lock.hold";
+
+    private static final String METRIC_FALLBACK = "distributed.lock.fallback";
+
+    @Nullable
+    private final MeterRegistry meterRegistry;
+
+    private final long contendedThresholdNanos;
+
+    private final HeavyHitters contendedKeys;
+
+    public DistributedLockMetrics(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${distributed-lock.metrics.contended-threshold:10ms}") Duration contendedThreshold,
+            @Value("${distributed-lock.metrics.hot-key-capacity:200}") int hotKeyCapacity) {
+        this.meterRegistry = meterRegistry.getIfAvailable();
+        this.contendedThresholdNanos = contendedThreshold.toNanos();
+        this.contendedKeys = new HeavyHitters(hotKeyCapacity);
+    }
+
+    /**
+     * 创建key模式对应的统计对象，每个注解方法只创建一次
+     *
+     * @author chengzhy
+     * @param keyPattern key模式
+     * @param lockType 锁类型
+     * @date 2026/10/18 19:45
+     * @return 统计对象
+     */
+    LockMeters create(String keyPattern, DistributedLockAspect.RedissonLockTypeEnum lockType) {
+        return new LockMeters(keyPattern, lockType.name());
+    }
+
+    /**
+     * 竞争最激烈的key
+     *
+     * @author chengzhy
+     * @param limit 返回条数
+     * @date 2026/10/18 19:45
+     * @return 按竞争次数倒序
+     */
+    public List<HeavyHitters.Entry> topContendedKeys(int limit) {
+        return contendedKeys.top(limit);
+    }
+
+    /**
+     * 加锁结果
+     */
+    enum AcquireResult {
+        /**
+         * 加锁成功
+         */
+        ACQUIRED,
+        /**
+         * tryLock在等待时间内未获取到锁
+         */
+        TIMEOUT,
+        /**
+         * 加锁被中断或状态异常
+         */
+        INTERRUPTED,
+        /**
+         * redis异常，不加锁直接执行
+         */
+        FALLBACK
+    }
+
+    /**
+     * 单个key模式的统计对象
+     */
+    final class LockMeters {
+
+        @Nullable
+        private final Timer waitTimer;
+
+        private final Map<AcquireResult, Timer> acquireTimers = new EnumMap<>(AcquireResult.class);
+
+        @Nullable
+        private final Timer holdTimer;
+
+        @Nullable
+        private final Counter fallbackCounter;
+
+        private LockMeters(String keyPattern, String lockType) {
+            if (meterRegistry == null) {
+                this.waitTimer = null;
+                this.holdTimer = null;
+                this.fallbackCounter = null;
+                return;
+            }
+            this.waitTimer = Timer.builder(METRIC_WAIT)
+                    .tag("key", keyPattern)
+                    .tag("type", lockType)
+                    .description("本地锁等待时间")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            for (AcquireResult result : AcquireResult.values()) {
+                acquireTimers.put(result, Timer.builder(METRIC_ACQUIRE)
+                        .tag("key", keyPattern)
+                        .tag("type", lockType)
+                        .tag("result", result.name().toLowerCase())
+                        .description("获取分布式锁耗时")
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+            this.holdTimer = Timer.builder(METRIC_HOLD)
+                    .tag("key", keyPattern)
+                    .tag("type", lockType)
+                    .description("持有分布式锁的时间")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.fallbackCounter = Counter.builder(METRIC_FALLBACK)
+                    .tag("key", keyPattern)
+                    .tag("type", lockType)
+                    .description("redis异常时不加锁直接执行的次数")
+                    .register(meterRegistry);
+        }
+
+        /**
+         * 记录本地锁等待时间
+         *
+         * @author chengzhy
+         * @param lockKey 分布式锁key
+         * @param waitNanos 等待时间，单位：纳秒
+         * @param acquired 是否获取成功
+         * @date 2026/10/18 19:45
+         */
+        void recordWait(String lockKey, long waitNanos, boolean acquired) {
+            if (waitTimer != null) {
+                waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+            }
+            if (!acquired || waitNanos >= contendedThresholdNanos) {
+                contendedKeys.offer(lockKey, waitNanos);
+            }
+        }
+
+        /**
+         * 记录获取分布式锁的结果
+         *
+         * @author chengzhy
+         * @param lockKey 分布式锁key
+         * @param acquireNanos 耗时，单位：纳秒
+         * @param result 加锁结果
+         * @date 2026/10/18 19:45
+         */
+        void recordAcquire(String lockKey, long acquireNanos, AcquireResult result) {
+            Timer timer = acquireTimers.get(result);
+            if (timer != null) {
+                timer.record(acquireNanos, TimeUnit.NANOSECONDS);
+            }
+            if (result == AcquireResult.FALLBACK) {
+                if (fallbackCounter != null) {
+                    fallbackCounter.increment();
+                }
+            } else if (result != AcquireResult.ACQUIRED || acquireNanos >= contendedThresholdNanos) {
+                contendedKeys.offer(lockKey, acquireNanos);
+            }
+        }
+
+        /**
+         * 记录持有锁的时间
+         *
+         * @author chengzhy
+         * @param holdNanos 持有时间，单位：纳秒
+         * @date 2026/10/18 19:45
+         */
+        void recordHold(long holdNanos) {
+            if (holdTimer != null) {
+                holdTimer.record(holdNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.github.chengzhy.basiccode.aspect.distributedlock;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 有界热点key统计(Space-Saving算法)
+ *
+ * <p>最多保留capacity个key，满了之后新key替换计数最小的key并继承其计数(记为误差)，
+ * 计数不少于总数/capacity的key一定在结果中，每个key的计数最多高估error。
+ * 只记录竞争事件，调用频率低，直接加锁实现
+ *
+ * @author chengzhy
+ * @date 2026/10/18 19:45
+ */
+public final class HeavyHitters {
+
+    private final int capacity;
+
+    private final Map<String, Counter> counters;
+
+    HeavyHitters(int capacity) {
+        Assert.isTrue(capacity > 0, "capacity必须大于0");
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 4 / 3 + 1);
+    }
+
+    /**
+     * 记录一次事件
+     *
+     * @author chengzhy
+     * @param key key
+     * @param waitNanos 本次等待时间，单位：纳秒
+     * @date 2026/10/18 19:45
+     */
+    synchronized void offer(String key, long waitNanos) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() < capacity) {
+                counter = new Counter(key, 0L);
+            } else {
+                Counter min = null;
+                for (Counter candidate : counters.values()) {
+                    if (min == null || candidate.count < min.count) {
+                        min = candidate;
+                    }
+                }
+                counters.remove(min.key);
+                counter = new Counter(key, min.count);
+            }
+            counters.put(key, counter);
+        }
+        counter.count++;
+        counter.waitNanos += waitNanos;
+    }
+
+    /**
+     * 计数最大的key
+     *
+     * @author chengzhy
+     * @param limit 返回条数
+     * @date 2026/10/18 19:45
+     * @return 按计数倒序
+     */
+    synchronized List<Entry> top(int limit) {
+        List<Entry> entries = new ArrayList<>(counters.size());
+        for (Counter counter : counters.values()) {
+            entries.add(new Entry(counter.key, counter.count, counter.error,
+                    counter.waitNanos / 1_000_000D));
+        }
+        entries.sort(Comparator.comparingLong(Entry::getCount).reversed());
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+
+    private static final class Counter {
+
+        private final String key;
+
+        private final long error;
+
+        private long count;
+
+        private long waitNanos;
+
+        private Counter(String key, long error) {
+            this.key = key;
+            this.error = error;
+            this.count = error;
+        }
+
+    }
+
+    /**
+     * 热点key统计快照
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+
+        /**
+         * 分布式锁key
+         */
+        private final String key;
+
+        /**
+         * 竞争次数(可能高估，最多高估error)
+         */
+        private final long count;
+
+        /**
+         * 计数误差上限
+         */
+        private final long error;
+
+        /**
+         * 总等待时间，单位：毫秒(被替换进来的key不包含替换前的等待时间)
+         */
+        private final double waitMillis;
+
+    }
+
+}
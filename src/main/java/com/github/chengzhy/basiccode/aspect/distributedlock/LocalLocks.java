@@ -0,0 +1,75 @@
+package com.github.chengzhy.basiccode.aspect.distributedlock;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 按key引用计数的本地锁
+ *
+ * <p>同一JVM内相同key的线程先在本地锁排队，只有拿到本地锁的线程才去redis竞争分布式锁。
+ * 每个key独立一把锁，不同key不会互相等待；没有线程持有或等待时从map中移除
+ *
+ * @author chengzhy
+ * @date 2026/10/18 19:15
+ */
+final class LocalLocks {
+
+    private final ConcurrentMap<String, LocalLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * 获取key对应的本地锁并增加引用计数，使用完后(无论是否加锁成功)必须调用{@link LocalLock#release()}
+     *
+     * @author chengzhy
+     * @param lockKey 分布式锁key
+     * @param fair 是否公平锁，同一key以第一个创建者为准
+     * @date 2026/10/18 19:15
+     * @return 本地锁
+     */
+    LocalLock acquire(String lockKey, boolean fair) {
+        return locks.compute(lockKey, (key, localLock) -> {
+            if (localLock == null) {
+                localLock = new LocalLock(key, fair);
+            }
+            localLock.references++;
+            return localLock;
+        });
+    }
+
+    /**
+     * 当前的本地锁数量
+     */
+    int size() {
+        return locks.size();
+    }
+
+    final class LocalLock {
+
+        private final String lockKey;
+
+        private final ReentrantLock lock;
+
+        /**
+         * 引用计数，只在map的compute中修改
+         */
+        private int references;
+
+        private LocalLock(String lockKey, boolean fair) {
+            this.lockKey = lockKey;
+            this.lock = new ReentrantLock(fair);
+        }
+
+        ReentrantLock getLock() {
+            return lock;
+        }
+
+        /**
+         * 释放引用，引用计数为0时移除
+         */
+        void release() {
+            locks.computeIfPresent(lockKey, (key, localLock) -> --localLock.references == 0 ? null : localLock);
+        }
+
+    }
+
+}
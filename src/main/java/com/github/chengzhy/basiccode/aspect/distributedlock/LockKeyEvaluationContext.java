@@ -0,0 +1,113 @@
+package com.github.chengzhy.basiccode.aspect.distributedlock;
+
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.OperatorOverloader;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.TypedValue;
+import org.springframework.lang.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分布式锁key表达式的计算上下文
+ *
+ * <p>属性访问器、方法解析器等组件都委托给全局共享的上下文(只初始化一次，其内部反射缓存也一直复用)，
+ * 每次调用只创建本对象，方法参数按预先解析的参数名-下标直接读取，不复制到变量表
+ *
+ * @author chengzhy
+ * @date 2026/10/18 18:45
+ */
+final class LockKeyEvaluationContext implements EvaluationContext {
+
+    private final EvaluationContext sharedContext;
+
+    private final Map<String, Integer> parameterIndexes;
+
+    private final Object[] args;
+
+    private final TypedValue rootObject;
+
+    @Nullable
+    private Map<String, Object> variables;
+
+    LockKeyEvaluationContext(EvaluationContext sharedContext, Map<String, Integer> parameterIndexes,
+                             Object[] args) {
+        this.sharedContext = sharedContext;
+        this.parameterIndexes = parameterIndexes;
+        this.args = args;
+        this.rootObject = new TypedValue(args);
+    }
+
+    @Override
+    public TypedValue getRootObject() {
+        return rootObject;
+    }
+
+    @Override
+    public List<PropertyAccessor> getPropertyAccessors() {
+        return sharedContext.getPropertyAccessors();
+    }
+
+    @Override
+    public List<ConstructorResolver> getConstructorResolvers() {
+        return sharedContext.getConstructorResolvers();
+    }
+
+    @Override
+    public List<MethodResolver> getMethodResolvers() {
+        return sharedContext.getMethodResolvers();
+    }
+
+    @Override
+    @Nullable
+    public BeanResolver getBeanResolver() {
+        return sharedContext.getBeanResolver();
+    }
+
+    @Override
+    public TypeLocator getTypeLocator() {
+        return sharedContext.getTypeLocator();
+    }
+
+    @Override
+    public TypeConverter getTypeConverter() {
+        return sharedContext.getTypeConverter();
+    }
+
+    @Override
+    public TypeComparator getTypeComparator() {
+        return sharedContext.getTypeComparator();
+    }
+
+    @Override
+    public OperatorOverloader getOperatorOverloader() {
+        return sharedContext.getOperatorOverloader();
+    }
+
+    @Override
+    public void setVariable(String name, @Nullable Object value) {
+        if (variables == null) {
+            variables = new HashMap<>(4);
+        }
+        variables.put(name, value);
+    }
+
+    @Override
+    @Nullable
+    public Object lookupVariable(String name) {
+        if (variables != null && variables.containsKey(name)) {
+            return variables.get(name);
+        }
+        Integer index = parameterIndexes.get(name);
+        return (index != null && index < args.length) ? args[index] : null;
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.github.chengzhy.basiccode.aspect.distributedlock;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 分布式锁热点key endpoint({@code GET /actuator/lockstats?limit=10})
+ * @author chengzhy
+ * @date 2026/10/18 19:45
+ */
+@Component
+@Endpoint(id = "lockstats")
+public class LockStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final DistributedLockMetrics distributedLockMetrics;
+
+    public LockStatsEndpoint(DistributedLockMetrics distributedLockMetrics) {
+        this.distributedLockMetrics = distributedLockMetrics;
+    }
+
+    /**
+     * 竞争最激烈的key
+     *
+     * @author chengzhy
+     * @param limit 返回条数，默认10
+     * @date 2026/10/18 19:45
+     * @return 热点key统计快照
+     */
+    @ReadOperation
+    public List<HeavyHitters.Entry> contended(@Nullable Integer limit) {
+        return distributedLockMetrics.topContendedKeys(limit == null || limit <= 0 ? DEFAULT_LIMIT : limit);
+    }
+
+}
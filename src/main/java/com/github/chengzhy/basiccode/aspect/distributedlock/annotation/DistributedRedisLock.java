@@ -36,6 +36,17 @@ public @interface DistributedRedisLock {
      */
     boolean defaultKey() default true;
 
+    /**
+     * 分布式锁key的SpEL表达式
+     * <p>可以通过参数名({@code #user.id})、{@code #p0}/{@code #a0}或{@code #root[0]}引用方法参数，
+     * 例如{@code #user.id + ':' + #tenant}，计算结果为null时忽略
+     *
+     * @author chengzhy
+     * @date 2026/10/18 18:45
+     * @return 分布式锁key格式为 "DistributedRedisLock:" + lockKey + "." + key计算结果 + @RedisLockKey，默认为""
+     */
+    String key() default "";
+
     /**
      * redisson锁类型
      *
@@ -72,4 +83,26 @@ public @interface DistributedRedisLock {
      */
     long waitTime() default -1L;
 
+    /**
+     * 信号量许可数，只对{@link DistributedLockAspect.RedissonLockTypeEnum#REDISSON_SEMAPHORE}有效
+     * <p>只在信号量不存在时设置，修改后需要删除redis中已有的信号量才会生效
+     *
+     * @author chengzhy
+     * @date 2026/10/18 19:00
+     * @return 许可数，默认为1
+     */
+    int permits() default 1;
+
+    /**
+     * 是否先获取本地锁
+     * <p>同一JVM内相同key的线程先在本地锁排队，只有拿到本地锁的线程才去redis竞争分布式锁，减少redis加锁请求和订阅消息。
+     * waitTime同时限制本地锁和分布式锁的总等待时间。
+     * 只支持互斥锁类型：REDISSON_LOCK、REDISSON_FAIR_LOCK、REDISSON_WRITE_LOCK
+     *
+     * @author chengzhy
+     * @date 2026/10/18 19:15
+     * @return 是|否，默认为否
+     */
+    boolean localLock() default false;
+
 }
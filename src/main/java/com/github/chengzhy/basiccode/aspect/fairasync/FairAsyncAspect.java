@@ -0,0 +1,159 @@
+package com.github.chengzhy.basiccode.aspect.fairasync;
+
+import com.github.chengzhy.basiccode.aspect.fairasync.annotation.FairAsync;
+import com.github.chengzhy.basiccode.async.FairTaskExecutor;
+import com.github.chengzhy.basiccode.async.TaskPriority;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * 公平调度异步方法切面
+ * <p>与{@code AsyncExecutionInterceptor}的返回值处理方式一致，区别是提交时按注解指定任务的优先级和租户
+ *
+ * @author chengzhy
+ * @date 2026/10/18 22:00
+ */
+@Aspect
+@Component
+@Slf4j
+public class FairAsyncAspect {
+
+    private static final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    private final FairTaskExecutor fairExecutor;
+
+    /**
+     * 方法-注解解析结果
+     */
+    private final ConcurrentMap<Method, FairAsyncMetadata> metadataCache = new ConcurrentHashMap<>();
+
+    public FairAsyncAspect(@Qualifier("fairExecutor") FairTaskExecutor fairExecutor) {
+        this.fairExecutor = fairExecutor;
+    }
+
+    /**
+     * 具有{@linkplain FairAsync @FairAsync}注解的方法提交到fairExecutor异步执行
+     *
+     * @author chengzhy
+     * @param joinPoint 程序连接点 {@code ProceedingJoinPoint}
+     * @date 2026/10/18 22:00
+     * @return 返回值类型为void时返回null，否则返回对应类型的Future
+     */
+    @Around("@annotation(com.github.chengzhy.basiccode.aspect.fairasync.annotation.FairAsync)")
+    public Object fairAsync(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        FairAsyncMetadata metadata = metadataCache.get(method);
+        if (metadata == null) {
+            metadata = metadataCache.computeIfAbsent(method, FairAsyncMetadata::new);
+        }
+        TaskPriority priority = metadata.priority;
+        String tenant = metadata.evaluateTenant(joinPoint.getTarget(), method, joinPoint.getArgs());
+        Class<?> returnType = method.getReturnType();
+        boolean returnsFuture = Future.class.isAssignableFrom(returnType);
+        Callable<Object> task = () -> {
+            try {
+                Object result = joinPoint.proceed();
+                if (result instanceof Future) {
+                    return ((Future<?>) result).get();
+                }
+            } catch (ExecutionException e) {
+                handleError(e.getCause(), method, returnsFuture);
+            } catch (Throwable e) {
+                handleError(e, method, returnsFuture);
+            }
+            return null;
+        };
+        if (CompletableFuture.class.isAssignableFrom(returnType)) {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.call();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, command -> fairExecutor.execute(command, priority, tenant));
+        } else if (ListenableFuture.class.isAssignableFrom(returnType)) {
+            return fairExecutor.submitListenable(task, priority, tenant);
+        } else if (returnsFuture) {
+            return fairExecutor.submit(task, priority, tenant);
+        }
+        fairExecutor.submit(task, priority, tenant);
+        return null;
+    }
+
+    /**
+     * 返回Future的方法把异常交给Future，void方法只能记录日志
+     */
+    private static void handleError(Throwable e, Method method, boolean returnsFuture) throws Exception {
+        if (!returnsFuture) {
+            log.error("异步方法{}出现异常！", method, e);
+            return;
+        }
+        if (e instanceof Exception) {
+            throw (Exception) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        throw new UndeclaredThrowableException(e);
+    }
+
+    private static final class FairAsyncMetadata {
+
+        private final TaskPriority priority;
+
+        /**
+         * 租户表达式，未配置时为null
+         */
+        @Nullable
+        private final Expression tenantExpression;
+
+        private FairAsyncMetadata(Method method) {
+            Class<?> returnType = method.getReturnType();
+            Assert.isTrue(returnType == void.class || Future.class.isAssignableFrom(returnType),
+                    () -> "@FairAsync方法的返回值类型须为void或Future：" + method);
+            FairAsync fairAsync = method.getAnnotation(FairAsync.class);
+            this.priority = fairAsync.priority();
+            this.tenantExpression = StringUtils.isBlank(fairAsync.tenant())
+                    ? null : EXPRESSION_PARSER.parseExpression(fairAsync.tenant());
+        }
+
+        @Nullable
+        private String evaluateTenant(Object target, Method method, Object[] args) {
+            if (tenantExpression == null) {
+                return null;
+            }
+            MethodBasedEvaluationContext context =
+                    new MethodBasedEvaluationContext(target, method, args, PARAMETER_NAME_DISCOVERER);
+            Object tenant = tenantExpression.getValue(context);
+            return tenant == null ? null : tenant.toString();
+        }
+
+    }
+
+}
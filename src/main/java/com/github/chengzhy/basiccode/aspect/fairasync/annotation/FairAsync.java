@@ -0,0 +1,43 @@
+package com.github.chengzhy.basiccode.aspect.fairasync.annotation;
+
+import com.github.chengzhy.basiccode.async.TaskPriority;
+
+import java.lang.annotation.*;
+
+/**
+ * 按优先级和租户公平调度的异步方法注解
+ * <p>效果等同于{@code @Async("fairExecutor")}，另外可以指定任务的优先级和租户；
+ * 返回值类型须为void、{@code Future}、{@code CompletableFuture}或{@code ListenableFuture}。
+ * 排队已满或租户排队数超过{@code max-queued-per-tenant}时抛出{@code TaskRejectedException}。
+ * 不要与{@code @Async}同时使用
+ *
+ * @author chengzhy
+ * @date 2026/10/18 22:00
+ */
+@Documented
+@Inherited
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FairAsync {
+
+    /**
+     * 任务优先级
+     *
+     * @author chengzhy
+     * @date 2026/10/18 22:00
+     * @return 优先级，默认为NORMAL
+     */
+    TaskPriority priority() default TaskPriority.NORMAL;
+
+    /**
+     * 租户(SpEL表达式)
+     * <p>可以通过参数名、{@code #p0}、{@code #a0}引用方法参数，例如{@code #user.tenantId}；
+     * 为空或计算结果为null时为默认租户
+     *
+     * @author chengzhy
+     * @date 2026/10/18 22:00
+     * @return 租户表达式，默认为""
+     */
+    String tenant() default "";
+
+}
@@ -0,0 +1,445 @@
+package com.github.chengzhy.basiccode.aspect.idempotent;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.chengzhy.basiccode.aspect.idempotent.annotation.Idempotent;
+import com.github.chengzhy.basiccode.exception.runtime.BusinessException;
+import com.github.chengzhy.basiccode.util.AssertUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 幂等切面
+ *
+ * <p>redis中每个幂等key为一个hash：{@code fingerprint}为请求参数摘要，处理中时有{@code marker}(处理中标记)，
+ * 处理完成后有{@code result}(方法返回值)。
+ * <ul>
+ *     <li>幂等key按方法和调用方(已认证时为{@code Principal}名称)区分，不同调用方使用相同的key互不影响</li>
+ *     <li>相同key的请求参数与第一次请求不同时返回422，不重放第一次请求的结果</li>
+ *     <li>方法执行期间每1/3 processingTimeout续期一次处理中标记，执行时间超过processingTimeout时不会被重复执行</li>
+ *     <li>返回值只在key的值仍为自己的处理中标记时保存(比较并设置)，不覆盖其它请求的标记或结果</li>
+ *     <li>同一节点的并发重复请求等待本地future，不访问redis</li>
+ *     <li>其它节点的并发重复请求等待完成通知(redis发布订阅)，收到通知或每隔一段时间检查一次结果</li>
+ *     <li>方法抛出异常时删除处理中标记(只删除自己设置的标记)</li>
+ * </ul>
+ *
+ * @author chengzhy
+ * @date 2026/10/18 20:30
+ */
+@Aspect
+@Component
+@Slf4j
+public class IdempotentAspect implements DisposableBean {
+
+    private static final String IDEMPOTENT_KEY_PREFIX = "Idempotent:";
+
+    /**
+     * 处理完成(保存结果或删除标记)时发布的频道，消息为redis key
+     */
+    private static final String COMPLETED_CHANNEL = "Idempotent:completed";
+
+    private static final int MAX_IDEMPOTENT_KEY_LENGTH = 128;
+
+    /**
+     * 等待完成通知时重新检查结果的间隔，用于处理标记过期(节点宕机)或通知丢失的情况
+     */
+    private static final long RECHECK_INTERVAL_MILLIS = 1000L;
+
+    private static final long MIN_RENEW_INTERVAL_MILLIS = 1000L;
+
+    private static final byte[] FIELD_FINGERPRINT = "fingerprint".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] FIELD_RESULT = "result".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 请求参数摘要计算失败时的摘要，不与任何摘要冲突
+     */
+    private static final String UNKNOWN_FINGERPRINT = "";
+
+    /**
+     * key不存在时设置处理中标记和参数摘要并返回1；已存在时参数摘要相同返回0，不同返回-1
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "local fingerprint = redis.call('hget', KEYS[1], 'fingerprint') "
+                    + "if fingerprint then "
+                    + "if fingerprint ~= ARGV[2] and fingerprint ~= '' and ARGV[2] ~= '' then return -1 end "
+                    + "return 0 end "
+                    + "redis.call('hmset', KEYS[1], 'marker', ARGV[1], 'fingerprint', ARGV[2]); "
+                    + "redis.call('pexpire', KEYS[1], ARGV[3]); return 1",
+            Long.class);
+
+    /**
+     * 只删除自己设置的处理中标记
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('hget', KEYS[1], 'marker') == ARGV[1] then "
+                    + "redis.call('del', KEYS[1]); redis.call('publish', '" + COMPLETED_CHANNEL + "', KEYS[1]); "
+                    + "return 1 else return 0 end",
+            Long.class);
+
+    /**
+     * 只续期自己设置的处理中标记
+     */
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('hget', KEYS[1], 'marker') == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) "
+                    + "else return 0 end",
+            Long.class);
+
+    /**
+     * 值仍为自己的处理中标记时保存返回值
+     */
+    private static final RedisScript<Long> SAVE_RESULT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('hget', KEYS[1], 'marker') == ARGV[1] then "
+                    + "redis.call('hdel', KEYS[1], 'marker'); redis.call('hset', KEYS[1], 'result', ARGV[2]); "
+                    + "redis.call('pexpire', KEYS[1], ARGV[3]); "
+                    + "redis.call('publish', '" + COMPLETED_CHANNEL + "', KEYS[1]); return 1 else return 0 end",
+            Long.class);
+
+    private static final RedisSerializer<Long> SCRIPT_RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 计算请求参数摘要，属性和Map的key按字母排序，与字段声明顺序和Map实现无关
+     */
+    private final ObjectMapper fingerprintMapper;
+
+    /**
+     * 本节点处理中的请求，key为redis key + 参数摘要
+     */
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlightRequests = new ConcurrentHashMap<>();
+
+    /**
+     * 本节点等待其它节点处理结果的请求，收到完成通知时完成
+     */
+    private final ConcurrentMap<String, CompletableFuture<Void>> remoteWaiters = new ConcurrentHashMap<>();
+
+    /**
+     * 处理中标记续期
+     */
+    private final ScheduledExecutorService renewalExecutor;
+
+    public IdempotentAspect(RedisTemplate<String, Object> redisTemplate, RedissonClient redissonClient,
+                            ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.fingerprintMapper = objectMapper.copy()
+                .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        this.renewalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotent-renewal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        redissonClient.getTopic(COMPLETED_CHANNEL, StringCodec.INSTANCE).addListener(String.class,
+                (channel, redisKey) -> {
+                    CompletableFuture<Void> waiter = remoteWaiters.remove(redisKey);
+                    if (waiter != null) {
+                        waiter.complete(null);
+                    }
+                });
+    }
+
+    /**
+     * 具有{@linkplain Idempotent @Idempotent}注解的方法按幂等key去重
+     *
+     * @author chengzhy
+     * @param joinPoint 程序连接点 {@code ProceedingJoinPoint}
+     * @date 2026/10/18 20:30
+     * @return 方法返回值或保存的第一次请求的返回值
+     */
+    @Around("@annotation(com.github.chengzhy.basiccode.aspect.idempotent.annotation.Idempotent)")
+    public Object idempotent(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Idempotent idempotent = method.getAnnotation(Idempotent.class);
+        HttpServletRequest request = getCurrentRequest();
+        String idempotentKey = getIdempotentKey(request, idempotent);
+        if (idempotentKey == null) {
+            return joinPoint.proceed();
+        }
+        Principal principal = request.getUserPrincipal();
+        String redisKey = IDEMPOTENT_KEY_PREFIX + method.getDeclaringClass().getName() + "." + method.getName()
+                + ":" + (principal == null ? "" : principal.getName() + ":") + idempotentKey;
+        String fingerprint = fingerprint(joinPoint.getArgs(), redisKey);
+        // 相同key不同参数的请求不合并，由redis中的参数摘要判断
+        String localKey = redisKey + "#" + fingerprint;
+        CompletableFuture<Object> inFlight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlightRequests.putIfAbsent(localKey, inFlight);
+        if (existing != null) {
+            // 本节点已有相同key、相同参数的请求在处理
+            return awaitLocal(existing, idempotent);
+        }
+        try {
+            Object result = execute(joinPoint, idempotent, redisKey, fingerprint);
+            inFlight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            inFlight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(localKey, inFlight);
+        }
+    }
+
+    private Object execute(ProceedingJoinPoint joinPoint, Idempotent idempotent, String redisKey,
+                           String fingerprint) throws Throwable {
+        byte[] serializedMarker = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+        byte[] serializedFingerprint = fingerprint.getBytes(StandardCharsets.UTF_8);
+        byte[] serializedTimeout = serialize(TimeUnit.SECONDS.toMillis(idempotent.processingTimeout()));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(idempotent.waitTime());
+        while (true) {
+            Long acquired;
+            try {
+                acquired = redisTemplate.execute(ACQUIRE_SCRIPT, RedisSerializer.byteArray(),
+                        SCRIPT_RESULT_SERIALIZER, Collections.singletonList(redisKey), serializedMarker,
+                        serializedFingerprint, serializedTimeout);
+            } catch (DataAccessException e) {
+                log.error("[idempotent] redis error, proceed without de-duplication: key=[{}]", redisKey, e);
+                return joinPoint.proceed();
+            }
+            if (acquired != null && acquired == 1L) {
+                break;
+            }
+            if (acquired != null && acquired < 0L) {
+                throw fingerprintMismatch(redisKey);
+            }
+            Object value = awaitRemote(redisKey, fingerprint, deadline);
+            if (value != null) {
+                return value;
+            }
+            // 其它节点的请求失败或处理中标记已过期，重新尝试由本次请求执行
+        }
+        ScheduledFuture<?> renewal = scheduleRenewal(redisKey, serializedMarker, idempotent.processingTimeout());
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            renewal.cancel(false);
+            release(redisKey, serializedMarker);
+            throw e;
+        }
+        renewal.cancel(false);
+        if (result == null) {
+            release(redisKey, serializedMarker);
+            return result;
+        }
+        try {
+            Long saved = redisTemplate.execute(SAVE_RESULT_SCRIPT, RedisSerializer.byteArray(),
+                    SCRIPT_RESULT_SERIALIZER, Collections.singletonList(redisKey), serializedMarker,
+                    serialize(result), serialize(TimeUnit.SECONDS.toMillis(idempotent.expireTime())));
+            if (saved == null || saved == 0L) {
+                log.warn("[idempotent] processing marker lost, result not saved: key=[{}]", redisKey);
+            }
+        } catch (DataAccessException e) {
+            log.error("[idempotent] save result error: key=[{}]", redisKey, e);
+        }
+        return result;
+    }
+
+    /**
+     * 方法执行期间定时续期处理中标记，标记已不属于本次请求时停止续期
+     */
+    private ScheduledFuture<?> scheduleRenewal(String redisKey, byte[] serializedMarker, long processingTimeout) {
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(processingTimeout);
+        long intervalMillis = Math.max(MIN_RENEW_INTERVAL_MILLIS, timeoutMillis / 3L);
+        byte[] serializedTimeout = serialize(timeoutMillis);
+        AtomicReference<ScheduledFuture<?>> renewal = new AtomicReference<>();
+        renewal.set(renewalExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                Long renewed = redisTemplate.execute(RENEW_SCRIPT, RedisSerializer.byteArray(),
+                        SCRIPT_RESULT_SERIALIZER, Collections.singletonList(redisKey), serializedMarker,
+                        serializedTimeout);
+                if (renewed != null && renewed == 0L) {
+                    log.warn("[idempotent] processing marker lost, stop renewal: key=[{}]", redisKey);
+                    renewal.get().cancel(false);
+                }
+            } catch (DataAccessException e) {
+                log.error("[idempotent] renew error: key=[{}]", redisKey, e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS));
+        return renewal.get();
+    }
+
+    /**
+     * 等待本节点相同key请求的结果
+     */
+    private Object awaitLocal(CompletableFuture<Object> inFlight, Idempotent idempotent) throws Throwable {
+        try {
+            return inFlight.get(idempotent.waitTime(), TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            throw new BusinessException(HttpStatus.CONFLICT, "请求正在处理中，请稍后再试");
+        }
+    }
+
+    /**
+     * 等待其它节点相同key请求的结果：收到完成通知或每隔{@link #RECHECK_INTERVAL_MILLIS}检查一次
+     *
+     * @return 保存的返回值，key不存在(其它请求失败或标记过期)时返回null
+     */
+    @Nullable
+    private Object awaitRemote(String redisKey, String fingerprint, long deadline) throws InterruptedException {
+        byte[] rawKey = redisKey.getBytes(StandardCharsets.UTF_8);
+        while (true) {
+            // 先注册再读取，避免读取后、注册前的通知丢失
+            CompletableFuture<Void> completed = remoteWaiters.computeIfAbsent(redisKey,
+                    key -> new CompletableFuture<>());
+            try {
+                List<byte[]> values = redisTemplate.execute(
+                        (RedisCallback<List<byte[]>>) connection -> connection.hMGet(rawKey, FIELD_FINGERPRINT,
+                                FIELD_RESULT));
+                byte[] storedFingerprint = values == null ? null : values.get(0);
+                if (storedFingerprint == null) {
+                    return null;
+                }
+                if (!isSameFingerprint(new String(storedFingerprint, StandardCharsets.UTF_8), fingerprint)) {
+                    throw fingerprintMismatch(redisKey);
+                }
+                if (values.get(1) != null) {
+                    return redisTemplate.getValueSerializer().deserialize(values.get(1));
+                }
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0L) {
+                    throw new BusinessException(HttpStatus.CONFLICT, "请求正在处理中，请稍后再试");
+                }
+                completed.get(Math.min(remainingMillis, RECHECK_INTERVAL_MILLIS), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // 没有收到通知，重新检查
+            } finally {
+                remoteWaiters.remove(redisKey, completed);
+            }
+        }
+    }
+
+    private void release(String redisKey, byte[] serializedMarker) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, RedisSerializer.byteArray(), SCRIPT_RESULT_SERIALIZER,
+                    Collections.singletonList(redisKey), serializedMarker);
+        } catch (DataAccessException e) {
+            log.error("[idempotent] release error: key=[{}]", redisKey, e);
+        }
+    }
+
+    /**
+     * 按redisTemplate的value序列化方式序列化，与setIfAbsent/get读写的值一致，脚本中可以直接比较
+     */
+    @SuppressWarnings("unchecked")
+    private byte[] serialize(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+    }
+
+    private static byte[] serialize(long number) {
+        return String.valueOf(number).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void destroy() {
+        renewalExecutor.shutdownNow();
+    }
+
+    /**
+     * 请求参数摘要：参数(不包括请求、响应、上传文件和校验结果)json序列化后的SHA-256
+     *
+     * @author chengzhy
+     * @param args 方法参数
+     * @param redisKey redis key，用于日志
+     * @date 2026/10/18 20:30
+     * @return base64编码的摘要，序列化失败时为{@link #UNKNOWN_FINGERPRINT}(不校验参数)
+     */
+    private String fingerprint(Object[] args, String redisKey) {
+        List<Object> fingerprintArgs = new ArrayList<>(args.length);
+        for (Object arg : args) {
+            if (!(arg instanceof ServletRequest || arg instanceof ServletResponse
+                    || arg instanceof InputStreamSource || arg instanceof Errors)) {
+                fingerprintArgs.add(arg);
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(fingerprintMapper.writeValueAsBytes(fingerprintArgs));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            log.error("[idempotent] fingerprint error, request parameters are not checked: key=[{}]", redisKey, e);
+            return UNKNOWN_FINGERPRINT;
+        }
+    }
+
+    private static boolean isSameFingerprint(String storedFingerprint, String fingerprint) {
+        return storedFingerprint.equals(fingerprint) || UNKNOWN_FINGERPRINT.equals(storedFingerprint)
+                || UNKNOWN_FINGERPRINT.equals(fingerprint);
+    }
+
+    private static BusinessException fingerprintMismatch(String redisKey) {
+        log.warn("[idempotent] idempotency key reused with different parameters: key=[{}]", redisKey);
+        return new BusinessException(HttpStatus.UNPROCESSABLE_ENTITY, "幂等key已被参数不同的请求使用");
+    }
+
+    @Nullable
+    private static HttpServletRequest getCurrentRequest() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return requestAttributes instanceof ServletRequestAttributes
+                ? ((ServletRequestAttributes) requestAttributes).getRequest() : null;
+    }
+
+    @Nullable
+    private static String getIdempotentKey(@Nullable HttpServletRequest request, Idempotent idempotent) {
+        String idempotentKey = request == null ? null : request.getHeader(idempotent.header());
+        if (StringUtils.isBlank(idempotentKey)) {
+            AssertUtils.isTrue(!idempotent.required(), HttpStatus.BAD_REQUEST,
+                    () -> "缺少请求头" + idempotent.header());
+            return null;
+        }
+        AssertUtils.isTrue(idempotentKey.length() <= MAX_IDEMPOTENT_KEY_LENGTH, HttpStatus.BAD_REQUEST,
+                () -> "请求头" + idempotent.header() + "长度不能超过" + MAX_IDEMPOTENT_KEY_LENGTH);
+        return idempotentKey.trim();
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.github.chengzhy.basiccode.aspect.idempotent.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 幂等注解
+ * <p>根据请求头中的幂等key去重：同一个key第一次请求的返回值保存在redis中，
+ * 并发的重复请求等待第一次请求的结果，之后的重复请求直接返回保存的结果，不再调用方法。
+ * 方法抛出异常时不保存结果，客户端可以使用同一个key重试。
+ * 幂等key按调用方(已认证时)区分，同一个key的请求参数与第一次请求不同时返回422
+ *
+ * @author chengzhy
+ * @date 2026/10/18 20:30
+ */
+@Documented
+@Inherited
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+
+    /**
+     * 幂等key所在的请求头
+     *
+     * @author chengzhy
+     * @date 2026/10/18 20:30
+     * @return 请求头名称，默认为Idempotency-Key
+     */
+    String header() default "Idempotency-Key";
+
+    /**
+     * 是否必须携带幂等key
+     *
+     * @author chengzhy
+     * @date 2026/10/18 20:30
+     * @return 是|否，默认为否(不携带时不去重)
+     */
+    boolean required() default false;
+
+    /**
+     * 返回值保存时间 单位：秒
+     *
+     * @author chengzhy
+     * @date 2026/10/18 20:30
+     * @return 保存时间，默认为1天
+     */
+    long expireTime() default 86400L;
+
+    /**
+     * 处理中标记的有效时间 单位：秒
+     * <p>方法执行期间每1/3有效时间续期一次，节点宕机时标记到期后同一个key可以重新执行
+     *
+     * @author chengzhy
+     * @date 2026/10/18 20:30
+     * @return 有效时间，默认为60秒
+     */
+    long processingTimeout() default 60L;
+
+    /**
+     * 重复请求等待第一次请求结果的最长时间 单位：秒
+     *
+     * @author chengzhy
+     * @date 2026/10/18 20:30
+     * @return 等待时间，默认为10秒
+     */
+    long waitTime() default 10L;
+
+}
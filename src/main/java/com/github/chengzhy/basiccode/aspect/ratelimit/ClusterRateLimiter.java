@@ -0,0 +1,127 @@
+package com.github.chengzhy.basiccode.aspect.ratelimit;
+
+import com.github.chengzhy.basiccode.aspect.ratelimit.annotation.RateLimited;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateIntervalUnit;
+import org.redisson.api.RateType;
+import org.redisson.client.RedisException;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 集群限流器
+ *
+ * <p>{@link RRateLimiter}之前加一层本地预取令牌桶：本地许可用完时由一个线程从redis批量获取prefetch个许可，
+ * 预取期间其它线程不排队，各自从redis获取单个许可。
+ * 额度不足一批时，在prefetchTtl内直接在本地拒绝，不再访问redis(剩余不足一批的额度留给其它节点)。redis异常时放行
+ *
+ * @author chengzhy
+ * @date 2026/10/18 20:00
+ */
+@Slf4j
+final class ClusterRateLimiter {
+
+    private static final String NOT_INITIALIZED_MESSAGE = "RateLimiter is not initialized";
+
+    private final RRateLimiter rateLimiter;
+
+    private final long rate;
+
+    private final long interval;
+
+    private final int prefetch;
+
+    private final long prefetchTtlNanos;
+
+    @Getter
+    private final String message;
+
+    private final LocalTokenBucket localTokenBucket = new LocalTokenBucket();
+
+    private volatile boolean rateInitialized;
+
+    /**
+     * 预取失败后到该时间(System.nanoTime)之前直接拒绝
+     */
+    private volatile long exhaustedUntilNanos;
+
+    ClusterRateLimiter(RRateLimiter rateLimiter, RateLimited rateLimited) {
+        Assert.isTrue(rateLimited.rate() > 0L && rateLimited.interval() > 0L,
+                () -> "@RateLimited rate和interval必须大于0：" + rateLimiter.getName());
+        Assert.isTrue(rateLimited.prefetch() > 0 && rateLimited.prefetch() <= rateLimited.rate(),
+                () -> "@RateLimited prefetch必须在1到rate之间：" + rateLimiter.getName());
+        this.rateLimiter = rateLimiter;
+        this.rate = rateLimited.rate();
+        this.interval = rateLimited.interval();
+        this.prefetch = rateLimited.prefetch();
+        this.prefetchTtlNanos = TimeUnit.MILLISECONDS.toNanos(rateLimited.prefetchTtl());
+        this.message = rateLimited.message();
+    }
+
+    /**
+     * 获取一个许可
+     *
+     * @author chengzhy
+     * @date 2026/10/18 20:00
+     * @return 是否获取成功
+     */
+    boolean tryAcquire() {
+        if (prefetch == 1) {
+            return tryAcquireRemote(1L);
+        }
+        if (localTokenBucket.tryTake()) {
+            return true;
+        }
+        if (System.nanoTime() - exhaustedUntilNanos < 0L) {
+            return false;
+        }
+        if (!localTokenBucket.refillLock.tryLock()) {
+            // 其它线程正在预取，不等待预取结果
+            return tryAcquireRemote(1L);
+        }
+        try {
+            // 获取锁之前其它线程可能已经预取
+            if (localTokenBucket.tryTake()) {
+                return true;
+            }
+            if (tryAcquireRemote(prefetch)) {
+                localTokenBucket.refill(prefetch - 1L, prefetchTtlNanos);
+                return true;
+            }
+            exhaustedUntilNanos = System.nanoTime() + prefetchTtlNanos;
+            return false;
+        } finally {
+            localTokenBucket.refillLock.unlock();
+        }
+    }
+
+    private boolean tryAcquireRemote(long permits) {
+        try {
+            return doTryAcquireRemote(permits);
+        } catch (RedisException e) {
+            if (e.getMessage() != null && e.getMessage().contains(NOT_INITIALIZED_MESSAGE)) {
+                // 限流器在redis中被删除，重新设置后重试一次
+                rateInitialized = false;
+                try {
+                    return doTryAcquireRemote(permits);
+                } catch (RedisException ex) {
+                    e = ex;
+                }
+            }
+            log.error(e.getMessage(), e);
+            return true;
+        }
+    }
+
+    private boolean doTryAcquireRemote(long permits) {
+        if (!rateInitialized) {
+            rateLimiter.trySetRate(RateType.OVERALL, rate, interval, RateIntervalUnit.SECONDS);
+            rateInitialized = true;
+        }
+        return rateLimiter.tryAcquire(permits);
+    }
+
+}
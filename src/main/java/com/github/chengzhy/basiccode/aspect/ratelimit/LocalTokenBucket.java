@@ -0,0 +1,55 @@
+package com.github.chengzhy.basiccode.aspect.ratelimit;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 本地预取令牌桶
+ *
+ * <p>保存从redis限流器预取的许可，许可到期后整体丢弃
+ *
+ * @author chengzhy
+ * @date 2026/10/18 20:00
+ */
+final class LocalTokenBucket {
+
+    /**
+     * 从redis预取许可时持有，同一时间只有一个线程预取，其它线程tryLock失败时不等待
+     */
+    final ReentrantLock refillLock = new ReentrantLock();
+
+    private long tokens;
+
+    private long expireNanos;
+
+    /**
+     * 获取一个本地许可
+     *
+     * @author chengzhy
+     * @date 2026/10/18 20:00
+     * @return 是否获取成功
+     */
+    synchronized boolean tryTake() {
+        if (tokens > 0L) {
+            if (System.nanoTime() - expireNanos < 0L) {
+                tokens--;
+                return true;
+            }
+            tokens = 0L;
+        }
+        return false;
+    }
+
+    /**
+     * 放入预取的许可(覆盖未用完的许可)
+     *
+     * @author chengzhy
+     * @param permits 许可数
+     * @param ttlNanos 有效时间，单位：纳秒
+     * @date 2026/10/18 20:00
+     */
+    synchronized void refill(long permits, long ttlNanos) {
+        this.tokens = permits;
+        this.expireNanos = System.nanoTime() + ttlNanos;
+    }
+
+}
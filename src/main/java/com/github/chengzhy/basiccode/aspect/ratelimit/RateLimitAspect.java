@@ -0,0 +1,82 @@
+package com.github.chengzhy.basiccode.aspect.ratelimit;
+
+import com.github.chengzhy.basiccode.aspect.ratelimit.annotation.RateLimited;
+import com.github.chengzhy.basiccode.util.AssertUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.redisson.api.RedissonClient;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 集群限流切面
+ * @author chengzhy
+ * @date 2026/10/18 20:00
+ */
+@Aspect
+@Component
+@Slf4j
+public class RateLimitAspect {
+
+    private static final String RATE_LIMITER_KEY_PREFIX = "RateLimiter:";
+
+    private final RedissonClient redissonClient;
+
+    /**
+     * 方法-限流器
+     */
+    private final ConcurrentMap<Method, ClusterRateLimiter> rateLimiterCache = new ConcurrentHashMap<>();
+
+    public RateLimitAspect(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    /**
+     * 具有{@linkplain RateLimited @RateLimited}注解的方法限流，超过限制时抛出429业务异常
+     *
+     * @author chengzhy
+     * @param joinPoint 程序连接点 {@code ProceedingJoinPoint}
+     * @date 2026/10/18 20:00
+     * @return {@code joinPoint.proceed()}
+     */
+    @Around("@annotation(com.github.chengzhy.basiccode.aspect.ratelimit.annotation.RateLimited)")
+    public Object rateLimit(ProceedingJoinPoint joinPoint) throws Throwable {
+        ClusterRateLimiter rateLimiter = getRateLimiter(joinPoint);
+        AssertUtils.isTrue(rateLimiter.tryAcquire(), HttpStatus.TOO_MANY_REQUESTS, rateLimiter.getMessage());
+        return joinPoint.proceed();
+    }
+
+    /**
+     * 获取方法的限流器，每个方法只创建一次
+     *
+     * @author chengzhy
+     * @param joinPoint 程序连接点 {@code ProceedingJoinPoint}
+     * @date 2026/10/18 20:00
+     * @return 限流器
+     */
+    private ClusterRateLimiter getRateLimiter(@NonNull ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        ClusterRateLimiter rateLimiter = rateLimiterCache.get(method);
+        if (rateLimiter == null) {
+            rateLimiter = rateLimiterCache.computeIfAbsent(method, this::createRateLimiter);
+        }
+        return rateLimiter;
+    }
+
+    private ClusterRateLimiter createRateLimiter(Method method) {
+        RateLimited rateLimited = method.getAnnotation(RateLimited.class);
+        String limitKey = StringUtils.isBlank(rateLimited.limitKey())
+                ? method.getDeclaringClass().getName() + "." + method.getName() : rateLimited.limitKey();
+        return new ClusterRateLimiter(redissonClient.getRateLimiter(RATE_LIMITER_KEY_PREFIX + limitKey), rateLimited);
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.github.chengzhy.basiccode.aspect.ratelimit.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 集群限流注解
+ * <p>基于redisson {@code RRateLimiter}实现，集群内所有节点共享限流额度
+ *
+ * @author chengzhy
+ * @date 2026/10/18 20:00
+ */
+@Documented
+@Inherited
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /**
+     * 限流key
+     * <p>为空时使用默认key：类所在包信息 + 方法名
+     *
+     * @author chengzhy
+     * @date 2026/10/18 20:00
+     * @return 限流key格式为 "RateLimiter:" + limitKey，默认为""
+     */
+    String limitKey() default "";
+
+    /**
+     * 每个时间窗口允许的请求数
+     *
+     * @author chengzhy
+     * @date 2026/10/18 20:00
+     * @return 请求数
+     */
+    long rate();
+
+    /**
+     * 时间窗口 单位：秒
+     * <p>rate和interval只在redis中不存在该限流器时设置，修改后需要删除redis中已有的限流器才会生效
+     *
+     * @author chengzhy
+     * @date 2026/10/18 20:00
+     * @return 时间窗口，默认为1秒
+     */
+    long interval() default 1L;
+
+    /**
+     * 每次从redis预取的许可数
+     * <p>大于1时节点一次从redis获取多个许可放入本地令牌桶，之后的请求先从本地令牌桶获取，减少redis请求。
+     * 预取越多redis请求越少，但节点间分配越不均匀，建议不超过 rate / 节点数
+     *
+     * @author chengzhy
+     * @date 2026/10/18 20:00
+     * @return 预取许可数，默认为1(不预取)
+     */
+    int prefetch() default 1;
+
+    /**
+     * 本地预取许可的有效时间 单位：毫秒
+     * <p>超时未用完的许可直接丢弃，避免节点囤积许可后在下一个时间窗口突发放行；
+     * 预取失败(集群额度不足一批)后同样在该时间内直接在本地拒绝
+     *
+     * @author chengzhy
+     * @date 2026/10/18 20:00
+     * @return 有效时间，默认为100毫秒
+     */
+    long prefetchTtl() default 100L;
+
+    /**
+     * 被限流时的提示信息
+     *
+     * @author chengzhy
+     * @date 2026/10/18 20:00
+     * @return 提示信息
+     */
+    String message() default "请求过于频繁，请稍后再试";
+
+}
@@ -0,0 +1,216 @@
+package com.github.chengzhy.basiccode.aspect.scheduledlock;
+
+import com.github.chengzhy.basiccode.aspect.scheduledlock.annotation.ScheduledLock;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 定时任务分布式锁切面
+ *
+ * <p>每个任务在redis中有三个key：
+ * <ul>
+ *     <li>{@code ScheduledLock:<name>}：redisson锁，执行期间持有</li>
+ *     <li>{@code ScheduledLock:<name>:executed}：已执行标记，过期时间为lockAtLeastFor，
+ *     加锁成功但存在该标记时说明本次触发已由其它节点执行(过期时间由redis计时，不受节点时钟偏差影响)</li>
+ *     <li>{@code ScheduledLock:<name>:stats}：最近一次执行的开始时间、耗时、结果和执行节点</li>
+ * </ul>
+ *
+ * @author chengzhy
+ * @date 2026/10/18 22:30
+ */
+@Aspect
+@Component
+@Slf4j
+public class ScheduledLockAspect {
+
+    private static final String SCHEDULED_LOCK_KEY_PREFIX = "ScheduledLock:";
+
+    /**
+     * 当前节点标识：pid@hostname
+     */
+    private static final String NODE = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final RedissonClient redissonClient;
+
+    /**
+     * 方法-定时任务
+     */
+    private final ConcurrentMap<Method, ScheduledJob> jobCache = new ConcurrentHashMap<>();
+
+    public ScheduledLockAspect(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    /**
+     * 具有{@linkplain ScheduledLock @ScheduledLock}注解的定时任务加锁执行，未获取到锁的节点跳过本次触发
+     *
+     * @author chengzhy
+     * @param joinPoint 程序连接点 {@code ProceedingJoinPoint}
+     * @date 2026/10/18 22:30
+     * @return 跳过时返回null，否则返回{@code joinPoint.proceed()}
+     */
+    @Around("@annotation(com.github.chengzhy.basiccode.aspect.scheduledlock.annotation.ScheduledLock)")
+    public Object scheduledLock(ProceedingJoinPoint joinPoint) throws Throwable {
+        ScheduledJob job = getJob(joinPoint);
+        RLock lock = redissonClient.getLock(job.lockKey);
+        RBucket<String> executedMarker = redissonClient.getBucket(job.executedKey, StringCodec.INSTANCE);
+        boolean locked = false;
+        try {
+            locked = job.mode == ScheduledLock.Mode.AT_MOST_ONCE
+                    ? lock.tryLock(0L, job.leaseTime, TimeUnit.SECONDS) : lock.tryLock(0L, TimeUnit.SECONDS);
+            if (!locked) {
+                log.debug("[scheduled lock] job=[{}] is running on another node, skip", job.name);
+                return null;
+            }
+            if (executedMarker.isExists()) {
+                unlock(lock, job);
+                log.debug("[scheduled lock] job=[{}] has been executed by another node, skip", job.name);
+                return null;
+            }
+            if (job.mode == ScheduledLock.Mode.AT_MOST_ONCE) {
+                // 执行节点宕机时，租期内其它节点也不会再执行本次触发
+                executedMarker.set(NODE, job.leaseTime, TimeUnit.SECONDS);
+            }
+        } catch (RedisException e) {
+            if (locked) {
+                unlock(lock, job);
+            }
+            if (job.mode == ScheduledLock.Mode.AT_MOST_ONCE) {
+                log.error("[scheduled lock] redis error, skip: job=[{}]", job.name, e);
+                return null;
+            }
+            log.error("[scheduled lock] redis error, run on this node: job=[{}]", job.name, e);
+            return joinPoint.proceed();
+        }
+        try {
+            return execute(joinPoint, job, executedMarker);
+        } finally {
+            unlock(lock, job);
+        }
+    }
+
+    private Object execute(ProceedingJoinPoint joinPoint, ScheduledJob job, RBucket<String> executedMarker)
+            throws Throwable {
+        LocalDateTime startTime = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            long costMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            try {
+                if (success || job.mode == ScheduledLock.Mode.AT_MOST_ONCE) {
+                    markExecuted(executedMarker, job);
+                }
+                recordStats(job, startTime, costMillis, success);
+            } catch (RedisException e) {
+                log.error("[scheduled lock] redis error: job=[{}]", job.name, e);
+            }
+            log.info("[scheduled lock] job=[{}] {}, cost=[{}ms]", job.name, success ? "succeeded" : "failed",
+                    costMillis);
+        }
+    }
+
+    private void markExecuted(RBucket<String> executedMarker, ScheduledJob job) {
+        if (job.lockAtLeastFor > 0L) {
+            executedMarker.set(NODE, job.lockAtLeastFor, TimeUnit.MILLISECONDS);
+        } else {
+            executedMarker.delete();
+        }
+    }
+
+    private void recordStats(ScheduledJob job, LocalDateTime startTime, long costMillis, boolean success) {
+        Map<String, String> stats = new HashMap<>(8);
+        stats.put("lastStartTime", startTime.toString());
+        stats.put("lastDurationMillis", String.valueOf(costMillis));
+        stats.put("lastStatus", success ? "SUCCESS" : "FAILED");
+        stats.put("lastNode", NODE);
+        redissonClient.<String, String>getMap(job.statsKey, StringCodec.INSTANCE).putAll(stats);
+    }
+
+    private void unlock(RLock lock, ScheduledJob job) {
+        try {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            } else {
+                log.warn("[scheduled lock] job=[{}] ran longer than leaseTime=[{}s], lock has expired",
+                        job.name, job.leaseTime);
+            }
+        } catch (RedisException e) {
+            log.error("[scheduled lock] unlock error: job=[{}]", job.name, e);
+        }
+    }
+
+    /**
+     * 获取方法的定时任务信息，每个方法只解析一次
+     *
+     * @author chengzhy
+     * @param joinPoint 程序连接点 {@code ProceedingJoinPoint}
+     * @date 2026/10/18 22:30
+     * @return 定时任务信息
+     */
+    private ScheduledJob getJob(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        ScheduledJob job = jobCache.get(method);
+        if (job == null) {
+            job = jobCache.computeIfAbsent(method, ScheduledJob::new);
+        }
+        return job;
+    }
+
+    private static final class ScheduledJob {
+
+        private final String name;
+
+        private final ScheduledLock.Mode mode;
+
+        private final long leaseTime;
+
+        private final long lockAtLeastFor;
+
+        private final String lockKey;
+
+        private final String executedKey;
+
+        private final String statsKey;
+
+        private ScheduledJob(Method method) {
+            ScheduledLock scheduledLock = method.getAnnotation(ScheduledLock.class);
+            Assert.isTrue(scheduledLock.leaseTime() > 0L, () -> "@ScheduledLock的leaseTime必须大于0：" + method);
+            this.name = StringUtils.isBlank(scheduledLock.name())
+                    ? ClassUtils.getUserClass(method.getDeclaringClass()).getName() + "." + method.getName()
+                    : scheduledLock.name();
+            this.mode = scheduledLock.mode();
+            this.leaseTime = scheduledLock.leaseTime();
+            this.lockAtLeastFor = scheduledLock.lockAtLeastFor();
+            this.lockKey = SCHEDULED_LOCK_KEY_PREFIX + name;
+            this.executedKey = lockKey + ":executed";
+            this.statsKey = lockKey + ":stats";
+        }
+
+    }
+
+}
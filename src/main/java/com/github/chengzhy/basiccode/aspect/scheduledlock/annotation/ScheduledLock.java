@@ -0,0 +1,74 @@
+package com.github.chengzhy.basiccode.aspect.scheduledlock.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 定时任务分布式锁注解
+ * <p>与{@code @Scheduled}一起使用，多个节点同时触发同一个定时任务时只有一个节点执行，其它节点跳过本次触发
+ *
+ * @author chengzhy
+ * @date 2026/10/18 22:30
+ */
+@Documented
+@Inherited
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ScheduledLock {
+
+    /**
+     * 任务名称
+     * <p>为空时使用默认名称：全限定类名 + "." + 方法名，不同包下的同名类同名方法互不影响
+     *
+     * @author chengzhy
+     * @date 2026/10/18 22:30
+     * @return 锁key格式为 "ScheduledLock:" + name，默认为""
+     */
+    String name() default "";
+
+    /**
+     * 执行语义
+     *
+     * @author chengzhy
+     * @date 2026/10/18 22:30
+     * @return 执行语义，默认为AT_MOST_ONCE
+     */
+    Mode mode() default Mode.AT_MOST_ONCE;
+
+    /**
+     * 锁租期 单位：秒
+     * <p>只对AT_MOST_ONCE有效，须大于任务的最长执行时间；执行节点宕机时该时间之后锁才释放
+     *
+     * @author chengzhy
+     * @date 2026/10/18 22:30
+     * @return 锁租期，默认为60秒
+     */
+    long leaseTime() default 60L;
+
+    /**
+     * 执行完成后至少保持的时间 单位：毫秒
+     * <p>各节点的时钟和触发时间有偏差，任务很快执行完成时，触发稍晚的节点在该时间内不会再次执行同一次触发；
+     * 须小于任务的触发间隔
+     *
+     * @author chengzhy
+     * @date 2026/10/18 22:30
+     * @return 保持时间，默认为1000毫秒
+     */
+    long lockAtLeastFor() default 1000L;
+
+    /**
+     * 执行语义
+     */
+    enum Mode {
+        /**
+         * 每次触发最多执行一次：开始执行前即标记为已执行，锁租期固定(不续期)；
+         * 执行失败或执行节点宕机时本次触发不再执行，redis不可用时所有节点都跳过
+         */
+        AT_MOST_ONCE,
+        /**
+         * 每次触发至少执行一次：执行成功后才标记为已执行，锁在执行期间自动续期；
+         * 执行失败时立即释放锁，触发稍晚的节点可以重新执行，redis不可用时在本节点执行
+         */
+        AT_LEAST_ONCE
+    }
+
+}
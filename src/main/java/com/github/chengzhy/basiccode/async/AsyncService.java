@@ -1,9 +1,49 @@
 package com.github.chengzhy.basiccode.async;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
 /**
  * 异步调用Service
  * @author chengzhy
  * @date 2021/9/9 9:15
  */
 public interface AsyncService {
+
+    /**
+     * 在批处理线程池(work-stealing的ForkJoinPool，与defaultExecutor隔离)上并行处理大集合
+     * <ul>
+     *     <li>按批提交，批次大小根据单个元素的耗时自适应调整</li>
+     *     <li>同时在执行的批次数有上限，提交方不会一次性把全部元素压入线程池</li>
+     *     <li>单个元素处理失败不影响其它元素，失败信息按元素收集</li>
+     *     <li>取消返回的future后，正在执行的批次处理完当前元素即停止，剩余元素不再处理</li>
+     * </ul>
+     * 只有一批时直接在调用线程执行
+     *
+     * @author chengzhy
+     * @param items 待处理元素
+     * @param processor 单个元素的处理逻辑，须线程安全
+     * @param options 批处理参数
+     * @date 2026/10/18 21:30
+     * @return 处理结果
+     */
+    <T, R> CompletableFuture<BatchResult<R>> submitBatch(Collection<? extends T> items,
+                                                         Function<? super T, ? extends R> processor,
+                                                         BatchOptions options);
+
+    /**
+     * 并行处理大集合并等待完成，调用线程被中断时取消剩余元素的处理
+     *
+     * @author chengzhy
+     * @param items 待处理元素
+     * @param processor 单个元素的处理逻辑，须线程安全
+     * @param options 批处理参数
+     * @date 2026/10/18 21:30
+     * @return 处理结果
+     * @see #submitBatch(Collection, Function, BatchOptions)
+     */
+    <T, R> BatchResult<R> processBatch(Collection<? extends T> items, Function<? super T, ? extends R> processor,
+                                       BatchOptions options);
+
 }
@@ -0,0 +1,42 @@
+package com.github.chengzhy.basiccode.async;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 并行批处理参数
+ *
+ * @author chengzhy
+ * @date 2026/10/18 21:30
+ */
+@Getter
+@Setter
+public class BatchOptions {
+
+    /**
+     * 每批最少的元素个数
+     */
+    private int minChunkSize = 16;
+
+    /**
+     * 每批最多的元素个数
+     */
+    private int maxChunkSize = 4096;
+
+    /**
+     * 每批的目标耗时，单位：毫秒。根据已完成批次的单个元素耗时调整后续批次的大小，
+     * 使每批耗时接近该值：批次太小调度开销占比高，太大则各线程负载不均
+     */
+    private long targetChunkMillis = 20L;
+
+    /**
+     * 同时在执行(含排队)的最多批次数，小于等于0时为线程池并行度的2倍
+     */
+    private int maxInFlightChunks;
+
+    /**
+     * 失败元素达到该数量后不再处理剩余元素，小于等于0时不限制
+     */
+    private int maxErrors;
+
+}
@@ -0,0 +1,80 @@
+package com.github.chengzhy.basiccode.async;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 并行批处理结果
+ *
+ * @author chengzhy
+ * @date 2026/10/18 21:30
+ */
+@Getter
+@AllArgsConstructor
+public class BatchResult<R> {
+
+    /**
+     * 元素总数
+     */
+    private final int total;
+
+    /**
+     * 处理成功的元素个数
+     */
+    private final int succeeded;
+
+    /**
+     * 处理失败的元素个数
+     */
+    private final int failed;
+
+    /**
+     * 是否因失败数达到{@link BatchOptions#getMaxErrors() maxErrors}而提前结束(剩余元素未处理)
+     */
+    private final boolean aborted;
+
+    /**
+     * 总耗时，单位：毫秒
+     */
+    private final long costMillis;
+
+    /**
+     * 与输入顺序一一对应的处理结果，失败或未处理的元素对应null
+     */
+    private final List<R> results;
+
+    /**
+     * 按元素下标排序的失败信息
+     */
+    private final List<ItemError> errors;
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    /**
+     * 单个元素的失败信息
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ItemError {
+
+        /**
+         * 元素在输入中的下标，从0开始
+         */
+        private final int index;
+
+        /**
+         * 失败原因
+         */
+        private final String message;
+
+        @JsonIgnore
+        private final Throwable cause;
+
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.github.chengzhy.basiccode.async;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 带有优先级和租户的任务，提交时在调用线程创建
+ *
+ * @author chengzhy
+ * @date 2026/10/18 22:00
+ */
+final class ClassifiedTask implements Runnable {
+
+    private final Runnable delegate;
+
+    private final TaskPriority priority;
+
+    private final String tenant;
+
+    /**
+     * 排队等待时间，为null时不记录
+     */
+    @Nullable
+    private final Timer waitTimer;
+
+    private final long submitNanos = System.nanoTime();
+
+    ClassifiedTask(Runnable delegate, TaskPriority priority, String tenant, @Nullable Timer waitTimer) {
+        this.delegate = delegate;
+        this.priority = priority;
+        this.tenant = tenant;
+        this.waitTimer = waitTimer;
+    }
+
+    TaskPriority getPriority() {
+        return priority;
+    }
+
+    String getTenant() {
+        return tenant;
+    }
+
+    @Override
+    public void run() {
+        if (waitTimer != null) {
+            waitTimer.record(System.nanoTime() - submitNanos, TimeUnit.NANOSECONDS);
+        }
+        delegate.run();
+    }
+
+}
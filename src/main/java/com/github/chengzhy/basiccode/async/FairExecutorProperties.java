@@ -0,0 +1,45 @@
+package com.github.chengzhy.basiccode.async;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 公平调度线程池配置({@code executor.fair})
+ *
+ * @author chengzhy
+ * @date 2026/10/18 22:00
+ */
+@Getter
+@Setter
+public class FairExecutorProperties {
+
+    /**
+     * 线程数(核心线程数与最大线程数相同)
+     */
+    private int poolSize;
+
+    /**
+     * 缓冲队列总容量
+     */
+    private int queueCapacity = 1024;
+
+    /**
+     * 单个租户在每个优先级中最多排队的任务数
+     */
+    private int maxQueuedPerTenant = 256;
+
+    /**
+     * 各优先级的权重：轮到某个优先级时最多连续出队的任务数
+     */
+    private Map<TaskPriority, Integer> weights = new EnumMap<>(TaskPriority.class);
+
+    public FairExecutorProperties() {
+        weights.put(TaskPriority.HIGH, 8);
+        weights.put(TaskPriority.NORMAL, 4);
+        weights.put(TaskPriority.LOW, 1);
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.github.chengzhy.basiccode.async;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 按优先级和租户公平调度的线程池({@code @Async("fairExecutor")}或{@code @FairAsync})
+ *
+ * <p>缓冲队列为{@link FairTaskQueue}：各优先级按权重轮流出队，同一优先级内各租户轮流出队。
+ * 任务的优先级和租户在提交时确定：
+ * <ul>
+ *     <li>通过{@link #execute(Runnable, TaskPriority, String)}等方法显式指定</li>
+ *     <li>直接{@code execute}/{@code @Async("fairExecutor")}提交的任务为{@link TaskPriority#NORMAL}和默认租户</li>
+ * </ul>
+ * 只有任务进入缓冲队列时调度策略才生效，所以核心线程数与最大线程数应相同
+ *
+ * @author chengzhy
+ * @date 2026/10/18 22:00
+ */
+@SuppressWarnings("serial")
+public class FairTaskExecutor extends VisiableThreadPoolTaskExecutor {
+
+    private static final String METRIC_QUEUE_DEPTH = "executor.fair.queue.depth";
+
+    private static final String METRIC_QUEUE_TENANTS = "executor.fair.queue.tenants";
+
+    private static final String METRIC_TASK_WAIT = "executor.fair.task.wait";
+
+    /**
+     * 当前线程正在提交的任务的分类，只在提交方法内有值
+     */
+    private static final ThreadLocal<TaskClass> SUBMITTING_TASK_CLASS = new ThreadLocal<>();
+
+    private static final TaskClass DEFAULT_TASK_CLASS = new TaskClass(TaskPriority.NORMAL,
+            FairTaskQueue.DEFAULT_TENANT);
+
+    private Map<TaskPriority, Integer> weights = new EnumMap<>(TaskPriority.class);
+
+    private int maxQueuedPerTenant = Integer.MAX_VALUE;
+
+    /**
+     * 各优先级的排队等待时间，注册指标后才有值
+     */
+    private final Timer[] taskWaitTimers = new Timer[TaskPriority.values().length];
+
+    public FairTaskExecutor() {
+        super(VisibleMode.METRICS);
+    }
+
+    /**
+     * 各优先级的权重，未设置的优先级权重为1
+     *
+     * @author chengzhy
+     * @param weights 优先级-权重
+     * @date 2026/10/18 22:00
+     */
+    public void setWeights(Map<TaskPriority, Integer> weights) {
+        this.weights = new EnumMap<>(weights);
+    }
+
+    /**
+     * 单个租户在每个优先级中最多排队的任务数
+     *
+     * @author chengzhy
+     * @param maxQueuedPerTenant 任务数
+     * @date 2026/10/18 22:00
+     */
+    public void setMaxQueuedPerTenant(int maxQueuedPerTenant) {
+        this.maxQueuedPerTenant = maxQueuedPerTenant;
+    }
+
+    /**
+     * 按指定优先级和租户提交任务
+     *
+     * @author chengzhy
+     * @param task 任务
+     * @param priority 优先级
+     * @param tenant 租户，为空时为默认租户
+     * @date 2026/10/18 22:00
+     */
+    public void execute(Runnable task, TaskPriority priority, @Nullable String tenant) {
+        TaskClass previous = enter(priority, tenant);
+        try {
+            execute(task);
+        } finally {
+            exit(previous);
+        }
+    }
+
+    /**
+     * 按指定优先级和租户提交任务
+     *
+     * @author chengzhy
+     * @param task 任务
+     * @param priority 优先级
+     * @param tenant 租户，为空时为默认租户
+     * @date 2026/10/18 22:00
+     * @return Future
+     */
+    public <T> Future<T> submit(Callable<T> task, TaskPriority priority, @Nullable String tenant) {
+        TaskClass previous = enter(priority, tenant);
+        try {
+            return submit(task);
+        } finally {
+            exit(previous);
+        }
+    }
+
+    /**
+     * 按指定优先级和租户提交任务
+     *
+     * @author chengzhy
+     * @param task 任务
+     * @param priority 优先级
+     * @param tenant 租户，为空时为默认租户
+     * @date 2026/10/18 22:00
+     * @return ListenableFuture
+     */
+    public <T> ListenableFuture<T> submitListenable(Callable<T> task, TaskPriority priority,
+                                                    @Nullable String tenant) {
+        TaskClass previous = enter(priority, tenant);
+        try {
+            return submitListenable(task);
+        } finally {
+            exit(previous);
+        }
+    }
+
+    @Override
+    protected BlockingQueue<Runnable> createQueue(int queueCapacity) {
+        return new FairTaskQueue(queueCapacity, maxQueuedPerTenant, weights);
+    }
+
+    @Override
+    protected Runnable wrapTask(Runnable task) {
+        TaskClass taskClass = SUBMITTING_TASK_CLASS.get();
+        if (taskClass == null) {
+            taskClass = DEFAULT_TASK_CLASS;
+        }
+        return new ClassifiedTask(task, taskClass.priority, taskClass.tenant,
+                taskWaitTimers[taskClass.priority.ordinal()]);
+    }
+
+    /**
+     * 注册线程池指标，另外按优先级注册排队任务数、排队租户数和排队等待时间
+     *
+     * @author chengzhy
+     * @param registry {@link MeterRegistry}
+     * @date 2026/10/18 22:00
+     */
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        super.bindTo(registry);
+        ThreadPoolExecutor threadPoolExecutor = getThreadPoolExecutor();
+        FairTaskQueue queue = (FairTaskQueue) threadPoolExecutor.getQueue();
+        String name = getPoolName();
+        for (TaskPriority priority : TaskPriority.values()) {
+            String priorityTag = priority.name().toLowerCase();
+            Gauge.builder(METRIC_QUEUE_DEPTH, queue, q -> q.size(priority))
+                    .tags("name", name, "priority", priorityTag)
+                    .description("各优先级排队的任务数")
+                    .register(registry);
+            Gauge.builder(METRIC_QUEUE_TENANTS, queue, q -> q.tenantCount(priority))
+                    .tags("name", name, "priority", priorityTag)
+                    .description("各优先级中有任务排队的租户数")
+                    .register(registry);
+            taskWaitTimers[priority.ordinal()] = Timer.builder(METRIC_TASK_WAIT)
+                    .tags("name", name, "priority", priorityTag)
+                    .description("各优先级任务在队列中的等待时间")
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+
+    private static TaskClass enter(TaskPriority priority, @Nullable String tenant) {
+        TaskClass previous = SUBMITTING_TASK_CLASS.get();
+        SUBMITTING_TASK_CLASS.set(new TaskClass(priority,
+                StringUtils.isBlank(tenant) ? FairTaskQueue.DEFAULT_TENANT : tenant));
+        return previous;
+    }
+
+    private static void exit(@Nullable TaskClass previous) {
+        if (previous == null) {
+            SUBMITTING_TASK_CLASS.remove();
+        } else {
+            SUBMITTING_TASK_CLASS.set(previous);
+        }
+    }
+
+    private static final class TaskClass {
+
+        private final TaskPriority priority;
+
+        private final String tenant;
+
+        private TaskClass(TaskPriority priority, String tenant) {
+            this.priority = priority;
+            this.tenant = tenant;
+        }
+
+    }
+
+}
@@ -0,0 +1,413 @@
+package com.github.chengzhy.basiccode.async;
+
+import org.springframework.util.Assert;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 按优先级加权、按租户公平出队的阻塞队列
+ *
+ * <p>两级调度：
+ * <ul>
+ *     <li>优先级之间使用deficit round robin：轮到某个优先级时最多连续出队"权重"个任务，
+ *     该优先级为空时立即轮到下一个，所以只有高优先级任务时不受权重限制</li>
+ *     <li>同一优先级内各租户轮流出队，每次一个任务，突发提交大量任务的租户不会拖慢其它租户</li>
+ * </ul>
+ * 除总容量外还限制单个租户在每个优先级中排队的任务数，超过时入队失败(由线程池的拒绝策略处理)。
+ * 不是{@link ClassifiedTask}的任务按{@link TaskPriority#NORMAL}和默认租户处理
+ *
+ * @author chengzhy
+ * @date 2026/10/18 22:00
+ */
+public class FairTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    private final int capacity;
+
+    private final int maxQueuedPerTenant;
+
+    private final Lane[] lanes = new Lane[PRIORITIES.length];
+
+    private int count;
+
+    /**
+     * 当前轮到的优先级
+     */
+    private int currentLane;
+
+    /**
+     * 当前优先级本轮还可以出队的任务数
+     */
+    private int deficit;
+
+    /**
+     * @param capacity 总容量
+     * @param maxQueuedPerTenant 单个租户在每个优先级中最多排队的任务数
+     * @param weights 各优先级的权重，key缺失时为1
+     */
+    public FairTaskQueue(int capacity, int maxQueuedPerTenant, Map<TaskPriority, Integer> weights) {
+        Assert.isTrue(capacity > 0, "queue capacity必须大于0");
+        Assert.isTrue(maxQueuedPerTenant > 0, "maxQueuedPerTenant必须大于0");
+        this.capacity = capacity;
+        this.maxQueuedPerTenant = maxQueuedPerTenant;
+        for (TaskPriority priority : PRIORITIES) {
+            Integer weight = weights.get(priority);
+            Assert.isTrue(weight == null || weight > 0, () -> priority + "的权重必须大于0");
+            lanes[priority.ordinal()] = new Lane(weight == null ? 1 : weight);
+        }
+        this.deficit = lanes[0].weight;
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        Assert.notNull(task, "task不能为空");
+        lock.lock();
+        try {
+            return enqueue(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 已满时不等待空位，与ThreadPoolExecutor的使用方式一致
+     */
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) {
+        return offer(task);
+    }
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        Assert.notNull(task, "task不能为空");
+        lock.lockInterruptibly();
+        try {
+            while (!enqueue(task)) {
+                notFull.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return count == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            for (int i = 0; i < lanes.length; i++) {
+                Lane lane = lanes[(currentLane + i) % lanes.length];
+                if (lane.size > 0) {
+                    return lane.peek();
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            for (Lane lane : lanes) {
+                if (lane.remove(o)) {
+                    count--;
+                    notFull.signal();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size());
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        Assert.isTrue(c != this, "不能drain到自身");
+        lock.lock();
+        try {
+            int n = 0;
+            while (count > 0 && n < maxElements) {
+                c.add(dequeue());
+                n++;
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 快照迭代器，按优先级、租户排列(不是出队顺序)
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Runnable> snapshot = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Lane lane : lanes) {
+                lane.addAllTo(snapshot);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new Iterator<Runnable>() {
+
+            private int cursor;
+
+            private Runnable last;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < snapshot.size();
+            }
+
+            @Override
+            public Runnable next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = snapshot.get(cursor++);
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                Assert.state(last != null, "next()未调用");
+                FairTaskQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    /**
+     * 某个优先级排队的任务数
+     *
+     * @author chengzhy
+     * @param priority 优先级
+     * @date 2026/10/18 22:00
+     * @return 任务数
+     */
+    public int size(TaskPriority priority) {
+        lock.lock();
+        try {
+            return lanes[priority.ordinal()].size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 某个优先级中有任务排队的租户数
+     *
+     * @author chengzhy
+     * @param priority 优先级
+     * @date 2026/10/18 22:00
+     * @return 租户数
+     */
+    public int tenantCount(TaskPriority priority) {
+        lock.lock();
+        try {
+            return lanes[priority.ordinal()].tenantQueues.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean enqueue(Runnable task) {
+        if (count >= capacity) {
+            return false;
+        }
+        TaskPriority priority = TaskPriority.NORMAL;
+        String tenant = DEFAULT_TENANT;
+        if (task instanceof ClassifiedTask) {
+            priority = ((ClassifiedTask) task).getPriority();
+            tenant = ((ClassifiedTask) task).getTenant();
+        }
+        if (!lanes[priority.ordinal()].offer(task, tenant, maxQueuedPerTenant)) {
+            return false;
+        }
+        count++;
+        notEmpty.signal();
+        return true;
+    }
+
+    /**
+     * 出队，调用前须持有锁且count > 0
+     */
+    private Runnable dequeue() {
+        for (;;) {
+            Lane lane = lanes[currentLane];
+            if (lane.size > 0 && deficit > 0) {
+                deficit--;
+                count--;
+                notFull.signal();
+                return lane.poll();
+            }
+            currentLane = (currentLane + 1) % lanes.length;
+            deficit = lanes[currentLane].weight;
+        }
+    }
+
+    /**
+     * 一个优先级的任务，按租户分队列
+     */
+    private static final class Lane {
+
+        private final int weight;
+
+        private final Map<String, ArrayDeque<Runnable>> tenantQueues = new HashMap<>();
+
+        /**
+         * 有任务排队的租户，按轮到的顺序排列
+         */
+        private final ArrayDeque<String> activeTenants = new ArrayDeque<>();
+
+        private int size;
+
+        private Lane(int weight) {
+            this.weight = weight;
+        }
+
+        private boolean offer(Runnable task, String tenant, int maxQueuedPerTenant) {
+            ArrayDeque<Runnable> queue = tenantQueues.get(tenant);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                tenantQueues.put(tenant, queue);
+                activeTenants.addLast(tenant);
+            } else if (queue.size() >= maxQueuedPerTenant) {
+                return false;
+            }
+            queue.addLast(task);
+            size++;
+            return true;
+        }
+
+        private Runnable poll() {
+            String tenant = activeTenants.pollFirst();
+            ArrayDeque<Runnable> queue = tenantQueues.get(tenant);
+            Runnable task = queue.pollFirst();
+            if (queue.isEmpty()) {
+                tenantQueues.remove(tenant);
+            } else {
+                activeTenants.addLast(tenant);
+            }
+            size--;
+            return task;
+        }
+
+        private Runnable peek() {
+            return tenantQueues.get(activeTenants.peekFirst()).peekFirst();
+        }
+
+        private boolean remove(Object task) {
+            Iterator<Map.Entry<String, ArrayDeque<Runnable>>> iterator = tenantQueues.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, ArrayDeque<Runnable>> entry = iterator.next();
+                if (entry.getValue().remove(task)) {
+                    if (entry.getValue().isEmpty()) {
+                        iterator.remove();
+                        activeTenants.remove(entry.getKey());
+                    }
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void addAllTo(List<Runnable> tasks) {
+            for (ArrayDeque<Runnable> queue : tenantQueues.values()) {
+                tasks.addAll(queue);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.github.chengzhy.basiccode.async;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * io线程池配置({@code executor.io})
+ *
+ * @author chengzhy
+ * @date 2026/10/18 21:00
+ */
+@Getter
+@Setter
+public class IoExecutorProperties {
+
+    /**
+     * 线程池类型
+     */
+    private Mode mode = Mode.ELASTIC;
+
+    /**
+     * 最大并发任务数，用于保护下游资源(数据库连接池、redis连接等)
+     */
+    private int maxConcurrency = 200;
+
+    /**
+     * ELASTIC方式的缓冲队列容量，满了之后拒绝任务(不在调用线程执行)
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * ELASTIC方式线程的空闲时间，单位：秒
+     */
+    private int keepAliveSeconds = 60;
+
+    public enum Mode {
+        /**
+         * 弹性线程池：线程数在0到maxConcurrency之间按需创建，空闲超时后回收
+         */
+        ELASTIC,
+        /**
+         * 虚拟线程(需要JDK 21及以上，低版本自动退化为ELASTIC)：每个任务一个虚拟线程，信号量限制并发数
+         */
+        VIRTUAL
+    }
+
+}
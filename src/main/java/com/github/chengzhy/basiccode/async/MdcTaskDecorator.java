@@ -0,0 +1,41 @@
+package com.github.chengzhy.basiccode.async;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+
+import java.util.Map;
+
+/**
+ * MDC传递
+ * <p>提交任务时复制调用线程的MDC，执行时设置到执行线程，执行完成后恢复执行线程原来的MDC，
+ * 使异步任务的日志带有与调用方相同的上下文(如traceId)
+ *
+ * @author chengzhy
+ * @date 2026/10/18 21:00
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @NonNull
+    @Override
+    public Runnable decorate(@NonNull Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context == null || context.isEmpty()) {
+            return runnable;
+        }
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(context);
+            try {
+                runnable.run();
+            } finally {
+                if (previous == null) {
+                    MDC.clear();
+                } else {
+                    MDC.setContextMap(previous);
+                }
+            }
+        };
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.github.chengzhy.basiccode.async;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 容量可动态调整的阻塞队列
+ *
+ * <p>{@link LinkedBlockingQueue}的容量不可修改，这里使用无界队列并在入队时检查容量。
+ * 容量检查与入队不是原子操作，并发入队时队列长度可能短暂超过容量几个元素；
+ * 调小容量时已在队列中的任务不受影响，只拒绝新任务直到队列长度降到容量以下
+ *
+ * @author chengzhy
+ * @date 2026/10/18 20:45
+ */
+@SuppressWarnings("serial")
+public class ResizableCapacityLinkedBlockingQueue<E> extends LinkedBlockingQueue<E> {
+
+    private volatile int capacity;
+
+    public ResizableCapacityLinkedBlockingQueue(int capacity) {
+        super(Integer.MAX_VALUE);
+        setCapacity(capacity);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        Assert.isTrue(capacity > 0, "queue capacity必须大于0");
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        return size() < capacity && super.offer(e);
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (size() < capacity) {
+            return super.offer(e, timeout, unit);
+        }
+        // 已满时不等待空位，与ThreadPoolExecutor的使用方式一致
+        return false;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size());
+    }
+
+}
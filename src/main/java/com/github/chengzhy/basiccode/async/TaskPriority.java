@@ -0,0 +1,23 @@
+package com.github.chengzhy.basiccode.async;
+
+/**
+ * 任务优先级
+ * <p>{@link FairTaskExecutor}按各优先级的权重轮流出队，低优先级任务只是得到更少的执行机会，不会被饿死
+ *
+ * @author chengzhy
+ * @date 2026/10/18 22:00
+ */
+public enum TaskPriority {
+    /**
+     * 延迟敏感的任务(如请求链路上的异步调用)
+     */
+    HIGH,
+    /**
+     * 普通任务
+     */
+    NORMAL,
+    /**
+     * 后台任务(如批量同步、统计)
+     */
+    LOW
+}
@@ -0,0 +1,42 @@
+package com.github.chengzhy.basiccode.async;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 线程池配置
+ * <p>从{@code executor.<线程池名称>}绑定，修改nacos配置后无需重启即可调整线程数和队列容量
+ *
+ * @author chengzhy
+ * @date 2026/10/18 20:45
+ */
+@Getter
+@Setter
+public class ThreadPoolProperties {
+
+    /**
+     * 核心线程数
+     */
+    private int corePoolSize;
+
+    /**
+     * 最大线程数
+     */
+    private int maxPoolSize;
+
+    /**
+     * 缓冲队列容量
+     */
+    private int queueCapacity;
+
+    /**
+     * 非核心线程的空闲时间，单位：秒
+     */
+    private int keepAliveSeconds = 60;
+
+    /**
+     * 线程池状态输出方式
+     */
+    private VisiableThreadPoolTaskExecutor.VisibleMode visibleMode = VisiableThreadPoolTaskExecutor.VisibleMode.METRICS;
+
+}
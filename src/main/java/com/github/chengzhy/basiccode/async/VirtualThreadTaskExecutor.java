@@ -0,0 +1,117 @@
+package com.github.chengzhy.basiccode.async;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 虚拟线程执行器
+ *
+ * <p>每个任务一个虚拟线程，阻塞io时不占用平台线程；虚拟线程数量不受限制，
+ * 因此在虚拟线程内获取信号量限制同时执行的任务数(等待信号量的虚拟线程只是挂起，不占用平台线程)。
+ * 项目以Java 8编译，虚拟线程相关API通过反射调用
+ *
+ * @author chengzhy
+ * @date 2026/10/18 21:00
+ */
+@Slf4j
+public class VirtualThreadTaskExecutor implements TaskExecutor, DisposableBean {
+
+    private final ExecutorService executorService;
+
+    private final Semaphore semaphore;
+
+    @Nullable
+    private final TaskDecorator taskDecorator;
+
+    private VirtualThreadTaskExecutor(ExecutorService executorService, int maxConcurrency,
+                                      @Nullable TaskDecorator taskDecorator) {
+        Assert.isTrue(maxConcurrency > 0, "maxConcurrency必须大于0");
+        this.executorService = executorService;
+        this.semaphore = new Semaphore(maxConcurrency);
+        this.taskDecorator = taskDecorator;
+    }
+
+    /**
+     * 创建虚拟线程执行器
+     *
+     * @author chengzhy
+     * @param threadNamePrefix 线程名前缀
+     * @param maxConcurrency 最大并发任务数
+     * @param taskDecorator 任务装饰器
+     * @date 2026/10/18 21:00
+     * @return 虚拟线程执行器，当前JDK不支持虚拟线程时返回null
+     */
+    @Nullable
+    public static VirtualThreadTaskExecutor create(String threadNamePrefix, int maxConcurrency,
+                                                   @Nullable TaskDecorator taskDecorator) {
+        try {
+            // Thread.ofVirtual().name(prefix, 0).factory()
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            // Executors.newThreadPerTaskExecutor(threadFactory)
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            ExecutorService executorService = (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+            return new VirtualThreadTaskExecutor(executorService, maxConcurrency, taskDecorator);
+        } catch (ReflectiveOperationException e) {
+            log.warn("当前JDK[{}]不支持虚拟线程", System.getProperty("java.version"));
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Runnable decorated = (taskDecorator != null) ? taskDecorator.decorate(task) : task;
+        try {
+            executorService.execute(() -> {
+                try {
+                    semaphore.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    decorated.run();
+                } finally {
+                    semaphore.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new TaskRejectedException("虚拟线程执行器已关闭，拒绝任务：" + task, e);
+        }
+    }
+
+    /**
+     * 正在等待执行的任务数
+     *
+     * @author chengzhy
+     * @date 2026/10/18 21:00
+     * @return 等待信号量的任务数(近似值)
+     */
+    public int getQueuedTaskCount() {
+        return semaphore.getQueueLength();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executorService.shutdown();
+        if (!executorService.awaitTermination(30L, TimeUnit.SECONDS)) {
+            executorService.shutdownNow();
+        }
+    }
+
+}
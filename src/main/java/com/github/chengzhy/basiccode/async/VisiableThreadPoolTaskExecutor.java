@@ -1,28 +1,83 @@
 package com.github.chengzhy.basiccode.async;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.Assert;
 import org.springframework.util.concurrent.ListenableFuture;
 
+import java.util.Collections;
 import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 可视线程池
+ *
+ * <p>两种状态输出方式：
+ * <ul>
+ *     <li>{@link VisibleMode#LOG}：每次提交任务时打印线程池状态日志(原有方式，高并发时日志本身会成为瓶颈)</li>
+ *     <li>{@link VisibleMode#METRICS}：通过{@link #bindTo(MeterRegistry)}注册micrometer指标，提交任务时不打印日志。
+ *     线程数、队列长度、完成任务数等为采样gauge，另外记录拒绝次数、任务排队等待时间和执行时间</li>
+ * </ul>
+ * 缓冲队列容量可以通过{@link #resize(int, int, int)}动态调整
+ *
  * @author chengzhy
  * @date 2021/9/9 9:20
  */
 @SuppressWarnings("serial")
 @Slf4j
-public class VisiableThreadPoolTaskExecutor extends ThreadPoolTaskExecutor {
+public class VisiableThreadPoolTaskExecutor extends ThreadPoolTaskExecutor implements MeterBinder {
+
+    private static final String METRIC_REJECTED = "executor.rejected";
+
+    private static final String METRIC_TASK_WAIT = "executor.task.wait";
+
+    private static final String METRIC_TASK_RUN = "executor.task.run";
+
+    private final VisibleMode visibleMode;
+
+    @Nullable
+    private TaskDecorator taskDecorator;
+
+    private int queueCapacity = Integer.MAX_VALUE;
+
+    @Nullable
+    private volatile Counter rejectedCounter;
+
+    @Nullable
+    private volatile Timer taskWaitTimer;
+
+    @Nullable
+    private volatile Timer taskRunTimer;
 
     public VisiableThreadPoolTaskExecutor() {
+        this(VisibleMode.LOG);
+    }
+
+    public VisiableThreadPoolTaskExecutor(VisibleMode visibleMode) {
         super();
+        this.visibleMode = visibleMode;
     }
 
     private void showThreadPoolInfo() {
+        if (visibleMode != VisibleMode.LOG) {
+            return;
+        }
         ThreadPoolExecutor threadPoolExecutor = getThreadPoolExecutor();
         if (Objects.nonNull(threadPoolExecutor)) {
             log.info("{}, 已提交的任务数[{}], 已完成的任务数[{}], 正在执行任务的线程数[{}], 队列中的任务数[{}], 线程池中当前线程数[{}], 创建过的最大线程数[{}]",
@@ -36,6 +91,142 @@ public class VisiableThreadPoolTaskExecutor extends ThreadPoolTaskExecutor {
         }
     }
 
+    @Override
+    public void setTaskDecorator(TaskDecorator taskDecorator) {
+        this.taskDecorator = taskDecorator;
+    }
+
+    @Override
+    public void setQueueCapacity(int queueCapacity) {
+        super.setQueueCapacity(queueCapacity);
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    protected ExecutorService initializeExecutor(ThreadFactory threadFactory,
+                                                 RejectedExecutionHandler rejectedExecutionHandler) {
+        if (visibleMode == VisibleMode.METRICS) {
+            super.setTaskDecorator(task -> wrapTask(decorate(task)));
+            RejectedExecutionHandler delegate = rejectedExecutionHandler;
+            rejectedExecutionHandler = (task, executor) -> {
+                Counter counter = rejectedCounter;
+                if (counter != null) {
+                    counter.increment();
+                }
+                delegate.rejectedExecution(task, executor);
+            };
+        } else {
+            TaskDecorator decorator = taskDecorator;
+            super.setTaskDecorator(decorator == null ? this::wrapTask : task -> wrapTask(decorator.decorate(task)));
+        }
+        return super.initializeExecutor(threadFactory, rejectedExecutionHandler);
+    }
+
+    @Override
+    protected BlockingQueue<Runnable> createQueue(int queueCapacity) {
+        return (queueCapacity > 0 && queueCapacity < Integer.MAX_VALUE)
+                ? new ResizableCapacityLinkedBlockingQueue<>(queueCapacity) : super.createQueue(queueCapacity);
+    }
+
+    /**
+     * 注册线程池指标(仅{@link VisibleMode#METRICS}方式)，需要在{@link #initialize()}之后调用
+     *
+     * @author chengzhy
+     * @param registry {@link MeterRegistry}
+     * @date 2026/10/18 20:45
+     */
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        if (visibleMode != VisibleMode.METRICS) {
+            return;
+        }
+        String name = getPoolName();
+        Iterable<Tag> tags = Collections.singletonList(Tag.of("name", name));
+        new ExecutorServiceMetrics(getThreadPoolExecutor(), name, Collections.emptyList()).bindTo(registry);
+        rejectedCounter = Counter.builder(METRIC_REJECTED)
+                .tags(tags)
+                .description("线程池拒绝的任务数")
+                .register(registry);
+        taskWaitTimer = Timer.builder(METRIC_TASK_WAIT)
+                .tags(tags)
+                .description("任务在队列中的等待时间")
+                .publishPercentileHistogram()
+                .register(registry);
+        taskRunTimer = Timer.builder(METRIC_TASK_RUN)
+                .tags(tags)
+                .description("任务执行时间")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * 动态调整线程数和缓冲队列容量
+     *
+     * @author chengzhy
+     * @param corePoolSize 核心线程数
+     * @param maxPoolSize 最大线程数
+     * @param queueCapacity 缓冲队列容量(只有初始容量为有限值时才能调整)
+     * @date 2026/10/18 20:45
+     */
+    public synchronized void resize(int corePoolSize, int maxPoolSize, int queueCapacity) {
+        Assert.isTrue(corePoolSize > 0 && maxPoolSize >= corePoolSize,
+                () -> getPoolName() + "线程数配置错误：core=" + corePoolSize + ", max=" + maxPoolSize);
+        // ThreadPoolExecutor要求任意时刻core <= max，扩大时先调整max，缩小时先调整core
+        if (corePoolSize > getMaxPoolSize()) {
+            setMaxPoolSize(maxPoolSize);
+            setCorePoolSize(corePoolSize);
+        } else {
+            setCorePoolSize(corePoolSize);
+            setMaxPoolSize(maxPoolSize);
+        }
+        ThreadPoolExecutor threadPoolExecutor = getThreadPoolExecutor();
+        if (queueCapacity != this.queueCapacity
+                && threadPoolExecutor.getQueue() instanceof ResizableCapacityLinkedBlockingQueue) {
+            ((ResizableCapacityLinkedBlockingQueue<Runnable>) threadPoolExecutor.getQueue()).setCapacity(queueCapacity);
+            this.queueCapacity = queueCapacity;
+        }
+        log.info("{}线程池已调整: core[{}], max[{}], queueCapacity[{}]", getPoolName(), getCorePoolSize(),
+                getMaxPoolSize(), this.queueCapacity);
+    }
+
+    /**
+     * 在调用线程中对装饰后的任务做最外层包装，包装后的任务即为进入缓冲队列的任务，默认不包装
+     *
+     * @author chengzhy
+     * @param task 装饰后的任务
+     * @date 2026/10/18 22:00
+     * @return 包装后的任务
+     */
+    protected Runnable wrapTask(Runnable task) {
+        return task;
+    }
+
+    private Runnable decorate(Runnable task) {
+        Runnable decorated = (taskDecorator != null) ? taskDecorator.decorate(task) : task;
+        long submitNanos = System.nanoTime();
+        return () -> {
+            long startNanos = System.nanoTime();
+            Timer waitTimer = taskWaitTimer;
+            if (waitTimer != null) {
+                waitTimer.record(startNanos - submitNanos, TimeUnit.NANOSECONDS);
+            }
+            try {
+                decorated.run();
+            } finally {
+                Timer runTimer = taskRunTimer;
+                if (runTimer != null) {
+                    runTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        };
+    }
+
+    protected String getPoolName() {
+        String threadNamePrefix = getThreadNamePrefix();
+        return threadNamePrefix.endsWith("-") ? threadNamePrefix.substring(0, threadNamePrefix.length() - 1)
+                : threadNamePrefix;
+    }
+
     @Override
     public void execute(Runnable task) {
         showThreadPoolInfo();
@@ -72,4 +263,18 @@ public class VisiableThreadPoolTaskExecutor extends ThreadPoolTaskExecutor {
         return super.submitListenable(task);
     }
 
+    /**
+     * 线程池状态输出方式
+     */
+    public enum VisibleMode {
+        /**
+         * 每次提交任务时打印日志
+         */
+        LOG,
+        /**
+         * 注册micrometer指标
+         */
+        METRICS
+    }
+
 }
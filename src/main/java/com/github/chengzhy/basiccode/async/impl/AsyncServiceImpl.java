@@ -1,7 +1,22 @@
 package com.github.chengzhy.basiccode.async.impl;
 
 import com.github.chengzhy.basiccode.async.AsyncService;
+import com.github.chengzhy.basiccode.async.BatchOptions;
+import com.github.chengzhy.basiccode.async.BatchResult;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 /**
  * 异步调用Service实现
@@ -10,4 +25,56 @@ import org.springframework.stereotype.Service;
  */
 @Service
 public class AsyncServiceImpl implements AsyncService {
+
+    private final ForkJoinPool batchExecutor;
+
+    public AsyncServiceImpl(@Qualifier("batchExecutor") ForkJoinPool batchExecutor) {
+        this.batchExecutor = batchExecutor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T, R> CompletableFuture<BatchResult<R>> submitBatch(Collection<? extends T> items,
+                                                                Function<? super T, ? extends R> processor,
+                                                                BatchOptions options) {
+        Assert.notNull(processor, "processor不能为空");
+        Assert.notNull(options, "options不能为空");
+        List<? extends T> itemList;
+        if (items == null || items.isEmpty()) {
+            itemList = Collections.emptyList();
+        } else if (items instanceof List && items instanceof RandomAccess) {
+            itemList = (List<? extends T>) items;
+        } else {
+            itemList = new ArrayList<>(items);
+        }
+        return new ParallelBatch<T, R>(itemList, processor, batchExecutor, options).start();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T, R> BatchResult<R> processBatch(Collection<? extends T> items,
+                                              Function<? super T, ? extends R> processor, BatchOptions options) {
+        CompletableFuture<BatchResult<R>> future = submitBatch(items, processor, options);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("批处理被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
 }
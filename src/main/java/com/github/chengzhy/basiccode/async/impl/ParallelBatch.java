@@ -0,0 +1,210 @@
+package com.github.chengzhy.basiccode.async.impl;
+
+import com.github.chengzhy.basiccode.async.BatchOptions;
+import com.github.chengzhy.basiccode.async.BatchResult;
+import com.github.chengzhy.basiccode.async.MdcTaskDecorator;
+import org.springframework.core.NestedExceptionUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 一次并行批处理的执行状态
+ * <p>启动时提交不超过maxInFlightChunks个批次，之后每完成一批再领取下一批(复用该批的名额)，
+ * 所以不需要阻塞等待名额。在批处理线程上领取的下一批提交到当前线程的本地队列，空闲线程从中窃取
+ *
+ * @author chengzhy
+ * @date 2026/10/18 21:30
+ */
+final class ParallelBatch<T, R> {
+
+    private static final MdcTaskDecorator MDC_TASK_DECORATOR = new MdcTaskDecorator();
+
+    private final List<? extends T> items;
+
+    private final Function<? super T, ? extends R> processor;
+
+    private final ForkJoinPool pool;
+
+    private final int minChunkSize;
+
+    private final int maxChunkSize;
+
+    private final long targetChunkNanos;
+
+    private final int maxInFlightChunks;
+
+    private final int maxErrors;
+
+    private final Object[] results;
+
+    private final ConcurrentLinkedQueue<BatchResult.ItemError> errors = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger errorCount = new AtomicInteger();
+
+    private final AtomicInteger processedCount = new AtomicInteger();
+
+    /**
+     * 已提交未完成的批次数，另加启动期间持有的1个，归零时结束
+     */
+    private final AtomicInteger inFlight = new AtomicInteger(1);
+
+    private final CompletableFuture<BatchResult<R>> future = new CompletableFuture<>();
+
+    private final long startTime = System.nanoTime();
+
+    /**
+     * 下一批的起始下标，只在{@link #claim()}中修改
+     */
+    private int nextIndex;
+
+    private volatile int chunkSize;
+
+    /**
+     * 单个元素耗时的滑动平均，单位：纳秒；0表示还没有完成的批次
+     */
+    private volatile long itemNanos;
+
+    private volatile boolean aborted;
+
+    ParallelBatch(List<? extends T> items, Function<? super T, ? extends R> processor, ForkJoinPool pool,
+                  BatchOptions options) {
+        this.items = items;
+        this.processor = processor;
+        this.pool = pool;
+        this.minChunkSize = Math.max(options.getMinChunkSize(), 1);
+        this.maxChunkSize = Math.max(options.getMaxChunkSize(), this.minChunkSize);
+        this.targetChunkNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(options.getTargetChunkMillis(), 1L));
+        this.maxInFlightChunks = options.getMaxInFlightChunks() > 0
+                ? options.getMaxInFlightChunks() : pool.getParallelism() << 1;
+        this.maxErrors = options.getMaxErrors() > 0 ? options.getMaxErrors() : Integer.MAX_VALUE;
+        this.results = new Object[items.size()];
+        // 还没有耗时数据时，按每个线程约4批切分
+        this.chunkSize = clamp(items.size() / (pool.getParallelism() << 2));
+    }
+
+    /**
+     * 开始处理，只有一批时在调用线程执行
+     *
+     * @author chengzhy
+     * @date 2026/10/18 21:30
+     * @return 处理结果
+     */
+    CompletableFuture<BatchResult<R>> start() {
+        if (items.size() <= chunkSize) {
+            runChunk(0, items.size());
+            complete();
+            return future;
+        }
+        for (int i = 0; i < maxInFlightChunks; i++) {
+            inFlight.incrementAndGet();
+            if (!dispatchNext()) {
+                release();
+                break;
+            }
+        }
+        release();
+        return future;
+    }
+
+    /**
+     * 领取并提交下一批
+     *
+     * @return 没有剩余元素(或已取消、已中止)时返回false
+     */
+    private boolean dispatchNext() {
+        int[] range = claim();
+        if (range == null) {
+            return false;
+        }
+        Runnable task = MDC_TASK_DECORATOR.decorate(() -> {
+            try {
+                runChunk(range[0], range[1]);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                if (!dispatchNext()) {
+                    release();
+                }
+            }
+        });
+        if (ForkJoinTask.getPool() == pool) {
+            ForkJoinTask.adapt(task).fork();
+        } else {
+            pool.execute(task);
+        }
+        return true;
+    }
+
+    private synchronized int[] claim() {
+        if (future.isDone() || aborted || nextIndex >= items.size()) {
+            return null;
+        }
+        int from = nextIndex;
+        nextIndex = Math.min(from + chunkSize, items.size());
+        return new int[]{from, nextIndex};
+    }
+
+    private void runChunk(int from, int to) {
+        long chunkStartTime = System.nanoTime();
+        int processed = 0;
+        for (int i = from; i < to && !future.isDone() && !aborted; i++, processed++) {
+            try {
+                results[i] = processor.apply(items.get(i));
+            } catch (RuntimeException e) {
+                errors.add(new BatchResult.ItemError(i, NestedExceptionUtils.getMostSpecificCause(e).getMessage(), e));
+                if (errorCount.incrementAndGet() >= maxErrors) {
+                    aborted = true;
+                }
+            }
+        }
+        if (processed > 0) {
+            processedCount.addAndGet(processed);
+            adjustChunkSize((System.nanoTime() - chunkStartTime) / processed);
+        }
+    }
+
+    /**
+     * 按单个元素耗时调整批次大小，各线程并发更新时丢失个别样本不影响结果
+     */
+    private void adjustChunkSize(long nanosPerItem) {
+        long average = itemNanos;
+        average = average == 0L ? nanosPerItem : (average * 3 + nanosPerItem) >> 2;
+        itemNanos = average;
+        chunkSize = clamp(targetChunkNanos / Math.max(average, 1L));
+    }
+
+    private int clamp(long size) {
+        return (int) Math.max(minChunkSize, Math.min(maxChunkSize, size));
+    }
+
+    private void release() {
+        if (inFlight.decrementAndGet() == 0) {
+            complete();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void complete() {
+        if (future.isDone()) {
+            return;
+        }
+        List<BatchResult.ItemError> errorList = new ArrayList<>(errors);
+        errorList.sort(Comparator.comparingInt(BatchResult.ItemError::getIndex));
+        int failed = errorList.size();
+        future.complete(new BatchResult<>(items.size(), processedCount.get() - failed, failed, aborted,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), (List<R>) Arrays.asList(results),
+                errorList));
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.github.chengzhy.basiccode.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * BasicRedisCacheManager
+ * <p>在{@link RedisCacheManager}的基础上支持对创建出的{@link RedisCache}进行装饰(如缓存击穿防护)，
+ * 创建的cache为支持批量读写的{@link BatchRedisCache}
+ *
+ * @author chengzhy
+ * @date 2026/10/18 11:00
+ */
+public class BasicRedisCacheManager extends RedisCacheManager {
+
+    private final RedisCacheWriter cacheWriter;
+
+    private final RedisCacheConfiguration defaultCacheConfiguration;
+
+    private final RedisConnectionFactory connectionFactory;
+
+    @Nullable
+    private final Function<RedisCache, Cache> redisCacheDecorator;
+
+    public BasicRedisCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultCacheConfiguration,
+                                  Map<String, RedisCacheConfiguration> initialCacheConfigurations,
+                                  RedisConnectionFactory connectionFactory,
+                                  @Nullable Function<RedisCache, Cache> redisCacheDecorator) {
+        super(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations, true);
+        this.cacheWriter = cacheWriter;
+        this.defaultCacheConfiguration = defaultCacheConfiguration;
+        this.connectionFactory = connectionFactory;
+        this.redisCacheDecorator = redisCacheDecorator;
+    }
+
+    @Override
+    @NonNull
+    protected RedisCache createRedisCache(@NonNull String name, @Nullable RedisCacheConfiguration cacheConfig) {
+        return new BatchRedisCache(name, cacheWriter,
+                cacheConfig != null ? cacheConfig : defaultCacheConfiguration, connectionFactory);
+    }
+
+    @Override
+    @NonNull
+    protected Cache decorateCache(@NonNull Cache cache) {
+        if (redisCacheDecorator != null && cache instanceof RedisCache) {
+            cache = redisCacheDecorator.apply((RedisCache) cache);
+        }
+        return super.decorateCache(cache);
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.github.chengzhy.basiccode.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.CollectionUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 支持批量读写的cache
+ *
+ * <p>批量读写在redis中使用MGET和pipeline完成，n个key只需一次网络往返
+ *
+ * @author chengzhy
+ * @date 2026/10/18 15:30
+ */
+public interface BatchCache {
+
+    /**
+     * 批量获取
+     *
+     * @author chengzhy
+     * @param keys 缓存key集合
+     * @date 2026/10/18 15:30
+     * @return 命中的key-value，未命中的key不在结果中
+     */
+    @NonNull
+    Map<Object, Object> getAll(@NonNull Collection<?> keys);
+
+    /**
+     * 批量写入，value为null的key不写入
+     *
+     * @author chengzhy
+     * @param values key-value
+     * @date 2026/10/18 15:30
+     */
+    void putAll(@NonNull Map<?, ?> values);
+
+    /**
+     * 批量获取，cache不支持批量操作时逐个获取
+     *
+     * @author chengzhy
+     * @param cache cache
+     * @param keys 缓存key集合
+     * @date 2026/10/18 15:30
+     * @return 命中的key-value，未命中的key不在结果中
+     */
+    @NonNull
+    static Map<Object, Object> getAll(@NonNull Cache cache, @NonNull Collection<?> keys) {
+        if (CollectionUtils.isEmpty(keys)) {
+            return Collections.emptyMap();
+        }
+        Cache targetCache = unwrap(cache);
+        if (targetCache instanceof BatchCache) {
+            return ((BatchCache) targetCache).getAll(keys);
+        }
+        Map<Object, Object> values = new LinkedHashMap<>(keys.size() << 1);
+        for (Object key : keys) {
+            Cache.ValueWrapper valueWrapper = cache.get(key);
+            if (valueWrapper != null && valueWrapper.get() != null) {
+                values.put(key, valueWrapper.get());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 批量写入，cache不支持批量操作或处于事务中(需要在事务提交后写入)时逐个写入
+     *
+     * @author chengzhy
+     * @param cache cache
+     * @param values key-value
+     * @date 2026/10/18 15:30
+     */
+    static void putAll(@NonNull Cache cache, @NonNull Map<?, ?> values) {
+        if (CollectionUtils.isEmpty(values)) {
+            return;
+        }
+        boolean deferred = cache instanceof TransactionAwareCacheDecorator
+                && TransactionSynchronizationManager.isSynchronizationActive();
+        Cache targetCache = unwrap(cache);
+        if (!deferred && targetCache instanceof BatchCache) {
+            ((BatchCache) targetCache).putAll(values);
+            return;
+        }
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+            if (entry.getValue() != null) {
+                cache.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    static Cache unwrap(@NonNull Cache cache) {
+        return cache instanceof TransactionAwareCacheDecorator
+                ? ((TransactionAwareCacheDecorator) cache).getTargetCache() : cache;
+    }
+
+}
@@ -0,0 +1,191 @@
+package com.github.chengzhy.basiccode.cache;
+
+import com.github.chengzhy.basiccode.cache.stampede.JitterRedisCacheWriter;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 支持批量读写的RedisCache
+ * <p>批量获取使用一次MGET，批量写入使用一次pipeline，key和value的序列化方式与{@link RedisCache}一致；
+ * sync加载时同一个key的并发加载合并为一次，不同key之间互不阻塞；
+ * 加载结果为null时不写入缓存(与{@code unless = "#result == null"}效果一致)
+ *
+ * @author chengzhy
+ * @date 2026/10/18 15:30
+ */
+public class BatchRedisCache extends RedisCache implements BatchCache {
+
+    private final RedisCacheWriter cacheWriter;
+
+    private final RedisConnectionFactory connectionFactory;
+
+    /**
+     * 正在加载中的key
+     */
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
+    protected BatchRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfig,
+                              RedisConnectionFactory connectionFactory) {
+        super(name, cacheWriter, cacheConfig);
+        this.cacheWriter = cacheWriter;
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        ValueWrapper result = get(key);
+        if (result != null) {
+            return (T) result.get();
+        }
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightLoad = inFlightLoads.putIfAbsent(key, future);
+        if (inFlightLoad != null) {
+            return (T) awaitLoad(key, valueLoader, inFlightLoad);
+        }
+        try {
+            T value = loadAndPut(key, valueLoader);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(key, future);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T loadAndPut(Object key, Callable<T> valueLoader) {
+        // 上一个加载刚结束时可能已经写入缓存
+        ValueWrapper result = get(key);
+        if (result != null) {
+            return (T) result.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        // 缓存配置了disableCachingNullValues，写入null会抛出异常
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    private Object awaitLoad(Object key, Callable<?> valueLoader, CompletableFuture<Object> inFlightLoad) {
+        try {
+            return inFlightLoad.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof ValueRetrievalException) {
+                throw (ValueRetrievalException) cause;
+            }
+            throw new ValueRetrievalException(key, valueLoader, cause);
+        }
+    }
+
+    /**
+     * 按指定的过期时间写入缓存
+     *
+     * @author chengzhy
+     * @param key 缓存key
+     * @param value 缓存值
+     * @param ttl 过期时间，为0时不过期
+     * @date 2026/10/18 11:00
+     */
+    public void put(@NonNull Object key, @NonNull Object value, Duration ttl) {
+        cacheWriter.put(getName(), serializeCacheKey(createCacheKey(key)), serializeCacheValue(toStoreValue(value)),
+                ttl);
+    }
+
+    @Override
+    @NonNull
+    public Map<Object, Object> getAll(@NonNull Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Object> keyList = new ArrayList<>(keys);
+        byte[][] rawKeys = new byte[keyList.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = serializeCacheKey(createCacheKey(keyList.get(i)));
+        }
+        List<byte[]> rawValues;
+        RedisConnection connection = connectionFactory.getConnection();
+        try {
+            rawValues = connection.mGet(rawKeys);
+        } finally {
+            connection.close();
+        }
+        Map<Object, Object> values = new LinkedHashMap<>(keyList.size() << 1);
+        if (rawValues == null) {
+            return values;
+        }
+        for (int i = 0; i < rawValues.size(); i++) {
+            byte[] rawValue = rawValues.get(i);
+            if (rawValue != null) {
+                Object value = fromStoreValue(deserializeCacheValue(rawValue));
+                if (value != null) {
+                    values.put(keyList.get(i), value);
+                }
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(@NonNull Map<?, ?> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        Map<byte[], byte[]> rawValues = new LinkedHashMap<>(values.size() << 1);
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+            if (entry.getValue() != null) {
+                rawValues.put(serializeCacheKey(createCacheKey(entry.getKey())),
+                        serializeCacheValue(toStoreValue(entry.getValue())));
+            }
+        }
+        if (rawValues.isEmpty()) {
+            return;
+        }
+        Duration ttl = getCacheConfiguration().getTtl();
+        RedisConnection connection = connectionFactory.getConnection();
+        try {
+            connection.openPipeline();
+            for (Map.Entry<byte[], byte[]> entry : rawValues.entrySet()) {
+                Duration keyTtl = cacheWriter instanceof JitterRedisCacheWriter
+                        ? ((JitterRedisCacheWriter) cacheWriter).jitter(ttl) : ttl;
+                if (keyTtl == null || keyTtl.isZero() || keyTtl.isNegative()) {
+                    connection.set(entry.getKey(), entry.getValue());
+                } else {
+                    connection.pSetEx(entry.getKey(), keyTtl.toMillis(), entry.getValue());
+                }
+            }
+            connection.closePipeline();
+        } finally {
+            connection.close();
+        }
+    }
+
+}
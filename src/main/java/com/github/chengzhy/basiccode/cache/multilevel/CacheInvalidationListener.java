@@ -0,0 +1,40 @@
+package com.github.chengzhy.basiccode.cache.multilevel;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * 一级缓存失效通知监听
+ * @author chengzhy
+ * @date 2026/10/18 9:30
+ */
+@Slf4j
+public class CacheInvalidationListener implements MessageListener {
+
+    private final MultiLevelCacheManager multiLevelCacheManager;
+
+    private final RedisSerializer<?> valueSerializer;
+
+    public CacheInvalidationListener(MultiLevelCacheManager multiLevelCacheManager, RedisSerializer<?> valueSerializer) {
+        this.multiLevelCacheManager = multiLevelCacheManager;
+        this.valueSerializer = valueSerializer;
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        try {
+            Object body = valueSerializer.deserialize(message.getBody());
+            if (body instanceof CacheInvalidationMessage) {
+                multiLevelCacheManager.onInvalidation((CacheInvalidationMessage) body);
+            }
+        } catch (SerializationException e) {
+            log.error("[cache invalidation] deserialize error: channel=[{}]", new String(message.getChannel()), e);
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.github.chengzhy.basiccode.cache.multilevel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 一级缓存失效通知消息
+ * @author chengzhy
+ * @date 2026/10/18 9:30
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage implements Serializable {
+
+    private static final long serialVersionUID = 6016183396482113420L;
+
+    /**
+     * 发送消息的节点id
+     */
+    private String nodeId;
+
+    /**
+     * 缓存名称
+     */
+    private String cacheName;
+
+    /**
+     * 缓存key(批量写入时一条消息包含多个key)，为null时表示清空整个缓存
+     */
+    private List<Object> keys;
+
+}
@@ -0,0 +1,242 @@
+package com.github.chengzhy.basiccode.cache.multilevel;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.chengzhy.basiccode.cache.BatchCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * 二级缓存
+ *
+ * <p>一级缓存为进程内的caffeine缓存，二级缓存为redis缓存。
+ * 读取时先读一级缓存，未命中再读二级缓存并回填一级缓存；
+ * 写入和删除时先操作二级缓存，再操作一级缓存并通过redis发布订阅通知其它节点删除对应的一级缓存
+ *
+ * @author chengzhy
+ * @date 2026/10/18 9:30
+ */
+public class MultiLevelCache extends AbstractValueAdaptingCache implements BatchCache {
+
+    private final String name;
+
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache;
+
+    private final Cache remoteCache;
+
+    /**
+     * 失效通知发布(缓存名称, 缓存key集合)，key集合为null时表示清空整个缓存
+     */
+    private final BiConsumer<String, Collection<?>> invalidationPublisher;
+
+    private final MultiLevelCacheStats stats;
+
+    public MultiLevelCache(String name, Cache remoteCache, MultiLevelCacheProperties.LocalCacheSpec spec,
+                           BiConsumer<String, Collection<?>> invalidationPublisher) {
+        // redis缓存配置了disableCachingNullValues，这里同样不允许缓存null值
+        super(false);
+        this.name = name;
+        this.remoteCache = remoteCache;
+        this.invalidationPublisher = invalidationPublisher;
+        this.stats = new MultiLevelCacheStats(name);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite().toNanos(), TimeUnit.NANOSECONDS)
+                .removalListener((Object key, Object value, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        stats.getLocalEvictions().increment();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return this;
+    }
+
+    public MultiLevelCacheStats getStats() {
+        return stats;
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getLocalCache() {
+        return localCache;
+    }
+
+    public Cache getRemoteCache() {
+        return remoteCache;
+    }
+
+    @Override
+    @Nullable
+    protected Object lookup(@NonNull Object key) {
+        Object value = localCache.getIfPresent(key);
+        if (value != null) {
+            stats.getLocalHits().increment();
+            return value;
+        }
+        stats.getLocalMisses().increment();
+        ValueWrapper valueWrapper = remoteCache.get(key);
+        if (valueWrapper == null || valueWrapper.get() == null) {
+            stats.getRemoteMisses().increment();
+            return null;
+        }
+        stats.getRemoteHits().increment();
+        value = valueWrapper.get();
+        localCache.put(key, value);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        Object value = localCache.getIfPresent(key);
+        if (value != null) {
+            stats.getLocalHits().increment();
+            return (T) value;
+        }
+        stats.getLocalMisses().increment();
+        // 一级缓存未命中时由二级缓存负责读取和加载，击穿防护(合并加载、提前刷新)在二级缓存中生效
+        AtomicBoolean loaded = new AtomicBoolean();
+        T remoteValue = remoteCache.get(key, () -> {
+            loaded.set(true);
+            return valueLoader.call();
+        });
+        if (loaded.get()) {
+            stats.getRemoteMisses().increment();
+        } else {
+            stats.getRemoteHits().increment();
+        }
+        if (remoteValue != null) {
+            localCache.put(key, remoteValue);
+        }
+        return remoteValue;
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        remoteCache.put(key, value);
+        localCache.put(key, toStoreValue(value));
+        invalidationPublisher.accept(name, Collections.singletonList(key));
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+        ValueWrapper existingValue = remoteCache.putIfAbsent(key, value);
+        if (existingValue == null || existingValue.get() == null) {
+            localCache.put(key, toStoreValue(value));
+            invalidationPublisher.accept(name, Collections.singletonList(key));
+        } else {
+            localCache.put(key, existingValue.get());
+        }
+        return existingValue;
+    }
+
+    @Override
+    @NonNull
+    public Map<Object, Object> getAll(@NonNull Collection<?> keys) {
+        Map<Object, Object> values = new LinkedHashMap<>(localCache.getAllPresent(keys));
+        stats.getLocalHits().add(values.size());
+        if (values.size() == keys.size()) {
+            return values;
+        }
+        List<Object> missingKeys = new ArrayList<>(keys.size() - values.size());
+        for (Object key : keys) {
+            if (!values.containsKey(key)) {
+                missingKeys.add(key);
+            }
+        }
+        stats.getLocalMisses().add(missingKeys.size());
+        Map<Object, Object> remoteValues = BatchCache.getAll(remoteCache, missingKeys);
+        stats.getRemoteHits().add(remoteValues.size());
+        stats.getRemoteMisses().add(missingKeys.size() - remoteValues.size());
+        localCache.putAll(remoteValues);
+        values.putAll(remoteValues);
+        return values;
+    }
+
+    @Override
+    public void putAll(@NonNull Map<?, ?> values) {
+        Map<Object, Object> storeValues = new LinkedHashMap<>(values.size() << 1);
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+            if (entry.getValue() != null) {
+                storeValues.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (storeValues.isEmpty()) {
+            return;
+        }
+        BatchCache.putAll(remoteCache, storeValues);
+        localCache.putAll(storeValues);
+        // 一条消息通知所有key
+        invalidationPublisher.accept(name, storeValues.keySet());
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        remoteCache.evict(key);
+        stats.getRemoteEvictions().increment();
+        localCache.invalidate(key);
+        invalidationPublisher.accept(name, Collections.singletonList(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        boolean present = remoteCache.evictIfPresent(key);
+        stats.getRemoteEvictions().increment();
+        localCache.invalidate(key);
+        invalidationPublisher.accept(name, Collections.singletonList(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        stats.getRemoteEvictions().increment();
+        localCache.invalidateAll();
+        invalidationPublisher.accept(name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        clear();
+        return true;
+    }
+
+    /**
+     * 仅删除本节点的一级缓存(收到其它节点的失效通知时调用)
+     *
+     * @author chengzhy
+     * @param keys 缓存key集合，为null时清空整个一级缓存
+     * @date 2026/10/18 9:30
+     */
+    public void evictLocal(@Nullable Collection<?> keys) {
+        if (keys == null) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidateAll(keys);
+        }
+    }
+
+}
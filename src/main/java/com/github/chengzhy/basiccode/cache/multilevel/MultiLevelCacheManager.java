@@ -0,0 +1,123 @@
+package com.github.chengzhy.basiccode.cache.multilevel;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 二级缓存管理器(caffeine + redis)
+ *
+ * <p>二级缓存委托给{@code remoteCacheManager}(redis)创建，本管理器在其前面套一层有界的caffeine一级缓存
+ *
+ * @author chengzhy
+ * @date 2026/10/18 9:30
+ */
+@Slf4j
+public class MultiLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    /**
+     * 当前节点id，用于忽略本节点自己发出的失效通知
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final CacheManager remoteCacheManager;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final MultiLevelCacheProperties properties;
+
+    private final String topic;
+
+    @Nullable
+    private final MeterRegistry meterRegistry;
+
+    public MultiLevelCacheManager(CacheManager remoteCacheManager, RedisTemplate<String, Object> redisTemplate,
+                                  MultiLevelCacheProperties properties, String topic,
+                                  @Nullable MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.topic = topic;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    @NonNull
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        for (String cacheName : remoteCacheManager.getCacheNames()) {
+            Cache remoteCache = remoteCacheManager.getCache(cacheName);
+            if (remoteCache != null) {
+                caches.add(createCache(cacheName, remoteCache));
+            }
+        }
+        return caches;
+    }
+
+    @Override
+    @Nullable
+    protected Cache getMissingCache(@NonNull String name) {
+        Cache remoteCache = remoteCacheManager.getCache(name);
+        return remoteCache == null ? null : createCache(name, remoteCache);
+    }
+
+    /**
+     * 删除本节点的一级缓存(收到失效通知时调用)
+     *
+     * @author chengzhy
+     * @param message 失效通知消息
+     * @date 2026/10/18 9:30
+     */
+    public void onInvalidation(@NonNull CacheInvalidationMessage message) {
+        if (nodeId.equals(message.getNodeId())) {
+            return;
+        }
+        Cache cache = lookupCache(message.getCacheName());
+        if (cache instanceof TransactionAwareCacheDecorator) {
+            cache = ((TransactionAwareCacheDecorator) cache).getTargetCache();
+        }
+        if (cache instanceof MultiLevelCache) {
+            ((MultiLevelCache) cache).evictLocal(message.getKeys());
+        }
+    }
+
+    private MultiLevelCache createCache(String name, Cache remoteCache) {
+        MultiLevelCache cache = new MultiLevelCache(name, remoteCache, properties.getSpec(name), this::publishInvalidation);
+        if (meterRegistry != null) {
+            cache.getStats().bindTo(meterRegistry);
+            Gauge.builder("cache.multi-level.size", cache.getLocalCache(),
+                    com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                    .tag("cache", name)
+                    .description("一级缓存当前条数")
+                    .register(meterRegistry);
+        }
+        return cache;
+    }
+
+    private void publishInvalidation(String cacheName, @Nullable Collection<?> keys) {
+        try {
+            redisTemplate.convertAndSend(topic, new CacheInvalidationMessage(nodeId, cacheName,
+                    keys == null ? null : new ArrayList<>(keys)));
+        } catch (RuntimeException e) {
+            // 通知失败时其它节点的一级缓存最多在过期时间内不一致，不影响本次缓存操作
+            log.error("[cache invalidation] publish error: key=[{}:{}]", cacheName, keys, e);
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.github.chengzhy.basiccode.cache.multilevel;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 二级缓存(caffeine + redis)配置
+ * @author chengzhy
+ * @date 2026/10/18 9:30
+ */
+@Component
+@ConfigurationProperties(prefix = "cache.multi-level")
+@Getter
+@Setter
+public class MultiLevelCacheProperties {
+
+    /**
+     * 是否启用二级缓存
+     */
+    private boolean enable = false;
+
+    /**
+     * 缓存失效通知的redis频道(实际频道为 "应用名:" + topic)
+     */
+    private String topic = "cache:invalidation";
+
+    /**
+     * 一级缓存默认配置
+     */
+    private LocalCacheSpec defaultSpec = new LocalCacheSpec();
+
+    /**
+     * 一级缓存自定义配置，key为缓存名称
+     */
+    private Map<String, LocalCacheSpec> specs = new HashMap<>();
+
+    /**
+     * 获取指定缓存名称的一级缓存配置
+     *
+     * @author chengzhy
+     * @param cacheName 缓存名称
+     * @date 2026/10/18 9:30
+     * @return 一级缓存配置
+     */
+    public LocalCacheSpec getSpec(String cacheName) {
+        return specs.getOrDefault(cacheName, defaultSpec);
+    }
+
+    @Getter
+    @Setter
+    public static class LocalCacheSpec {
+
+        /**
+         * 最大缓存条数
+         */
+        private long maximumSize = 10000L;
+
+        /**
+         * 写入后过期时间
+         */
+        private Duration expireAfterWrite = Duration.ofSeconds(60L);
+
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.github.chengzhy.basiccode.cache.multilevel;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 二级缓存命中统计(按缓存级别)
+ * @author chengzhy
+ * @date 2026/10/18 9:30
+ */
+@Getter
+public class MultiLevelCacheStats implements MeterBinder {
+
+    private static final String METRIC_GETS = "cache.multi-level.gets";
+
+    private static final String METRIC_EVICTIONS = "cache.multi-level.evictions";
+
+    private final String cacheName;
+
+    private final LongAdder localHits = new LongAdder();
+
+    private final LongAdder localMisses = new LongAdder();
+
+    /**
+     * 一级缓存因容量或过期被淘汰的次数
+     */
+    private final LongAdder localEvictions = new LongAdder();
+
+    private final LongAdder remoteHits = new LongAdder();
+
+    private final LongAdder remoteMisses = new LongAdder();
+
+    /**
+     * 二级缓存主动删除(evict/clear)的次数
+     */
+    private final LongAdder remoteEvictions = new LongAdder();
+
+    public MultiLevelCacheStats(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        bindGets(registry, "L1", "hit", localHits);
+        bindGets(registry, "L1", "miss", localMisses);
+        bindGets(registry, "L2", "hit", remoteHits);
+        bindGets(registry, "L2", "miss", remoteMisses);
+        bindEvictions(registry, "L1", localEvictions);
+        bindEvictions(registry, "L2", remoteEvictions);
+    }
+
+    private void bindGets(MeterRegistry registry, String level, String result, LongAdder counter) {
+        FunctionCounter.builder(METRIC_GETS, counter, LongAdder::doubleValue)
+                .tags("cache", cacheName, "level", level, "result", result)
+                .description("二级缓存各级别命中/未命中次数")
+                .register(registry);
+    }
+
+    private void bindEvictions(MeterRegistry registry, String level, LongAdder counter) {
+        FunctionCounter.builder(METRIC_EVICTIONS, counter, LongAdder::doubleValue)
+                .tags("cache", cacheName, "level", level)
+                .description("二级缓存各级别淘汰次数")
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * 缓存模块
+ */
+package com.github.chengzhy.basiccode.cache;
@@ -0,0 +1,36 @@
+package com.github.chengzhy.basiccode.cache.stampede;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 带加载耗时和过期时间的缓存值(用于概率提前刷新)
+ * @author chengzhy
+ * @date 2026/10/18 11:00
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheEntry implements Serializable {
+
+    private static final long serialVersionUID = -2217893618870921757L;
+
+    /**
+     * 缓存值，为null时表示空值标记
+     */
+    private Object value;
+
+    /**
+     * 加载耗时，单位：毫秒
+     */
+    private long delta;
+
+    /**
+     * 过期时间戳，单位：毫秒
+     */
+    private long expireAt;
+
+}
@@ -0,0 +1,72 @@
+package com.github.chengzhy.basiccode.cache.stampede;
+
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 过期时间随机抖动的RedisCacheWriter
+ * <p>避免同一批写入的key在同一时刻集中过期
+ *
+ * @author chengzhy
+ * @date 2026/10/18 11:00
+ */
+public class JitterRedisCacheWriter implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegate;
+
+    private final double ttlJitterRatio;
+
+    public JitterRedisCacheWriter(RedisCacheWriter delegate, double ttlJitterRatio) {
+        this.delegate = delegate;
+        this.ttlJitterRatio = ttlJitterRatio;
+    }
+
+    @Override
+    public void put(@NonNull String name, @NonNull byte[] key, @NonNull byte[] value, @Nullable Duration ttl) {
+        delegate.put(name, key, value, jitter(ttl));
+    }
+
+    @Override
+    @Nullable
+    public byte[] get(@NonNull String name, @NonNull byte[] key) {
+        return delegate.get(name, key);
+    }
+
+    @Override
+    @Nullable
+    public byte[] putIfAbsent(@NonNull String name, @NonNull byte[] key, @NonNull byte[] value, @Nullable Duration ttl) {
+        return delegate.putIfAbsent(name, key, value, jitter(ttl));
+    }
+
+    @Override
+    public void remove(@NonNull String name, @NonNull byte[] key) {
+        delegate.remove(name, key);
+    }
+
+    @Override
+    public void clean(@NonNull String name, @NonNull byte[] pattern) {
+        delegate.clean(name, pattern);
+    }
+
+    /**
+     * 过期时间增加{@code [0, ttl * ttlJitterRatio)}的随机抖动
+     *
+     * @author chengzhy
+     * @param ttl 过期时间
+     * @date 2026/10/18 15:30
+     * @return 抖动后的过期时间
+     */
+    @Nullable
+    public Duration jitter(@Nullable Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative() || ttlJitterRatio <= 0D) {
+            return ttl;
+        }
+        long jitterMillis = (long) (ttl.toMillis() * ttlJitterRatio * ThreadLocalRandom.current().nextDouble());
+        return ttl.plusMillis(jitterMillis);
+    }
+
+}
@@ -0,0 +1,367 @@
+package com.github.chengzhy.basiccode.cache.stampede;
+
+import com.github.chengzhy.basiccode.cache.BatchCache;
+import com.github.chengzhy.basiccode.cache.BatchRedisCache;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存击穿防护cache
+ *
+ * <p>仅对{@link Cache#get(Object, Callable)}(即{@code @Cacheable(sync = true)})生效：
+ * <ul>
+ *     <li>同一个jvm内同一个key同时只有一个线程执行加载，其它线程等待该加载结果</li>
+ *     <li>可选通过redisson分布式锁保证集群内同一个key同时只有一个节点执行加载</li>
+ *     <li>可选概率提前刷新(XFetch)，热点key在过期前由后台线程重新加载</li>
+ * </ul>
+ * 加载结果为null时写入过期时间为nullValueTtl的空值标记(value为null的{@link CacheEntry})，避免不存在的key每次都穿透到数据库
+ *
+ * @author chengzhy
+ * @date 2026/10/18 11:00
+ */
+@Slf4j
+public class StampedeProtectedCache implements Cache, BatchCache {
+
+    private static final String CACHE_LOAD_LOCK_KEY_PREFIX = "CacheLoadLock:";
+
+    private final RedisCache delegate;
+
+    private final StampedeProtectionProperties properties;
+
+    @Nullable
+    private final RedissonClient redissonClient;
+
+    private final Executor refreshExecutor;
+
+    /**
+     * 正在加载中的key
+     */
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
+    public StampedeProtectedCache(RedisCache delegate, StampedeProtectionProperties properties,
+                                  @Nullable RedissonClient redissonClient, Executor refreshExecutor) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.redissonClient = redissonClient;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(@NonNull Object key) {
+        ValueWrapper valueWrapper = delegate.get(key);
+        if (valueWrapper != null && valueWrapper.get() instanceof CacheEntry) {
+            return new SimpleValueWrapper(((CacheEntry) valueWrapper.get()).getValue());
+        }
+        return valueWrapper;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+        ValueWrapper valueWrapper = get(key);
+        Object value = valueWrapper == null ? null : valueWrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        ValueWrapper valueWrapper = delegate.get(key);
+        if (valueWrapper != null) {
+            Object value = valueWrapper.get();
+            if (value instanceof CacheEntry) {
+                CacheEntry cacheEntry = (CacheEntry) value;
+                if (shouldRefreshEarly(cacheEntry)) {
+                    refreshAsync(key, valueLoader);
+                }
+                return (T) cacheEntry.getValue();
+            }
+            return (T) value;
+        }
+        return (T) loadCoalesced(key, valueLoader);
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        delegate.put(key, toStoreValue(value, 0L));
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+        ValueWrapper existingValue = delegate.putIfAbsent(key, toStoreValue(value, 0L));
+        if (existingValue != null && existingValue.get() instanceof CacheEntry) {
+            return new SimpleValueWrapper(((CacheEntry) existingValue.get()).getValue());
+        }
+        return existingValue;
+    }
+
+    @Override
+    @NonNull
+    public Map<Object, Object> getAll(@NonNull Collection<?> keys) {
+        Map<Object, Object> values = BatchCache.getAll(delegate, keys);
+        Iterator<Map.Entry<Object, Object>> iterator = values.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Object, Object> entry = iterator.next();
+            if (entry.getValue() instanceof CacheEntry) {
+                Object value = ((CacheEntry) entry.getValue()).getValue();
+                // 空值标记视为未命中，与批量获取"不存在的key不返回"的约定一致
+                if (value == null) {
+                    iterator.remove();
+                } else {
+                    entry.setValue(value);
+                }
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(@NonNull Map<?, ?> values) {
+        Map<Object, Object> storeValues = new LinkedHashMap<>(values.size() << 1);
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+            if (entry.getValue() != null) {
+                storeValues.put(entry.getKey(), toStoreValue(entry.getValue(), 0L));
+            }
+        }
+        BatchCache.putAll(delegate, storeValues);
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    /**
+     * 合并同一个key的并发加载
+     *
+     * @author chengzhy
+     * @param key 缓存key
+     * @param valueLoader 加载方法
+     * @date 2026/10/18 11:00
+     * @return 加载结果
+     */
+    private Object loadCoalesced(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightLoad = inFlightLoads.putIfAbsent(key, future);
+        if (inFlightLoad != null) {
+            return awaitLoad(key, valueLoader, inFlightLoad);
+        }
+        try {
+            Object value = loadWithLock(key, valueLoader);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(key, future);
+        }
+    }
+
+    private Object awaitLoad(Object key, Callable<?> valueLoader, CompletableFuture<Object> inFlightLoad) {
+        try {
+            return inFlightLoad.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof ValueRetrievalException) {
+                throw (ValueRetrievalException) cause;
+            }
+            throw new ValueRetrievalException(key, valueLoader, cause);
+        }
+    }
+
+    /**
+     * 加载(可选加分布式锁)并写入缓存
+     *
+     * @author chengzhy
+     * @param key 缓存key
+     * @param valueLoader 加载方法
+     * @date 2026/10/18 11:00
+     * @return 加载结果
+     */
+    private Object loadWithLock(Object key, Callable<?> valueLoader) {
+        if (!properties.isDistributedLock() || redissonClient == null) {
+            return loadAndPut(key, valueLoader);
+        }
+        RLock rLock = redissonClient.getLock(CACHE_LOAD_LOCK_KEY_PREFIX + getName() + ":" + key);
+        boolean lockSuccess = false;
+        try {
+            lockSuccess = rLock.tryLock(properties.getLockWaitTime().toMillis(),
+                    properties.getLockLeaseTime().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RedisException e) {
+            log.error(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error(e.getMessage(), e);
+        }
+        try {
+            // 等待期间其它节点可能已经加载完成
+            ValueWrapper valueWrapper = get(key);
+            if (valueWrapper != null) {
+                return valueWrapper.get();
+            }
+            return loadAndPut(key, valueLoader);
+        } finally {
+            if (lockSuccess) {
+                try {
+                    if (rLock.isHeldByCurrentThread()) {
+                        rLock.unlock();
+                    }
+                } catch (RedisException e) {
+                    log.error(e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private Object loadAndPut(Object key, Callable<?> valueLoader) {
+        long startTime = System.currentTimeMillis();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        long delta = System.currentTimeMillis() - startTime;
+        if (value != null) {
+            delegate.put(key, toStoreValue(value, delta));
+        } else {
+            putNullMarker(key, delta);
+        }
+        return value;
+    }
+
+    private void putNullMarker(Object key, long delta) {
+        Duration nullValueTtl = properties.getNullValueTtl();
+        if (!(delegate instanceof BatchRedisCache) || nullValueTtl == null
+                || nullValueTtl.isZero() || nullValueTtl.isNegative()) {
+            return;
+        }
+        CacheEntry nullMarker = new CacheEntry(null, delta, System.currentTimeMillis() + nullValueTtl.toMillis());
+        ((BatchRedisCache) delegate).put(key, nullMarker, nullValueTtl);
+    }
+
+    /**
+     * 后台提前刷新，同一个key同时只会有一个刷新任务
+     *
+     * @author chengzhy
+     * @param key 缓存key
+     * @param valueLoader 加载方法
+     * @date 2026/10/18 11:00
+     */
+    private void refreshAsync(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        if (inFlightLoads.putIfAbsent(key, future) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    future.complete(loadAndPut(key, valueLoader));
+                } catch (RuntimeException e) {
+                    log.error("[cache refresh] load error: key=[{}:{}]", getName(), key, e);
+                    future.completeExceptionally(e);
+                } finally {
+                    inFlightLoads.remove(key, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlightLoads.remove(key, future);
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * XFetch：{@code now - delta * beta * ln(random) >= expireAt}时提前刷新
+     *
+     * @author chengzhy
+     * @param cacheEntry 缓存值
+     * @date 2026/10/18 11:00
+     * @return 是否提前刷新
+     */
+    private boolean shouldRefreshEarly(CacheEntry cacheEntry) {
+        if (!properties.isEarlyRefresh() || cacheEntry.getExpireAt() <= 0L) {
+            return false;
+        }
+        double random = 1.0D - ThreadLocalRandom.current().nextDouble();
+        double gap = cacheEntry.getDelta() * properties.getEarlyRefreshBeta() * -Math.log(random);
+        return System.currentTimeMillis() + gap >= cacheEntry.getExpireAt();
+    }
+
+    /**
+     * 开启提前刷新时缓存值包装为{@link CacheEntry}，否则直接缓存原值
+     *
+     * @author chengzhy
+     * @param value 缓存值
+     * @param delta 加载耗时，单位：毫秒
+     * @date 2026/10/18 11:00
+     * @return 写入redis的缓存值
+     */
+    @Nullable
+    private Object toStoreValue(@Nullable Object value, long delta) {
+        if (value == null || !properties.isEarlyRefresh()) {
+            return value;
+        }
+        Duration ttl = delegate.getCacheConfiguration().getTtl();
+        long expireAt = (ttl.isZero() || ttl.isNegative()) ? 0L : System.currentTimeMillis() + ttl.toMillis();
+        return new CacheEntry(value, delta, expireAt);
+    }
+
+}
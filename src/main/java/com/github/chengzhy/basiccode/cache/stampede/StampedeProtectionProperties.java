@@ -0,0 +1,61 @@
+package com.github.chengzhy.basiccode.cache.stampede;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 缓存击穿(雪崩)防护配置
+ * @author chengzhy
+ * @date 2026/10/18 11:00
+ */
+@Component
+@ConfigurationProperties(prefix = "cache.stampede")
+@Getter
+@Setter
+public class StampedeProtectionProperties {
+
+    /**
+     * 是否启用缓存击穿防护
+     */
+    private boolean enable = false;
+
+    /**
+     * 过期时间随机抖动比例，实际过期时间为 ttl * (1 + [0, ttlJitterRatio))，为0时不抖动
+     */
+    private double ttlJitterRatio = 0.1D;
+
+    /**
+     * 是否使用redisson分布式锁保证集群内同一个key只有一个节点加载
+     */
+    private boolean distributedLock = false;
+
+    /**
+     * 等待分布式锁的最长时间，超时后直接加载
+     */
+    private Duration lockWaitTime = Duration.ofSeconds(3L);
+
+    /**
+     * 分布式锁有效时间
+     */
+    private Duration lockLeaseTime = Duration.ofSeconds(10L);
+
+    /**
+     * 加载结果为null时空值标记的过期时间，为0时不缓存null
+     */
+    private Duration nullValueTtl = Duration.ofSeconds(60L);
+
+    /**
+     * 是否启用概率提前刷新(XFetch)
+     */
+    private boolean earlyRefresh = false;
+
+    /**
+     * 提前刷新系数，越大越倾向于提前刷新
+     */
+    private double earlyRefreshBeta = 1.0D;
+
+}
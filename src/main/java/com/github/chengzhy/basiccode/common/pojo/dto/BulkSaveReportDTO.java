@@ -0,0 +1,80 @@
+package com.github.chengzhy.basiccode.common.pojo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量写入结果DTO
+ * @author chengzhy
+ * @date 2026/10/18 17:00
+ */
+@Data
+public class BulkSaveReportDTO {
+
+    /**
+     * 请求行数
+     */
+    private int total;
+
+    /**
+     * 写入成功的行数
+     */
+    private int succeeded;
+
+    /**
+     * 写入失败的行数
+     */
+    private int failed;
+
+    /**
+     * 总耗时，单位：毫秒
+     */
+    private long costMillis;
+
+    /**
+     * 整体吞吐量，单位：行/秒
+     */
+    private double rowsPerSecond;
+
+    /**
+     * 每批的写入结果
+     */
+    private List<ChunkReport> chunks;
+
+    @Data
+    public static class ChunkReport {
+
+        /**
+         * 批次序号，从0开始
+         */
+        private int index;
+
+        /**
+         * 批次行数
+         */
+        private int rows;
+
+        /**
+         * 是否写入成功(失败时整批回滚)
+         */
+        private boolean success;
+
+        /**
+         * 失败原因
+         */
+        private String error;
+
+        /**
+         * 批次耗时(包含事务提交)，单位：毫秒
+         */
+        private long costMillis;
+
+        /**
+         * 批次吞吐量，单位：行/秒
+         */
+        private double rowsPerSecond;
+
+    }
+
+}
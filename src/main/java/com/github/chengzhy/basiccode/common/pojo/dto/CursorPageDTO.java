@@ -0,0 +1,60 @@
+package com.github.chengzhy.basiccode.common.pojo.dto;
+
+import java.util.List;
+
+/**
+ * 游标分页结果DTO
+ * @author chengzhy
+ * @date 2026/10/18 16:00
+ */
+public class CursorPageDTO<T> {
+
+    /**
+     * 当前页数据
+     */
+    private List<T> list;
+
+    /**
+     * 下一页游标，为null时表示没有下一页
+     */
+    private String nextCursor;
+
+    /**
+     * 总数，未查询总数时为null
+     */
+    private Long total;
+
+    public CursorPageDTO() {
+    }
+
+    public CursorPageDTO(List<T> list, String nextCursor, Long total) {
+        this.list = list;
+        this.nextCursor = nextCursor;
+        this.total = total;
+    }
+
+    public List<T> getList() {
+        return list;
+    }
+
+    public void setList(List<T> list) {
+        this.list = list;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+}
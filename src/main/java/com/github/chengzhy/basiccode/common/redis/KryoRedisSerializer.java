@@ -0,0 +1,320 @@
+package com.github.chengzhy.basiccode.common.redis;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.SerializerFactory;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.CompatibleFieldSerializer;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+import com.esotericsoftware.kryo.util.Pool;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * kryo二进制RedisSerializer
+ *
+ * <p>格式：{@code [0xB1][flag][payload]}，flag为1时payload为 {@code [原始长度(4字节)][lz4压缩数据]}。
+ * 预注册的类只写入类id，未注册的类写入类名；序列化结果超过{@code compressThreshold}字节且压缩有收益时使用lz4压缩。
+ * {@code Arrays.asList}和不可修改集合按元素序列化，反序列化后仍为对应的包装类型。
+ * <p>对象按字段名读写({@link CompatibleFieldSerializer}，分块编码)，类增加、删除字段或调整字段顺序后旧数据仍可读取，
+ * 新增的字段为默认值，已删除字段的数据被跳过；字段类型不兼容等情况读取失败，
+ * 由{@code CacheErrorHandler}按未命中处理并重新写入
+ *
+ * @author chengzhy
+ * @date 2026/10/18 14:00
+ */
+public class KryoRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte[] EMPTY_ARRAY = new byte[0];
+
+    private static final byte MAGIC = (byte) 0xB1;
+
+    private static final byte FLAG_RAW = 0;
+
+    private static final byte FLAG_LZ4 = 1;
+
+    private static final int HEADER_LENGTH = 2;
+
+    private static final int LZ4_HEADER_LENGTH = HEADER_LENGTH + 4;
+
+    /**
+     * 自定义注册类的起始id(小于该值的id由kryo内置类型使用)
+     */
+    private static final int FIRST_REGISTRATION_ID = 100;
+
+    private static final int POOL_CAPACITY = 64;
+
+    private static final int OUTPUT_BUFFER_SIZE = 512;
+
+    /**
+     * 超过该大小的输出缓冲区不放回池中，避免长期占用内存
+     */
+    private static final int MAX_POOLED_OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private static final List<Class<?>> DEFAULT_REGISTERED_CLASSES = Arrays.asList(
+            ArrayList.class, HashMap.class, LinkedHashMap.class, HashSet.class, LinkedHashSet.class,
+            Date.class, LocalDateTime.class, LocalDate.class, LocalTime.class,
+            BigDecimal.class, BigInteger.class, Optional.class);
+
+    private final Pool<Kryo> kryoPool;
+
+    private final Pool<Output> outputPool;
+
+    private final int compressThreshold;
+
+    private final LZ4Compressor compressor;
+
+    private final LZ4FastDecompressor decompressor;
+
+    public KryoRedisSerializer(List<Class<?>> registeredClasses, int compressThreshold) {
+        this.compressThreshold = compressThreshold;
+        LZ4Factory lz4Factory = LZ4Factory.fastestInstance();
+        this.compressor = lz4Factory.fastCompressor();
+        this.decompressor = lz4Factory.fastDecompressor();
+        this.kryoPool = new Pool<Kryo>(true, false, POOL_CAPACITY) {
+            @Override
+            protected Kryo create() {
+                return createKryo(registeredClasses);
+            }
+        };
+        this.outputPool = new Pool<Output>(true, false, POOL_CAPACITY) {
+            @Override
+            protected Output create() {
+                return new Output(OUTPUT_BUFFER_SIZE, -1);
+            }
+        };
+    }
+
+    /**
+     * 是否为kryo序列化格式
+     *
+     * @author chengzhy
+     * @param bytes 序列化数据
+     * @date 2026/10/18 14:00
+     * @return 是|否
+     */
+    public static boolean isKryoFormat(@Nullable byte[] bytes) {
+        return bytes != null && bytes.length >= HEADER_LENGTH && bytes[0] == MAGIC;
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY_ARRAY;
+        }
+        Kryo kryo = kryoPool.obtain();
+        Output output = outputPool.obtain();
+        try {
+            output.reset();
+            output.writeByte(MAGIC);
+            output.writeByte(FLAG_RAW);
+            kryo.writeClassAndObject(output, value);
+            int payloadLength = output.position() - HEADER_LENGTH;
+            if (compressThreshold > 0 && payloadLength > compressThreshold) {
+                byte[] compressed = compress(output.getBuffer(), payloadLength);
+                if (compressed != null) {
+                    return compressed;
+                }
+            }
+            return output.toBytes();
+        } catch (KryoException e) {
+            throw new SerializationException("Could not write Kryo: " + e.getMessage(), e);
+        } finally {
+            kryoPool.free(kryo);
+            if (output.getBuffer().length <= MAX_POOLED_OUTPUT_BUFFER_SIZE) {
+                outputPool.free(output);
+            }
+        }
+    }
+
+    @Override
+    @Nullable
+    public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (!isKryoFormat(bytes)) {
+            throw new SerializationException("Could not read Kryo: unknown format header");
+        }
+        Kryo kryo = kryoPool.obtain();
+        try {
+            Input input;
+            if (bytes[1] == FLAG_LZ4) {
+                int originalLength = ((bytes[2] & 0xFF) << 24) | ((bytes[3] & 0xFF) << 16)
+                        | ((bytes[4] & 0xFF) << 8) | (bytes[5] & 0xFF);
+                byte[] restored = new byte[originalLength];
+                decompressor.decompress(bytes, LZ4_HEADER_LENGTH, restored, 0, originalLength);
+                input = new Input(restored);
+            } else {
+                input = new Input(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+            }
+            return kryo.readClassAndObject(input);
+        } catch (KryoException | LZ4Exception e) {
+            throw new SerializationException("Could not read Kryo: " + e.getMessage(), e);
+        } finally {
+            kryoPool.free(kryo);
+        }
+    }
+
+    /**
+     * lz4压缩
+     *
+     * @author chengzhy
+     * @param buffer 序列化缓冲区(前{@value HEADER_LENGTH}个字节为格式头)
+     * @param payloadLength 序列化数据长度
+     * @date 2026/10/18 14:00
+     * @return 压缩后的完整数据，压缩无收益时返回null
+     */
+    @Nullable
+    private byte[] compress(byte[] buffer, int payloadLength) {
+        int maxCompressedLength = compressor.maxCompressedLength(payloadLength);
+        byte[] compressed = new byte[LZ4_HEADER_LENGTH + maxCompressedLength];
+        int compressedLength = compressor.compress(buffer, HEADER_LENGTH, payloadLength,
+                compressed, LZ4_HEADER_LENGTH, maxCompressedLength);
+        if (compressedLength >= payloadLength) {
+            return null;
+        }
+        compressed[0] = MAGIC;
+        compressed[1] = FLAG_LZ4;
+        compressed[2] = (byte) (payloadLength >>> 24);
+        compressed[3] = (byte) (payloadLength >>> 16);
+        compressed[4] = (byte) (payloadLength >>> 8);
+        compressed[5] = (byte) payloadLength;
+        return Arrays.copyOf(compressed, LZ4_HEADER_LENGTH + compressedLength);
+    }
+
+    private static Kryo createKryo(List<Class<?>> registeredClasses) {
+        Kryo kryo = new Kryo();
+        kryo.setRegistrationRequired(false);
+        // 缓存对象没有循环引用，关闭引用追踪以减少序列化体积
+        kryo.setReferences(false);
+        // 支持没有无参构造方法的类(如ResponseResult)
+        kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+        // 按字段名读写，缓存类的字段变更后旧数据不会被错位读取；需要在注册类之前设置
+        CompatibleFieldSerializer.CompatibleFieldSerializerConfig serializerConfig =
+                new CompatibleFieldSerializer.CompatibleFieldSerializerConfig();
+        // 分块编码：已删除字段的数据即使其类型已不存在也可以跳过
+        serializerConfig.setChunkedEncoding(true);
+        kryo.setDefaultSerializer(new SerializerFactory.CompatibleFieldSerializerFactory(serializerConfig));
+        int registrationId = FIRST_REGISTRATION_ID;
+        for (Class<?> clazz : DEFAULT_REGISTERED_CLASSES) {
+            kryo.register(clazz, registrationId++);
+        }
+        for (Class<?> clazz : registeredClasses) {
+            kryo.register(clazz, registrationId++);
+        }
+        addWrapperCollectionSerializers(kryo);
+        return kryo;
+    }
+
+    /**
+     * {@code Arrays.asList}和{@code Collections.unmodifiableXxx}返回的集合不支持add，
+     * 默认的CollectionSerializer/MapSerializer反序列化时会抛出UnsupportedOperationException，
+     * 改为先读入可变集合再包装回原来的类型(作为默认serializer，不占用注册id)
+     */
+    @SuppressWarnings("unchecked")
+    private static void addWrapperCollectionSerializers(Kryo kryo) {
+        kryo.addDefaultSerializer(Arrays.asList().getClass(),
+                new CopyingCollectionSerializer(ArrayList::new, list -> Arrays.asList(list.toArray())));
+        // UnmodifiableRandomAccessList是UnmodifiableList的子类，同样适用
+        kryo.addDefaultSerializer(Collections.unmodifiableList(new LinkedList<>()).getClass(),
+                new CopyingCollectionSerializer(ArrayList::new,
+                        list -> Collections.unmodifiableList((List<Object>) list)));
+        kryo.addDefaultSerializer(Collections.unmodifiableSet(new HashSet<>()).getClass(),
+                new CopyingCollectionSerializer(LinkedHashSet::new,
+                        set -> Collections.unmodifiableSet((Set<Object>) set)));
+        kryo.addDefaultSerializer(Collections.unmodifiableCollection(new ArrayList<>()).getClass(),
+                new CopyingCollectionSerializer(ArrayList::new, Collections::unmodifiableCollection));
+        kryo.addDefaultSerializer(Collections.unmodifiableMap(new HashMap<>()).getClass(),
+                new UnmodifiableMapSerializer());
+    }
+
+    /**
+     * 逐个元素序列化，反序列化时读入factory创建的可变集合后由wrapper转换
+     */
+    private static final class CopyingCollectionSerializer extends Serializer<Collection<?>> {
+
+        private final Supplier<Collection<Object>> factory;
+
+        private final UnaryOperator<Collection<Object>> wrapper;
+
+        private CopyingCollectionSerializer(Supplier<Collection<Object>> factory,
+                                            UnaryOperator<Collection<Object>> wrapper) {
+            this.factory = factory;
+            this.wrapper = wrapper;
+        }
+
+        @Override
+        public void write(Kryo kryo, Output output, Collection<?> collection) {
+            output.writeVarInt(collection.size(), true);
+            for (Object element : collection) {
+                kryo.writeClassAndObject(output, element);
+            }
+        }
+
+        @Override
+        public Collection<?> read(Kryo kryo, Input input, Class<? extends Collection<?>> type) {
+            int size = input.readVarInt(true);
+            Collection<Object> collection = factory.get();
+            for (int i = 0; i < size; i++) {
+                collection.add(kryo.readClassAndObject(input));
+            }
+            return wrapper.apply(collection);
+        }
+
+    }
+
+    private static final class UnmodifiableMapSerializer extends Serializer<Map<?, ?>> {
+
+        @Override
+        public void write(Kryo kryo, Output output, Map<?, ?> map) {
+            output.writeVarInt(map.size(), true);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                kryo.writeClassAndObject(output, entry.getKey());
+                kryo.writeClassAndObject(output, entry.getValue());
+            }
+        }
+
+        @Override
+        public Map<?, ?> read(Kryo kryo, Input input, Class<? extends Map<?, ?>> type) {
+            int size = input.readVarInt(true);
+            Map<Object, Object> map = new LinkedHashMap<>(Math.max(16, size << 1));
+            for (int i = 0; i < size; i++) {
+                map.put(kryo.readClassAndObject(input), kryo.readClassAndObject(input));
+            }
+            return Collections.unmodifiableMap(map);
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.github.chengzhy.basiccode.common.redis;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+/**
+ * 迁移模式RedisSerializer
+ * <p>写入使用kryo，读取时根据格式头判断：kryo格式使用kryo读取，否则使用旧的序列化方式(jackson json)读取
+ *
+ * @author chengzhy
+ * @date 2026/10/18 14:00
+ */
+public class MigrationRedisSerializer implements RedisSerializer<Object> {
+
+    private final KryoRedisSerializer kryoRedisSerializer;
+
+    private final RedisSerializer<Object> legacyRedisSerializer;
+
+    public MigrationRedisSerializer(KryoRedisSerializer kryoRedisSerializer, RedisSerializer<Object> legacyRedisSerializer) {
+        this.kryoRedisSerializer = kryoRedisSerializer;
+        this.legacyRedisSerializer = legacyRedisSerializer;
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+        return kryoRedisSerializer.serialize(value);
+    }
+
+    @Override
+    @Nullable
+    public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        return KryoRedisSerializer.isKryoFormat(bytes) ? kryoRedisSerializer.deserialize(bytes)
+                : legacyRedisSerializer.deserialize(bytes);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.github.chengzhy.basiccode.common.redis;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * redis value序列化配置
+ * @author chengzhy
+ * @date 2026/10/18 14:00
+ */
+@Component
+@ConfigurationProperties(prefix = "redis.serializer")
+@Getter
+@Setter
+public class RedisSerializerProperties {
+
+    /**
+     * 序列化方式
+     */
+    private Type type = Type.JACKSON;
+
+    /**
+     * 迁移模式：使用kryo写入，读取时兼容已有的jackson json数据
+     */
+    private boolean migration = true;
+
+    /**
+     * 序列化结果超过该字节数时使用lz4压缩，小于等于0时不压缩
+     */
+    private int compressThreshold = 1024;
+
+    /**
+     * kryo预注册的类(注册后只写入类id而不写入类名)
+     * <p>注册顺序决定类id，所有节点必须一致，新增类只能追加在末尾
+     */
+    private List<String> registeredClasses = new ArrayList<>();
+
+    public enum Type {
+        /**
+         * Jackson2JsonRedisSerializer(带类型信息的json)
+         */
+        JACKSON,
+        /**
+         * kryo二进制序列化(可选lz4压缩)
+         */
+        KRYO
+    }
+
+}
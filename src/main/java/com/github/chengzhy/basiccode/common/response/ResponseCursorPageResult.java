@@ -0,0 +1,203 @@
+package com.github.chengzhy.basiccode.common.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.github.chengzhy.basiccode.common.Constants;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.http.HttpStatus;
+
+import java.util.StringJoiner;
+
+/**
+ * 游标分页返回响应体
+ * @author chengzhy
+ * @date 2026/10/18 16:00
+ */
+@Getter
+@Setter
+public final class ResponseCursorPageResult<T> extends AbstractResponseResult<T> {
+
+    private static final long serialVersionUID = 3179537105914286725L;
+
+    /**
+     * 下一页游标，为null时表示没有下一页
+     */
+    @JsonInclude(value = JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    /**
+     * 是否有下一页
+     */
+    private boolean hasNext;
+
+    /**
+     * 响应结果总数，未查询总数时为null
+     */
+    @JsonInclude(value = JsonInclude.Include.NON_NULL)
+    private Long total;
+
+    private ResponseCursorPageResult(int code, String message, T data, Boolean success, long timestamp,
+                                     String nextCursor, Long total) {
+        this.code = code;
+        this.message = message;
+        this.data = data;
+        this.success = success;
+        this.timestamp = timestamp;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+        this.total = total;
+    }
+
+    /**
+     * 请求成功(响应结果, 下一页游标, 响应结果总数)
+     *
+     * @author chengzhy
+     * @param data 响应结果
+     * @param nextCursor 下一页游标
+     * @param total 响应结果总数
+     * @param <E> 响应结果类型
+     * @date 2026/10/18 16:00
+     * @return 请求成功返回响应体
+     */
+    public static <E> ResponseCursorPageResult<E> success(E data, String nextCursor, Long total) {
+        return success(data, nextCursor, total, Constants.SUCCESS_MESSAGE);
+    }
+
+    /**
+     * 请求成功(响应结果, 下一页游标, 响应结果总数, 响应信息)
+     *
+     * @author chengzhy
+     * @param data 响应结果
+     * @param nextCursor 下一页游标
+     * @param total 响应结果总数
+     * @param message 响应信息
+     * @param <E> 响应结果类型
+     * @date 2026/10/18 16:00
+     * @return 请求成功返回响应体
+     */
+    public static <E> ResponseCursorPageResult<E> success(E data, String nextCursor, Long total, String message) {
+        return ResponseCursorPageResult.<E>builder()
+                .code(HttpStatus.OK.value())
+                .message(message)
+                .data(data)
+                .success(true)
+                .timestamp(System.currentTimeMillis())
+                .nextCursor(nextCursor)
+                .total(total)
+                .build();
+    }
+
+    /**
+     * 请求失败()
+     *
+     * @author chengzhy
+     * @date 2026/10/18 16:00
+     * @return 请求失败返回响应体
+     */
+    public static ResponseCursorPageResult fail() {
+        return fail(HttpStatus.INTERNAL_SERVER_ERROR.value(), Constants.FAILURE_MESSAGE);
+    }
+
+    /**
+     * 请求失败(响应编码, 响应信息)
+     *
+     * @author chengzhy
+     * @param code 响应编码
+     * @param message 响应信息
+     * @date 2026/10/18 16:00
+     * @return 请求失败返回响应体
+     */
+    public static ResponseCursorPageResult fail(int code, String message) {
+        return ResponseCursorPageResult.builder()
+                .code(code)
+                .message(message)
+                .success(false)
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", ResponseCursorPageResult.class.getSimpleName() + "[", "]")
+                .add("code=" + code)
+                .add("message='" + message + "'")
+                .add("data=" + data)
+                .add("success=" + success)
+                .add("timestamp=" + timestamp)
+                .add("nextCursor='" + nextCursor + "'")
+                .add("hasNext=" + hasNext)
+                .add("total=" + total)
+                .toString();
+    }
+
+    public static <E> Builder<E> builder() {
+        return new Builder<>();
+    }
+
+    public static final class Builder<T> {
+        private int code;
+        private String message;
+        private T data;
+        private Boolean success;
+        private long timestamp;
+        private String nextCursor;
+        private Long total;
+
+        public Builder() {
+        }
+
+        public Builder code(int code) {
+            this.code = code;
+            return this;
+        }
+
+        public Builder message(String message) {
+            this.message = message;
+            return this;
+        }
+
+        public Builder data(T data) {
+            this.data = data;
+            return this;
+        }
+
+        public Builder success(Boolean success) {
+            this.success = success;
+            return this;
+        }
+
+        public Builder timestamp(long timestamp) {
+            this.timestamp = timestamp;
+            return this;
+        }
+
+        public Builder nextCursor(String nextCursor) {
+            this.nextCursor = nextCursor;
+            return this;
+        }
+
+        public Builder total(Long total) {
+            this.total = total;
+            return this;
+        }
+
+        public ResponseCursorPageResult build() {
+            return new ResponseCursorPageResult<>(this.code, this.message, this.data, this.success, this.timestamp,
+                    this.nextCursor, this.total);
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", Builder.class.getSimpleName() + "[", "]")
+                    .add("code=" + code)
+                    .add("message='" + message + "'")
+                    .add("data=" + data)
+                    .add("success=" + success)
+                    .add("timestamp=" + timestamp)
+                    .add("nextCursor='" + nextCursor + "'")
+                    .add("total=" + total)
+                    .toString();
+        }
+    }
+
+}
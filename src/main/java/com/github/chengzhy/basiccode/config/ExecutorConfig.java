@@ -1,15 +1,31 @@
 package com.github.chengzhy.basiccode.config;
 
+import com.github.chengzhy.basiccode.async.FairExecutorProperties;
+import com.github.chengzhy.basiccode.async.FairTaskExecutor;
+import com.github.chengzhy.basiccode.async.IoExecutorProperties;
+import com.github.chengzhy.basiccode.async.MdcTaskDecorator;
+import com.github.chengzhy.basiccode.async.ThreadPoolProperties;
+import com.github.chengzhy.basiccode.async.VirtualThreadTaskExecutor;
 import com.github.chengzhy.basiccode.async.VisiableThreadPoolTaskExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
 import org.springframework.scheduling.annotation.AsyncConfigurerSupport;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+import java.util.Collections;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -26,8 +42,26 @@ public class ExecutorConfig extends AsyncConfigurerSupport {
      */
     private static final int CPU_NUM = Runtime.getRuntime().availableProcessors();
 
+    private static final String DEFAULT_EXECUTOR_PROPERTIES_PREFIX = "executor.default";
+
+    private static final String IO_EXECUTOR_PROPERTIES_PREFIX = "executor.io";
+
+    private static final String FAIR_EXECUTOR_PROPERTIES_PREFIX = "executor.fair";
+
+    private static final String BATCH_EXECUTOR_PARALLELISM = "executor.batch.parallelism";
+
+    private final Environment environment;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ExecutorConfig(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * 默认线程池
+     * <p>线程数和队列容量从{@code executor.default}读取，修改nacos配置后自动调整
      *
      * @author chengzhy
      * @date 2021/8/4 8:56
@@ -35,23 +69,152 @@ public class ExecutorConfig extends AsyncConfigurerSupport {
      */
     @Bean
     public Executor defaultExecutor() {
-        ThreadPoolTaskExecutor executor = new VisiableThreadPoolTaskExecutor();
+        ThreadPoolProperties properties = defaultExecutorProperties();
+        VisiableThreadPoolTaskExecutor executor = new VisiableThreadPoolTaskExecutor(properties.getVisibleMode());
         // 核心线程数：线程池创建时候初始化的线程数
-        executor.setCorePoolSize(CPU_NUM + 1);
+        executor.setCorePoolSize(properties.getCorePoolSize());
         // 最大线程数：线程池最大的线程数，只有在缓冲队列满了之后才会申请超过核心线程数的线程
-        executor.setMaxPoolSize(CPU_NUM << 1);
+        executor.setMaxPoolSize(properties.getMaxPoolSize());
         // 缓冲队列：用来缓冲执行任务的队列
-        executor.setQueueCapacity(1024);
-        // 允许线程的空闲时间60秒：当超过了核心线程之外的线程在空闲时间到达之后会被销毁
-        executor.setKeepAliveSeconds(60);
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        // 允许线程的空闲时间：当超过了核心线程之外的线程在空闲时间到达之后会被销毁
+        executor.setKeepAliveSeconds(properties.getKeepAliveSeconds());
         // 线程池名的前缀：设置好了之后可以方便我们定位处理任务所在的线程池
         executor.setThreadNamePrefix("defaultExecutor-");
         // 缓冲队列满了之后的拒绝策略：由调用线程处理（一般是主线程）
         executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // 传递调用线程的MDC
+        executor.setTaskDecorator(new MdcTaskDecorator());
         executor.initialize();
+        meterRegistry.ifAvailable(executor::bindTo);
         return executor;
     }
 
+    /**
+     * io密集型任务线程池({@code @Async("ioExecutor")})
+     * <p>用于mysql、redis、minio、feign等阻塞io任务，与cpu密集型的默认线程池隔离：
+     * <ul>
+     *     <li>ELASTIC：线程数按需在0到maxConcurrency之间伸缩，队列满时拒绝任务，不会占用调用方(tomcat)线程</li>
+     *     <li>VIRTUAL：JDK 21及以上使用虚拟线程，信号量限制并发数</li>
+     * </ul>
+     *
+     * @author chengzhy
+     * @date 2026/10/18 21:00
+     * @return Executor
+     */
+    @Bean
+    public Executor ioExecutor() {
+        IoExecutorProperties properties = new IoExecutorProperties();
+        Binder.get(environment).bind(IO_EXECUTOR_PROPERTIES_PREFIX, Bindable.ofInstance(properties));
+        if (properties.getMode() == IoExecutorProperties.Mode.VIRTUAL) {
+            VirtualThreadTaskExecutor executor = VirtualThreadTaskExecutor.create("ioExecutor-",
+                    properties.getMaxConcurrency(), new MdcTaskDecorator());
+            if (executor != null) {
+                return executor;
+            }
+            log.warn("ioExecutor退化为ELASTIC方式");
+        }
+        VisiableThreadPoolTaskExecutor executor =
+                new VisiableThreadPoolTaskExecutor(VisiableThreadPoolTaskExecutor.VisibleMode.METRICS);
+        // 核心线程数与最大线程数相同，任务先创建线程再入队；核心线程空闲超时后回收
+        executor.setCorePoolSize(properties.getMaxConcurrency());
+        executor.setMaxPoolSize(properties.getMaxConcurrency());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setKeepAliveSeconds(properties.getKeepAliveSeconds());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("ioExecutor-");
+        // 队列满时拒绝任务(抛出TaskRejectedException)，不在调用线程执行
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.initialize();
+        meterRegistry.ifAvailable(executor::bindTo);
+        return executor;
+    }
+
+    /**
+     * 按优先级和租户公平调度的线程池({@code @Async("fairExecutor")}或{@code @FairAsync})
+     * <p>高优先级的延迟敏感任务不会被大量低优先级后台任务阻塞，同一优先级内各租户轮流执行
+     *
+     * @author chengzhy
+     * @date 2026/10/18 22:00
+     * @return Executor
+     */
+    @Bean
+    public FairTaskExecutor fairExecutor() {
+        FairExecutorProperties properties = new FairExecutorProperties();
+        properties.setPoolSize(CPU_NUM + 1);
+        Binder.get(environment).bind(FAIR_EXECUTOR_PROPERTIES_PREFIX, Bindable.ofInstance(properties));
+        FairTaskExecutor executor = new FairTaskExecutor();
+        // 任务只有进入缓冲队列才按优先级调度，核心线程数与最大线程数相同
+        executor.setCorePoolSize(properties.getPoolSize());
+        executor.setMaxPoolSize(properties.getPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setMaxQueuedPerTenant(properties.getMaxQueuedPerTenant());
+        executor.setWeights(properties.getWeights());
+        executor.setThreadNamePrefix("fairExecutor-");
+        // 队列满或租户排队数超限时拒绝任务(抛出TaskRejectedException)，不在调用线程执行，避免绕过优先级和租户隔离
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.initialize();
+        meterRegistry.ifAvailable(executor::bindTo);
+        return executor;
+    }
+
+    /**
+     * 批处理线程池({@link com.github.chengzhy.basiccode.async.AsyncService#submitBatch AsyncService#submitBatch})
+     * <p>work-stealing的ForkJoinPool，用于cpu密集的大集合并行处理，与默认线程池隔离，
+     * 批处理占满时不影响{@code @Async}任务；并行度从{@code executor.batch.parallelism}读取，默认为cpu核数
+     *
+     * @author chengzhy
+     * @date 2026/10/18 21:30
+     * @return ForkJoinPool
+     */
+    @Bean
+    public ForkJoinPool batchExecutor() {
+        int parallelism = Binder.get(environment).bind(BATCH_EXECUTOR_PARALLELISM, Integer.class).orElse(CPU_NUM);
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("batchExecutor-" + thread.getPoolIndex());
+            return thread;
+        };
+        // asyncMode：提交后不join的任务按先进先出执行
+        ForkJoinPool executor = new ForkJoinPool(parallelism, threadFactory,
+                (thread, ex) -> log.error("批处理线程{}出现异常！", thread.getName(), ex), true);
+        meterRegistry.ifAvailable(registry ->
+                new ExecutorServiceMetrics(executor, "batchExecutor", Collections.emptyList()).bindTo(registry));
+        return executor;
+    }
+
+    /**
+     * 配置变更时动态调整默认线程池
+     *
+     * @author chengzhy
+     * @param event 配置变更事件
+     * @date 2026/10/18 20:45
+     */
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().noneMatch(key -> key.startsWith(DEFAULT_EXECUTOR_PROPERTIES_PREFIX + "."))) {
+            return;
+        }
+        ThreadPoolProperties properties = defaultExecutorProperties();
+        try {
+            ((VisiableThreadPoolTaskExecutor) defaultExecutor()).resize(properties.getCorePoolSize(),
+                    properties.getMaxPoolSize(), properties.getQueueCapacity());
+        } catch (IllegalArgumentException e) {
+            log.error("默认线程池调整失败！", e);
+        }
+    }
+
+    private ThreadPoolProperties defaultExecutorProperties() {
+        ThreadPoolProperties properties = new ThreadPoolProperties();
+        properties.setCorePoolSize(CPU_NUM + 1);
+        properties.setMaxPoolSize(CPU_NUM << 1);
+        properties.setQueueCapacity(1024);
+        Binder.get(environment).bind(DEFAULT_EXECUTOR_PROPERTIES_PREFIX, Bindable.ofInstance(properties));
+        return properties;
+    }
+
     /**
      * 定时任务线程池
      *
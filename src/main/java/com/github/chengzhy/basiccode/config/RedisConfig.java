@@ -5,24 +5,49 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.github.chengzhy.basiccode.cache.BasicRedisCacheManager;
+import com.github.chengzhy.basiccode.cache.multilevel.CacheInvalidationListener;
+import com.github.chengzhy.basiccode.cache.multilevel.MultiLevelCacheManager;
+import com.github.chengzhy.basiccode.cache.multilevel.MultiLevelCacheProperties;
+import com.github.chengzhy.basiccode.cache.stampede.JitterRedisCacheWriter;
+import com.github.chengzhy.basiccode.cache.stampede.StampedeProtectedCache;
+import com.github.chengzhy.basiccode.cache.stampede.StampedeProtectionProperties;
+import com.github.chengzhy.basiccode.common.redis.KryoRedisSerializer;
+import com.github.chengzhy.basiccode.common.redis.MigrationRedisSerializer;
+import com.github.chengzhy.basiccode.common.redis.RedisSerializerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurerSupport;
 import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCache;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.ClassUtils;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 /**
  * redis相关配置
@@ -36,6 +61,20 @@ public class RedisConfig extends CachingConfigurerSupport {
     @Value("${spring.application.name}")
     private String appName;
 
+    private final StampedeProtectionProperties stampedeProtectionProperties;
+
+    private final ObjectProvider<RedissonClient> redissonClient;
+
+    private final ObjectProvider<Executor> defaultExecutor;
+
+    public RedisConfig(StampedeProtectionProperties stampedeProtectionProperties,
+                       ObjectProvider<RedissonClient> redissonClient,
+                       @Qualifier("defaultExecutor") ObjectProvider<Executor> defaultExecutor) {
+        this.stampedeProtectionProperties = stampedeProtectionProperties;
+        this.redissonClient = redissonClient;
+        this.defaultExecutor = defaultExecutor;
+    }
+
     /**
      * redis异常cache处理
      *
@@ -73,26 +112,58 @@ public class RedisConfig extends CachingConfigurerSupport {
      *
      * @author chengzhy
      * @param connectionFactory RedisConnectionFactory
+     * @param redisSerializerProperties redis value序列化配置
      * @date 2021/8/4 11:10
      * @return redisTemplate
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       RedisSerializerProperties redisSerializerProperties) {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
         redisTemplate.setConnectionFactory(connectionFactory);
         redisTemplate.setKeySerializer(RedisSerializer.string());
         redisTemplate.setHashKeySerializer(RedisSerializer.string());
+        // value的序列化方式同时作用于cacheManager
+        RedisSerializer<Object> valueSerializer = valueSerializer(redisSerializerProperties);
+        redisTemplate.setValueSerializer(valueSerializer);
+        redisTemplate.setHashValueSerializer(valueSerializer);
+        return redisTemplate;
+    }
+
+    /**
+     * redis value序列化方式
+     *
+     * @author chengzhy
+     * @param redisSerializerProperties redis value序列化配置
+     * @date 2026/10/18 14:00
+     * @return RedisSerializer
+     */
+    private RedisSerializer<Object> valueSerializer(RedisSerializerProperties redisSerializerProperties) {
+        if (redisSerializerProperties.getType() == RedisSerializerProperties.Type.JACKSON) {
+            return jackson2JsonRedisSerializer();
+        }
+        List<Class<?>> registeredClasses = new ArrayList<>();
+        for (String className : redisSerializerProperties.getRegisteredClasses()) {
+            registeredClasses.add(ClassUtils.resolveClassName(className, ClassUtils.getDefaultClassLoader()));
+        }
+        KryoRedisSerializer kryoRedisSerializer = new KryoRedisSerializer(registeredClasses,
+                redisSerializerProperties.getCompressThreshold());
+        // 迁移模式下仍可读取已有的json数据
+        return redisSerializerProperties.isMigration()
+                ? new MigrationRedisSerializer(kryoRedisSerializer, jackson2JsonRedisSerializer())
+                : kryoRedisSerializer;
+    }
+
+    private Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer() {
         // 使用Jackson2JsonRedisSerializer来序列化和反序列化redis的value值
-        Jackson2JsonRedisSerializer jackson2JsonRedisSerializer = new Jackson2JsonRedisSerializer(Object.class);
+        Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer = new Jackson2JsonRedisSerializer<>(Object.class);
         ObjectMapper objectMapper = new ObjectMapper();
         // 指定要序列化的域、field、get和set，以及修饰符范围，ANY是都有包括private和public
         objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
         objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
                 ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.WRAPPER_ARRAY);
         jackson2JsonRedisSerializer.setObjectMapper(objectMapper);
-        redisTemplate.setValueSerializer(jackson2JsonRedisSerializer);
-        redisTemplate.setHashValueSerializer(jackson2JsonRedisSerializer);
-        return redisTemplate;
+        return jackson2JsonRedisSerializer;
     }
 
     /**
@@ -105,18 +176,98 @@ public class RedisConfig extends CachingConfigurerSupport {
      */
     @Bean
     public CacheManager cacheManager(RedisTemplate<String, Object> redisTemplate) {
-        return RedisCacheManager
-                .builder(RedisCacheWriter.nonLockingRedisCacheWriter(redisTemplate.getConnectionFactory()))
-                .cacheDefaults(getRedisCacheConfigurationWithTtl(redisTemplate, 3600L))
-                /**
-                 * 自定义缓存配置
-                 * .withCacheConfiguration("userInfo", getRedisCacheConfigurationWithTtl(redisTemplate, 60L))
-                 * or
-                 * .withInitialCacheConfigurations()
-                 */
-                // 配置同步修改或删除 put/evict
-                .transactionAware()
-                .build();
+        BasicRedisCacheManager cacheManager = redisCacheManager(redisTemplate);
+        // 配置同步修改或删除 put/evict
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    /**
+     * 二级缓存cacheManager(caffeine + redis)
+     * <p>开启{@code cache.multi-level.enable}后作为主cacheManager，
+     * 在redis缓存前增加一层进程内的caffeine缓存，并通过redis发布订阅同步删除各节点的一级缓存
+     *
+     * @author chengzhy
+     * @param redisTemplate redisTemplate
+     * @param multiLevelCacheProperties 二级缓存配置
+     * @param meterRegistry 监控指标注册器
+     * @date 2026/10/18 9:30
+     * @return multiLevelCacheManager
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "cache.multi-level", value = "enable", havingValue = "true")
+    public MultiLevelCacheManager multiLevelCacheManager(RedisTemplate<String, Object> redisTemplate,
+                                                         MultiLevelCacheProperties multiLevelCacheProperties,
+                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        // 事务同步由外层二级缓存统一处理，内层redis cacheManager不再开启transactionAware
+        BasicRedisCacheManager redisCacheManager = redisCacheManager(redisTemplate);
+        // 内层cacheManager不是bean，需要手动初始化，否则initialCacheConfigurations中的缓存配置(如过期时间)不生效
+        redisCacheManager.afterPropertiesSet();
+        MultiLevelCacheManager multiLevelCacheManager = new MultiLevelCacheManager(
+                redisCacheManager, redisTemplate, multiLevelCacheProperties,
+                getCacheInvalidationTopic(multiLevelCacheProperties), meterRegistry.getIfAvailable());
+        multiLevelCacheManager.setTransactionAware(true);
+        return multiLevelCacheManager;
+    }
+
+    /**
+     * 二级缓存失效通知监听容器
+     *
+     * @author chengzhy
+     * @param connectionFactory RedisConnectionFactory
+     * @param redisTemplate redisTemplate
+     * @param multiLevelCacheManager 二级缓存cacheManager
+     * @param multiLevelCacheProperties 二级缓存配置
+     * @date 2026/10/18 9:30
+     * @return RedisMessageListenerContainer
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.multi-level", value = "enable", havingValue = "true")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           RedisTemplate<String, Object> redisTemplate,
+                                                                           MultiLevelCacheManager multiLevelCacheManager,
+                                                                           MultiLevelCacheProperties multiLevelCacheProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                new CacheInvalidationListener(multiLevelCacheManager, redisTemplate.getValueSerializer()),
+                new ChannelTopic(getCacheInvalidationTopic(multiLevelCacheProperties)));
+        return container;
+    }
+
+    /**
+     * 创建redis cacheManager
+     * <p>开启{@code cache.stampede.enable}后过期时间增加随机抖动，并对缓存加载进行击穿防护
+     *
+     * @author chengzhy
+     * @param redisTemplate redisTemplate
+     * @date 2026/10/18 11:00
+     * @return BasicRedisCacheManager
+     */
+    private BasicRedisCacheManager redisCacheManager(RedisTemplate<String, Object> redisTemplate) {
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(redisTemplate.getConnectionFactory());
+        Function<RedisCache, Cache> redisCacheDecorator = null;
+        if (stampedeProtectionProperties.isEnable()) {
+            cacheWriter = new JitterRedisCacheWriter(cacheWriter, stampedeProtectionProperties.getTtlJitterRatio());
+            RedissonClient redissonClient = this.redissonClient.getIfAvailable();
+            Executor refreshExecutor = this.defaultExecutor.getObject();
+            redisCacheDecorator = redisCache -> new StampedeProtectedCache(redisCache, stampedeProtectionProperties,
+                    redissonClient, refreshExecutor);
+        }
+        Map<String, RedisCacheConfiguration> initialCacheConfigurations = new HashMap<>();
+        /**
+         * 自定义缓存配置
+         * initialCacheConfigurations.put("userInfo", getRedisCacheConfigurationWithTtl(redisTemplate, 60L));
+         */
+        // 游标分页的总数只需近似值，缓存60秒
+        initialCacheConfigurations.put("userInfoCount", getRedisCacheConfigurationWithTtl(redisTemplate, 60L));
+        return new BasicRedisCacheManager(cacheWriter, getRedisCacheConfigurationWithTtl(redisTemplate, 3600L),
+                initialCacheConfigurations, redisTemplate.getConnectionFactory(), redisCacheDecorator);
+    }
+
+    private String getCacheInvalidationTopic(MultiLevelCacheProperties multiLevelCacheProperties) {
+        return appName.concat(":").concat(multiLevelCacheProperties.getTopic());
     }
 
     /**
@@ -1,7 +1,10 @@
 package com.github.chengzhy.basiccode.config;
 
+import com.github.chengzhy.basiccode.schedule.metrics.InstrumentedTaskScheduler;
+import com.github.chengzhy.basiccode.schedule.metrics.ScheduledTaskMetrics;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
 import java.util.concurrent.Executor;
@@ -18,12 +21,15 @@ public class ScheduleConfig implements SchedulingConfigurer {
 
     private final Executor scheduledExecutor;
 
-    public ScheduleConfig(Executor scheduledExecutor) {
+    private final ScheduledTaskMetrics scheduledTaskMetrics;
+
+    public ScheduleConfig(Executor scheduledExecutor, ScheduledTaskMetrics scheduledTaskMetrics) {
         this.scheduledExecutor = scheduledExecutor;
+        this.scheduledTaskMetrics = scheduledTaskMetrics;
     }
 
     /**
-     * 配置定时任务所使用的线程池
+     * 配置定时任务所使用的线程池，并记录各任务的执行统计
      *
      * @author chengzhy
      * @param scheduledTaskRegistrar scheduledTaskRegistrar
@@ -31,7 +37,13 @@ public class ScheduleConfig implements SchedulingConfigurer {
      */
     @Override
     public void configureTasks(ScheduledTaskRegistrar scheduledTaskRegistrar) {
-        scheduledTaskRegistrar.setScheduler(scheduledExecutor);
+        if (scheduledExecutor instanceof ThreadPoolTaskScheduler) {
+            ThreadPoolTaskScheduler taskScheduler = (ThreadPoolTaskScheduler) scheduledExecutor;
+            scheduledTaskMetrics.bindTo(taskScheduler);
+            scheduledTaskRegistrar.setTaskScheduler(new InstrumentedTaskScheduler(taskScheduler, scheduledTaskMetrics));
+        } else {
+            scheduledTaskRegistrar.setScheduler(scheduledExecutor);
+        }
     }
 
 }
@@ -1,12 +1,27 @@
 package com.github.chengzhy.basiccode.demo.controller;
 
+import com.github.chengzhy.basiccode.aspect.idempotent.annotation.Idempotent;
+import com.github.chengzhy.basiccode.aspect.ratelimit.annotation.RateLimited;
+import com.github.chengzhy.basiccode.common.pojo.dto.BatchIdsDTO;
+import com.github.chengzhy.basiccode.common.pojo.dto.BulkSaveReportDTO;
+import com.github.chengzhy.basiccode.common.pojo.dto.CursorPageDTO;
+import com.github.chengzhy.basiccode.common.response.ResponseCursorPageResult;
 import com.github.chengzhy.basiccode.common.response.ResponsePageResult;
 import com.github.chengzhy.basiccode.common.response.ResponseResult;
 import com.github.chengzhy.basiccode.demo.entity.UserInfo;
 import com.github.chengzhy.basiccode.demo.service.UserInfoService;
 import com.github.pagehelper.PageInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -16,8 +31,14 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/v1/userInfo")
+@Slf4j
 public class UserInfoController {
 
+    /**
+     * 导出写出缓冲区大小，缓冲区写满后阻塞在servlet输出流上，客户端读取慢时不会在内存中堆积数据
+     */
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final UserInfoService userInfoService;
 
     public UserInfoController(UserInfoService userInfoService) {
@@ -46,6 +67,32 @@ public class UserInfoController {
         return ResponsePageResult.success(pageInfo.getList(), pageInfo.getTotal());
     }
 
+    /**
+     * 用户信息游标分页列表
+     * <p>深分页时使用该接口代替{@code /pagelist}，第一页不传cursor，之后传入上一页返回的nextCursor
+     *
+     * @author chengzhy
+     * @param cursor 上一页返回的游标
+     * @param pageSize 每页大小
+     * @param userName 用户名
+     * @param emailAddress 邮箱地址
+     * @param mobilePhone 电话号码
+     * @param withTotal 是否返回总数
+     * @date 2026/10/18 16:00
+     * @return 用户信息游标分页列表
+     */
+    @GetMapping("/cursorPagelist")
+    public ResponseCursorPageResult<List<UserInfo>> cursorPagelistUserInfo(@RequestParam(required = false) String cursor,
+                                                                           @RequestParam(defaultValue = "10") Integer pageSize,
+                                                                           @RequestParam(required = false) String userName,
+                                                                           @RequestParam(required = false) String emailAddress,
+                                                                           @RequestParam(required = false) String mobilePhone,
+                                                                           @RequestParam(defaultValue = "false") Boolean withTotal) {
+        CursorPageDTO<UserInfo> cursorPage = userInfoService.cursorPagelistUserInfo(cursor, pageSize, userName,
+                emailAddress, mobilePhone, withTotal);
+        return ResponseCursorPageResult.success(cursorPage.getList(), cursorPage.getNextCursor(), cursorPage.getTotal());
+    }
+
     /**
      * 根据用户id获取用户信息
      *
@@ -55,8 +102,71 @@ public class UserInfoController {
      * @return 用户信息
      */
     @GetMapping("/get")
+    @RateLimited(rate = 2000L, prefetch = 20)
     public ResponseResult<UserInfo> getUserInfo(@RequestParam("id") String id) {
         return ResponseResult.success(userInfoService.getUserInfo(id).orElse(null));
     }
 
+    /**
+     * 根据用户id批量获取用户信息
+     *
+     * @author chengzhy
+     * @param batchIdsDTO 用户id集合
+     * @date 2026/10/18 15:30
+     * @return 按请求顺序排列的用户信息
+     */
+    @PostMapping("/batchGet")
+    public ResponseResult<List<UserInfo>> batchGetUserInfo(@RequestBody BatchIdsDTO batchIdsDTO) {
+        return ResponseResult.success(userInfoService.batchGetUserInfo(batchIdsDTO.getIds()));
+    }
+
+    /**
+     * 批量写入用户信息
+     *
+     * @author chengzhy
+     * @param userInfoList 用户信息
+     * @param upsert 主键冲突时是否更新
+     * @date 2026/10/18 17:00
+     * @return 每批的写入结果、耗时和吞吐量
+     */
+    @PostMapping("/bulkSave")
+    @RateLimited(rate = 10L)
+    @Idempotent(processingTimeout = 600L, waitTime = 30L)
+    public ResponseResult<BulkSaveReportDTO> bulkSaveUserInfo(@RequestBody List<UserInfo> userInfoList,
+                                                              @RequestParam(defaultValue = "false") Boolean upsert) {
+        return ResponseResult.success(userInfoService.bulkSaveUserInfo(userInfoList, upsert));
+    }
+
+    /**
+     * 流式导出用户信息
+     *
+     * @author chengzhy
+     * @param format 导出格式(NDJSON|CSV)
+     * @param userName 用户名
+     * @param emailAddress 邮箱地址
+     * @param mobilePhone 电话号码
+     * @param response HttpServletResponse
+     * @date 2026/10/18 16:30
+     * @throws IOException 写出异常
+     */
+    @GetMapping("/export")
+    @RateLimited(rate = 5L)
+    public void exportUserInfo(@RequestParam(defaultValue = "NDJSON") UserInfoService.ExportFormatEnum format,
+                               @RequestParam(required = false) String userName,
+                               @RequestParam(required = false) String emailAddress,
+                               @RequestParam(required = false) String mobilePhone,
+                               HttpServletResponse response) throws IOException {
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment")
+                .filename("userInfo." + format.getExtension()).build().toString());
+        long startTime = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+        long rows = userInfoService.exportUserInfo(format, userName, emailAddress, mobilePhone, writer);
+        writer.flush();
+        log.info("[userInfo export] format=[{}], rows=[{}], cost=[{}ms]", format, rows,
+                System.currentTimeMillis() - startTime);
+    }
+
 }
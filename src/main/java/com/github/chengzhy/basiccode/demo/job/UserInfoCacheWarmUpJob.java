@@ -0,0 +1,82 @@
+package com.github.chengzhy.basiccode.demo.job;
+
+import com.github.chengzhy.basiccode.demo.entity.UserInfo;
+import com.github.chengzhy.basiccode.demo.service.UserInfoService;
+import com.github.chengzhy.basiccode.schedule.sharding.ShardingContext;
+import com.github.chengzhy.basiccode.schedule.sharding.ShardingCoordinator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户信息缓存预热定时任务(分片)
+ * <p>USER_INFO按id范围分片，每个实例只预热自己分到的id区间；处理期间重新分片时停止本次处理
+ *
+ * @author chengzhy
+ * @date 2026/10/18 23:00
+ */
+@ConditionalOnProperty(prefix = "sharding", value = "enable", havingValue = "true")
+@Component
+@Slf4j
+public class UserInfoCacheWarmUpJob {
+
+    private final UserInfoService userInfoService;
+
+    private final ShardingCoordinator shardingCoordinator;
+
+    /**
+     * 每批条数
+     */
+    private final int batchSize;
+
+    public UserInfoCacheWarmUpJob(UserInfoService userInfoService, ShardingCoordinator shardingCoordinator,
+                                  @Value("${user-info.cache-warm-up.batch-size:500}") int batchSize) {
+        this.userInfoService = userInfoService;
+        this.shardingCoordinator = shardingCoordinator;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 预热当前分片的用户信息缓存，默认不执行(cron为"-")
+     *
+     * @author chengzhy
+     * @date 2026/10/18 23:00
+     */
+    @Scheduled(cron = "${user-info.cache-warm-up.cron:-}")
+    public void warmUp() {
+        ShardingContext context = shardingCoordinator.getContext();
+        if (!context.isActive()) {
+            log.info("[userInfo cache warm up] instance is not in sharding group, skip");
+            return;
+        }
+        long[] bounds = userInfoService.getUserInfoIdBounds();
+        ShardingContext.IdRange range = bounds == null ? null : context.range(bounds[0], bounds[1]);
+        if (range == null) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        long rows = 0L;
+        long fromId = range.getFrom();
+        while (true) {
+            if (!shardingCoordinator.isCurrent(context)) {
+                log.info("[userInfo cache warm up] rebalanced, stop: shard=[{}/{}], range=[{}], next=[{}]",
+                        context.getIndex(), context.getTotal(), range, fromId);
+                return;
+            }
+            List<UserInfo> userInfoList = userInfoService.warmUpUserInfoCache(fromId, range.getTo(), batchSize);
+            rows += userInfoList.size();
+            if (userInfoList.size() < batchSize) {
+                break;
+            }
+            fromId = userInfoList.get(userInfoList.size() - 1).getId() + 1;
+        }
+        log.info("[userInfo cache warm up] shard=[{}/{}], range=[{}], rows=[{}], cost=[{}ms]", context.getIndex(),
+                context.getTotal(), range, rows, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+    }
+
+}
@@ -3,8 +3,11 @@ package com.github.chengzhy.basiccode.demo.mapper;
 import com.github.chengzhy.basiccode.common.mybatis.BasicMapper;
 import com.github.chengzhy.basiccode.demo.entity.UserInfo;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 用户信息Mapper
@@ -27,4 +30,84 @@ public interface UserInfoMapper extends BasicMapper<UserInfo> {
                                       @Param("emailAddress") String emailAddress,
                                       @Param("mobilePhone") String mobilePhone);
 
+    /**
+     * 条件查询游标之后的一页数据(按创建时间、id倒序，创建时间为空的数据排在最后)
+     *
+     * @author chengzhy
+     * @param userName 用户名
+     * @param emailAddress 邮箱地址
+     * @param mobilePhone 手机号码
+     * @param cursorCreateTime 游标位置的创建时间，为null时表示游标位置的创建时间为空
+     * @param cursorId 游标位置的用户id，为null时从第一条开始
+     * @param limit 查询条数
+     * @date 2026/10/18 16:00
+     * @return 用户信息结果集
+     */
+    List<UserInfo> selectByConditionsAfter(@Param("userName") String userName,
+                                           @Param("emailAddress") String emailAddress,
+                                           @Param("mobilePhone") String mobilePhone,
+                                           @Param("cursorCreateTime") LocalDateTime cursorCreateTime,
+                                           @Param("cursorId") Long cursorId,
+                                           @Param("limit") int limit);
+
+    /**
+     * 条件流式查询
+     * <p>返回的游标需要在事务中遍历，遍历完成后关闭
+     *
+     * @author chengzhy
+     * @param userName 用户名
+     * @param emailAddress 邮箱地址
+     * @param mobilePhone 手机号码
+     * @date 2026/10/18 16:30
+     * @return 用户信息游标
+     */
+    Cursor<UserInfo> streamByConditions(@Param("userName") String userName,
+                                        @Param("emailAddress") String emailAddress,
+                                        @Param("mobilePhone") String mobilePhone);
+
+    /**
+     * 条件查询总数
+     *
+     * @author chengzhy
+     * @param userName 用户名
+     * @param emailAddress 邮箱地址
+     * @param mobilePhone 手机号码
+     * @date 2026/10/18 16:00
+     * @return 总数
+     */
+    long countByConditions(@Param("userName") String userName,
+                           @Param("emailAddress") String emailAddress,
+                           @Param("mobilePhone") String mobilePhone);
+
+    /**
+     * 批量写入，主键或唯一键冲突时更新
+     *
+     * @author chengzhy
+     * @param userInfoList 用户信息
+     * @date 2026/10/18 17:00
+     * @return 影响行数(mysql中插入计1，更新计2)
+     */
+    int upsertList(@Param("list") List<UserInfo> userInfoList);
+
+    /**
+     * 最小和最大的用户id
+     *
+     * @author chengzhy
+     * @date 2026/10/18 23:00
+     * @return minId和maxId，没有数据时为null
+     */
+    Map<String, Object> selectIdBounds();
+
+    /**
+     * 按id升序查询id区间内的一批数据
+     *
+     * @author chengzhy
+     * @param fromId 起始id(包含)
+     * @param toId 结束id(包含)
+     * @param limit 查询条数
+     * @date 2026/10/18 23:00
+     * @return 用户信息结果集
+     */
+    List<UserInfo> selectByIdRange(@Param("fromId") long fromId, @Param("toId") long toId, @Param("limit") int limit);
+
 }
@@ -1,11 +1,16 @@
 package com.github.chengzhy.basiccode.demo.service;
 
+import com.github.chengzhy.basiccode.common.pojo.dto.BulkSaveReportDTO;
+import com.github.chengzhy.basiccode.common.pojo.dto.CursorPageDTO;
 import com.github.chengzhy.basiccode.demo.entity.UserInfo;
 import com.github.pagehelper.PageInfo;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.lang.NonNull;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -31,15 +36,127 @@ public interface UserInfoService {
     PageInfo<UserInfo> pagelistUserInfo(int pageNum, int pageSize, String userName,
                                         String emailAddress, String mobilePhone);
 
+    /**
+     * 用户信息游标分页列表
+     * <p>按创建时间、id倒序，使用上一页返回的游标定位，不会随页数增加而变慢
+     *
+     * @author chengzhy
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param pageSize 每页大小
+     * @param userName 用户名
+     * @param emailAddress 邮箱地址
+     * @param mobilePhone 电话号码
+     * @param withTotal 是否查询总数(总数会缓存一段时间)
+     * @date 2026/10/18 16:00
+     * @return 用户信息游标分页列表
+     */
+    CursorPageDTO<UserInfo> cursorPagelistUserInfo(String cursor, int pageSize, String userName,
+                                                   String emailAddress, String mobilePhone, boolean withTotal);
+
     /**
      * 根据用户id获取用户信息
+     * <p>sync加载，同一个key的并发加载由缓存合并；用户不存在时不缓存(开启击穿防护时缓存短时间的空值标记)
      *
      * @author chengzhy
      * @param id 用户id
      * @date 2021/8/24 15:23
      * @return 用户信息
      */
-    @Cacheable(key = "#id", unless = "#result == null")
+    @Cacheable(key = "#id", sync = true)
     Optional<UserInfo> getUserInfo(@NonNull String id);
 
+    /**
+     * 根据用户id批量获取用户信息
+     * <p>先从userInfo缓存批量获取，未命中的id一次查询数据库并回填缓存
+     *
+     * @author chengzhy
+     * @param ids 用户id集合
+     * @date 2026/10/18 15:30
+     * @return 按请求顺序(去重后)排列的用户信息，不存在的用户不返回
+     */
+    List<UserInfo> batchGetUserInfo(List<String> ids);
+
+    /**
+     * 流式导出用户信息(不包含密码)
+     * <p>逐行读取数据库并写出，内存占用与导出行数无关
+     *
+     * @author chengzhy
+     * @param format 导出格式
+     * @param userName 用户名
+     * @param emailAddress 邮箱地址
+     * @param mobilePhone 电话号码
+     * @param writer 输出
+     * @date 2026/10/18 16:30
+     * @return 导出行数
+     * @throws IOException 写出异常(如客户端断开连接)
+     */
+    long exportUserInfo(ExportFormatEnum format, String userName, String emailAddress, String mobilePhone,
+                        Writer writer) throws IOException;
+
+    /**
+     * 批量写入用户信息
+     * <p>校验全部通过后按批写入，每批一个事务，各批在defaultExecutor上并行执行；
+     * 某一批失败只回滚该批，不影响其它批
+     *
+     * @author chengzhy
+     * @param userInfoList 用户信息
+     * @param upsert 主键冲突时是否更新(否则冲突时该批失败)
+     * @date 2026/10/18 17:00
+     * @return 每批的写入结果、耗时和吞吐量
+     */
+    BulkSaveReportDTO bulkSaveUserInfo(List<UserInfo> userInfoList, boolean upsert);
+
+    /**
+     * 用户id的范围
+     *
+     * @author chengzhy
+     * @date 2026/10/18 23:00
+     * @return [最小id, 最大id]，没有数据时返回null
+     */
+    long[] getUserInfoIdBounds();
+
+    /**
+     * 按id区间分批预热userInfo缓存
+     * <p>按id升序查询区间内最多limit条数据并写入缓存，调用方以本批最后一个id + 1作为下一批的起始id
+     *
+     * @author chengzhy
+     * @param fromId 起始id(包含)
+     * @param toId 结束id(包含)
+     * @param limit 每批条数
+     * @date 2026/10/18 23:00
+     * @return 本批用户信息，少于limit条时说明区间内已没有剩余数据
+     */
+    List<UserInfo> warmUpUserInfoCache(long fromId, long toId, int limit);
+
+    /**
+     * 导出格式
+     */
+    enum ExportFormatEnum {
+        /**
+         * 每行一个json对象
+         */
+        NDJSON("application/x-ndjson", "ndjson"),
+        /**
+         * csv
+         */
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+
+        private final String extension;
+
+        ExportFormatEnum(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
 }
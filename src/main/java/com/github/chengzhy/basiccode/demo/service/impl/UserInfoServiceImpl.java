@@ -1,14 +1,57 @@
 package com.github.chengzhy.basiccode.demo.service.impl;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.github.chengzhy.basiccode.async.AsyncService;
+import com.github.chengzhy.basiccode.async.BatchOptions;
+import com.github.chengzhy.basiccode.async.BatchResult;
+import com.github.chengzhy.basiccode.cache.BatchCache;
+import com.github.chengzhy.basiccode.common.pojo.dto.BulkSaveReportDTO;
+import com.github.chengzhy.basiccode.common.pojo.dto.CursorPageDTO;
 import com.github.chengzhy.basiccode.demo.entity.UserInfo;
 import com.github.chengzhy.basiccode.demo.mapper.UserInfoMapper;
 import com.github.chengzhy.basiccode.demo.service.UserInfoService;
+import com.github.chengzhy.basiccode.exception.runtime.BusinessException;
+import com.github.chengzhy.basiccode.util.AssertUtils;
 import com.github.pagehelper.PageHelper;
 import com.github.pagehelper.PageInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 用户信息Service实现
@@ -16,12 +59,86 @@ import java.util.Optional;
  * @date 2021/8/24 15:28
  */
 @Service
+@Slf4j
 public class UserInfoServiceImpl implements UserInfoService {
 
+    private static final String USER_INFO_CACHE_NAME = "userInfo";
+
+    private static final String USER_INFO_COUNT_CACHE_NAME = "userInfoCount";
+
+    /**
+     * 游标分页每页最大条数
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
+    private static final String CURSOR_SEPARATOR = "_";
+
+    /**
+     * 游标中创建时间为空时的占位值
+     */
+    private static final String CURSOR_NULL_VALUE = "null";
+
+    /**
+     * 批量获取时单次请求最多的id数量
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * 批量获取时每批缓存读取和数据库查询的id数量
+     */
+    private static final int BATCH_CHUNK_SIZE = 200;
+
+    /**
+     * 导出时每写出多少行刷新一次输出
+     */
+    private static final int EXPORT_FLUSH_ROWS = 1000;
+
+    private static final String[] EXPORT_CSV_HEADER = {"id", "userName", "emailAddress", "mobilePhone", "createTime"};
+
+    private static final DateTimeFormatter EXPORT_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * 批量写入校验失败时最多返回的错误条数
+     */
+    private static final int MAX_VIOLATION_MESSAGES = 10;
+
     private final UserInfoMapper userInfoMapper;
 
-    public UserInfoServiceImpl(UserInfoMapper userInfoMapper) {
+    private final CacheManager cacheManager;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor defaultExecutor;
+
+    private final AsyncService asyncService;
+
+    /**
+     * 批量写入每批(每个事务)的行数
+     */
+    private final int bulkSaveChunkSize;
+
+    /**
+     * 批量写入单次请求最多的行数
+     */
+    private final int bulkSaveMaxSize;
+
+    public UserInfoServiceImpl(UserInfoMapper userInfoMapper, CacheManager cacheManager, Validator validator,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier("defaultExecutor") Executor defaultExecutor, AsyncService asyncService,
+                               @Value("${user-info.bulk-save.chunk-size:500}") int bulkSaveChunkSize,
+                               @Value("${user-info.bulk-save.max-size:100000}") int bulkSaveMaxSize) {
         this.userInfoMapper = userInfoMapper;
+        this.cacheManager = cacheManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultExecutor = defaultExecutor;
+        this.asyncService = asyncService;
+        this.bulkSaveChunkSize = bulkSaveChunkSize;
+        this.bulkSaveMaxSize = bulkSaveMaxSize;
     }
 
     /**
@@ -35,6 +152,33 @@ public class UserInfoServiceImpl implements UserInfoService {
         return new PageInfo<>(userInfoList);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageDTO<UserInfo> cursorPagelistUserInfo(String cursor, int pageSize, String userName,
+                                                          String emailAddress, String mobilePhone, boolean withTotal) {
+        AssertUtils.isTrue(pageSize > 0 && pageSize <= MAX_CURSOR_PAGE_SIZE, HttpStatus.BAD_REQUEST,
+                () -> "每页大小必须在1到" + MAX_CURSOR_PAGE_SIZE + "之间！");
+        LocalDateTime cursorCreateTime = null;
+        Long cursorId = null;
+        if (StringUtils.isNotBlank(cursor)) {
+            String[] cursorValues = decodeCursor(cursor);
+            cursorCreateTime = CURSOR_NULL_VALUE.equals(cursorValues[0]) ? null : LocalDateTime.parse(cursorValues[0]);
+            cursorId = Long.parseLong(cursorValues[1]);
+        }
+        // 多查一条用于判断是否有下一页，避免count查询
+        List<UserInfo> userInfoList = userInfoMapper.selectByConditionsAfter(userName, emailAddress, mobilePhone,
+                cursorCreateTime, cursorId, pageSize + 1);
+        String nextCursor = null;
+        if (userInfoList.size() > pageSize) {
+            userInfoList = new ArrayList<>(userInfoList.subList(0, pageSize));
+            nextCursor = encodeCursor(userInfoList.get(pageSize - 1));
+        }
+        Long total = withTotal ? countUserInfo(userName, emailAddress, mobilePhone) : null;
+        return new CursorPageDTO<>(userInfoList, nextCursor, total);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -43,4 +187,424 @@ public class UserInfoServiceImpl implements UserInfoService {
         return Optional.ofNullable(userInfoMapper.selectByPrimaryKey(id));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<UserInfo> batchGetUserInfo(List<String> ids) {
+        AssertUtils.notEmpty(ids, HttpStatus.BAD_REQUEST, "用户id不能为空！");
+        AssertUtils.isTrue(ids.size() <= MAX_BATCH_SIZE, HttpStatus.BAD_REQUEST,
+                () -> "用户id不能超过" + MAX_BATCH_SIZE + "个！");
+        Set<String> distinctIds = new LinkedHashSet<>(ids.size() << 1);
+        for (String id : ids) {
+            distinctIds.add(normalizeId(id));
+        }
+        Cache cache = cacheManager.getCache(USER_INFO_CACHE_NAME);
+        List<String> idList = new ArrayList<>(distinctIds);
+        Map<String, UserInfo> userInfoMap = new HashMap<>(idList.size() << 1);
+        for (int from = 0; from < idList.size(); from += BATCH_CHUNK_SIZE) {
+            List<String> chunk = idList.subList(from, Math.min(from + BATCH_CHUNK_SIZE, idList.size()));
+            List<String> missingIds = new ArrayList<>(chunk.size());
+            Map<Object, Object> cachedValues = getAllFromCache(cache, chunk);
+            for (String id : chunk) {
+                Object value = cachedValues.get(id);
+                if (value instanceof UserInfo) {
+                    userInfoMap.put(id, (UserInfo) value);
+                } else {
+                    missingIds.add(id);
+                }
+            }
+            if (missingIds.isEmpty()) {
+                continue;
+            }
+            Map<Object, Object> loadedValues = new LinkedHashMap<>(missingIds.size() << 1);
+            for (UserInfo userInfo : userInfoMapper.selectByIds(String.join(",", missingIds))) {
+                String id = String.valueOf(userInfo.getId());
+                userInfoMap.put(id, userInfo);
+                loadedValues.put(id, userInfo);
+            }
+            putAllToCache(cache, loadedValues);
+        }
+        List<UserInfo> userInfoList = new ArrayList<>(idList.size());
+        for (String id : idList) {
+            UserInfo userInfo = userInfoMap.get(id);
+            if (userInfo != null) {
+                userInfoList.add(userInfo);
+            }
+        }
+        return userInfoList;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkSaveReportDTO bulkSaveUserInfo(List<UserInfo> userInfoList, boolean upsert) {
+        AssertUtils.notEmpty(userInfoList, HttpStatus.BAD_REQUEST, "用户信息不能为空！");
+        AssertUtils.isTrue(userInfoList.size() <= bulkSaveMaxSize, HttpStatus.BAD_REQUEST,
+                () -> "单次最多写入" + bulkSaveMaxSize + "条用户信息！");
+        validateUserInfo(userInfoList);
+        long startTime = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        List<CompletableFuture<BulkSaveReportDTO.ChunkReport>> futures = new ArrayList<>();
+        for (int from = 0; from < userInfoList.size(); from += bulkSaveChunkSize) {
+            List<UserInfo> chunk = new ArrayList<>(
+                    userInfoList.subList(from, Math.min(from + bulkSaveChunkSize, userInfoList.size())));
+            for (UserInfo userInfo : chunk) {
+                if (userInfo.getCreateTime() == null) {
+                    userInfo.setCreateTime(now);
+                }
+            }
+            int chunkIndex = futures.size();
+            futures.add(CompletableFuture.supplyAsync(() -> saveChunk(chunkIndex, chunk, upsert), defaultExecutor));
+        }
+        List<BulkSaveReportDTO.ChunkReport> chunkReports = new ArrayList<>(futures.size());
+        int succeeded = 0;
+        for (CompletableFuture<BulkSaveReportDTO.ChunkReport> future : futures) {
+            BulkSaveReportDTO.ChunkReport chunkReport = future.join();
+            chunkReports.add(chunkReport);
+            if (chunkReport.isSuccess()) {
+                succeeded += chunkReport.getRows();
+            }
+        }
+        long costNanos = System.nanoTime() - startTime;
+        BulkSaveReportDTO report = new BulkSaveReportDTO();
+        report.setTotal(userInfoList.size());
+        report.setSucceeded(succeeded);
+        report.setFailed(userInfoList.size() - succeeded);
+        report.setCostMillis(TimeUnit.NANOSECONDS.toMillis(costNanos));
+        report.setRowsPerSecond(rowsPerSecond(succeeded, costNanos));
+        report.setChunks(chunkReports);
+        log.info("[userInfo bulk save] total=[{}], succeeded=[{}], chunks=[{}], cost=[{}ms], rows/s=[{}]",
+                report.getTotal(), succeeded, chunkReports.size(), report.getCostMillis(),
+                String.format("%.1f", report.getRowsPerSecond()));
+        return report;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>mybatis游标需要在事务内遍历，否则查询结束后sqlSession即被关闭
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUserInfo(ExportFormatEnum format, String userName, String emailAddress, String mobilePhone,
+                               Writer writer) throws IOException {
+        long rows = 0L;
+        try (Cursor<UserInfo> cursor = userInfoMapper.streamByConditions(userName, emailAddress, mobilePhone)) {
+            JsonGenerator generator = null;
+            if (format == ExportFormatEnum.NDJSON) {
+                generator = JSON_FACTORY.createGenerator(writer);
+                // 不在json对象之间写入默认的空格分隔符，由每行末尾的换行符分隔
+                generator.setRootValueSeparator(null);
+            } else {
+                writeCsvLine(writer, EXPORT_CSV_HEADER);
+            }
+            for (UserInfo userInfo : cursor) {
+                if (generator != null) {
+                    writeJsonLine(generator, userInfo);
+                } else {
+                    writeCsvLine(writer, String.valueOf(userInfo.getId()), userInfo.getUserName(),
+                            userInfo.getEmailAddress(), userInfo.getMobilePhone(),
+                            formatDateTime(userInfo.getCreateTime()));
+                }
+                if (++rows % EXPORT_FLUSH_ROWS == 0) {
+                    // 刷新到servlet输出流，客户端读取慢时在此阻塞
+                    if (generator != null) {
+                        generator.flush();
+                    }
+                    writer.flush();
+                }
+            }
+            if (generator != null) {
+                generator.flush();
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] getUserInfoIdBounds() {
+        Map<String, Object> bounds = userInfoMapper.selectIdBounds();
+        if (bounds == null || bounds.get("minId") == null || bounds.get("maxId") == null) {
+            return null;
+        }
+        return new long[]{((Number) bounds.get("minId")).longValue(), ((Number) bounds.get("maxId")).longValue()};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<UserInfo> warmUpUserInfoCache(long fromId, long toId, int limit) {
+        List<UserInfo> userInfoList = userInfoMapper.selectByIdRange(fromId, toId, limit);
+        Map<Object, Object> values = new LinkedHashMap<>(userInfoList.size() << 1);
+        for (UserInfo userInfo : userInfoList) {
+            values.put(String.valueOf(userInfo.getId()), userInfo);
+        }
+        putAllToCache(cacheManager.getCache(USER_INFO_CACHE_NAME), values);
+        return userInfoList;
+    }
+
+    /**
+     * 使用实体上的javax.validation注解校验，任一条不通过则整个请求失败
+     * <p>在批处理线程池上并行校验全部数据，校验结果与输入顺序一一对应，
+     * 提示信息按下标顺序取前{@value #MAX_VIOLATION_MESSAGES}条不通过的数据，与并行执行顺序无关
+     *
+     * @author chengzhy
+     * @param userInfoList 用户信息
+     * @date 2026/10/18 17:00
+     */
+    private void validateUserInfo(List<UserInfo> userInfoList) {
+        BatchResult<String> result = asyncService.processBatch(userInfoList, this::getViolationMessage,
+                new BatchOptions());
+        if (result.hasErrors()) {
+            // 校验器本身的异常，不是数据不合法
+            BatchResult.ItemError error = result.getErrors().get(0);
+            throw new IllegalStateException(error.getMessage(), error.getCause());
+        }
+        StringJoiner messages = new StringJoiner("；");
+        int violations = 0;
+        List<String> violationMessages = result.getResults();
+        for (int i = 0; i < violationMessages.size() && violations < MAX_VIOLATION_MESSAGES; i++) {
+            if (violationMessages.get(i) != null) {
+                messages.add("第" + (i + 1) + "条：" + violationMessages.get(i));
+                violations++;
+            }
+        }
+        AssertUtils.isTrue(violations == 0, HttpStatus.BAD_REQUEST, messages::toString);
+    }
+
+    /**
+     * 校验单条用户信息
+     *
+     * @return 不通过的原因，通过时返回null
+     */
+    private String getViolationMessage(UserInfo userInfo) {
+        if (userInfo == null) {
+            return "用户信息不能为空！";
+        }
+        Set<ConstraintViolation<UserInfo>> violations = validator.validate(userInfo);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        StringJoiner messages = new StringJoiner("，");
+        for (ConstraintViolation<UserInfo> violation : violations) {
+            messages.add(violation.getMessage());
+        }
+        return messages.toString();
+    }
+
+    /**
+     * 在独立事务中写入一批用户信息
+     *
+     * @author chengzhy
+     * @param index 批次序号
+     * @param chunk 本批用户信息
+     * @param upsert 主键冲突时是否更新
+     * @date 2026/10/18 17:00
+     * @return 本批写入结果
+     */
+    private BulkSaveReportDTO.ChunkReport saveChunk(int index, List<UserInfo> chunk, boolean upsert) {
+        BulkSaveReportDTO.ChunkReport chunkReport = new BulkSaveReportDTO.ChunkReport();
+        chunkReport.setIndex(index);
+        chunkReport.setRows(chunk.size());
+        long startTime = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (upsert) {
+                    userInfoMapper.upsertList(chunk);
+                } else {
+                    userInfoMapper.insertList(chunk);
+                }
+            });
+            chunkReport.setSuccess(true);
+        } catch (RuntimeException e) {
+            log.error("[userInfo bulk save] chunk=[{}] error", index, e);
+            chunkReport.setError(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+        long costNanos = System.nanoTime() - startTime;
+        chunkReport.setCostMillis(TimeUnit.NANOSECONDS.toMillis(costNanos));
+        chunkReport.setRowsPerSecond(chunkReport.isSuccess() ? rowsPerSecond(chunk.size(), costNanos) : 0D);
+        if (upsert && chunkReport.isSuccess()) {
+            // 更新的用户在事务提交后删除缓存
+            evictUserInfoCache(chunk);
+        }
+        return chunkReport;
+    }
+
+    private void evictUserInfoCache(List<UserInfo> userInfoList) {
+        Cache cache = cacheManager.getCache(USER_INFO_CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        for (UserInfo userInfo : userInfoList) {
+            if (userInfo.getId() == null) {
+                continue;
+            }
+            try {
+                cache.evict(String.valueOf(userInfo.getId()));
+            } catch (RuntimeException e) {
+                log.error("[cache evict] redis error: key=[{}:{}]", cache.getName(), userInfo.getId(), e);
+            }
+        }
+    }
+
+    private static double rowsPerSecond(int rows, long costNanos) {
+        return costNanos <= 0L ? 0D : rows * (double) TimeUnit.SECONDS.toNanos(1L) / costNanos;
+    }
+
+    /**
+     * 条件查询总数，总数缓存在userInfoCount中
+     *
+     * @author chengzhy
+     * @param userName 用户名
+     * @param emailAddress 邮箱地址
+     * @param mobilePhone 电话号码
+     * @date 2026/10/18 16:00
+     * @return 总数
+     */
+    private long countUserInfo(String userName, String emailAddress, String mobilePhone) {
+        Cache cache = cacheManager.getCache(USER_INFO_COUNT_CACHE_NAME);
+        if (cache == null) {
+            return userInfoMapper.countByConditions(userName, emailAddress, mobilePhone);
+        }
+        String key = String.join(":", StringUtils.defaultString(userName),
+                StringUtils.defaultString(emailAddress), StringUtils.defaultString(mobilePhone));
+        try {
+            // 使用json序列化时较小的Long会被读取为Integer
+            Number total = cache.<Number>get(key,
+                    () -> userInfoMapper.countByConditions(userName, emailAddress, mobilePhone));
+            return total == null ? 0L : total.longValue();
+        } catch (RuntimeException e) {
+            log.error("[cache get] redis error: key=[{}:{}]", cache.getName(), key, e);
+            return userInfoMapper.countByConditions(userName, emailAddress, mobilePhone);
+        }
+    }
+
+    private static void writeJsonLine(JsonGenerator generator, UserInfo userInfo) throws IOException {
+        generator.writeStartObject();
+        if (userInfo.getId() != null) {
+            generator.writeNumberField("id", userInfo.getId());
+        }
+        generator.writeStringField("userName", userInfo.getUserName());
+        generator.writeStringField("emailAddress", userInfo.getEmailAddress());
+        generator.writeStringField("mobilePhone", userInfo.getMobilePhone());
+        generator.writeStringField("createTime", formatDateTime(userInfo.getCreateTime()));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeCsvLine(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * 写出csv字段：包含分隔符、引号、换行时加引号转义；以公式字符开头时加单引号前缀，避免在excel中被当作公式执行
+     */
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String formatDateTime(LocalDateTime dateTime) {
+        return dateTime == null ? null : EXPORT_DATE_TIME_FORMATTER.format(dateTime);
+    }
+
+    /**
+     * 游标：(创建时间, 用户id)的base64编码，对调用方不透明，创建时间为空时编码为{@value #CURSOR_NULL_VALUE}
+     *
+     * @author chengzhy
+     * @param userInfo 当前页最后一条用户信息
+     * @date 2026/10/18 16:00
+     * @return 下一页游标
+     */
+    private static String encodeCursor(UserInfo userInfo) {
+        String createTime = userInfo.getCreateTime() == null
+                ? CURSOR_NULL_VALUE : userInfo.getCreateTime().toString();
+        String cursor = createTime + CURSOR_SEPARATOR + userInfo.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] cursorValues = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(CURSOR_SEPARATOR, 2);
+            if (cursorValues.length == 2) {
+                // 提前校验格式
+                if (!CURSOR_NULL_VALUE.equals(cursorValues[0])) {
+                    LocalDateTime.parse(cursorValues[0]);
+                }
+                Long.parseLong(cursorValues[1]);
+                return cursorValues;
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // 格式不正确，统一在下方抛出
+        }
+        throw new BusinessException(HttpStatus.BAD_REQUEST, "游标格式不正确！");
+    }
+
+    /**
+     * 校验并规范化用户id
+     * <p>{@code selectByIds}使用${}拼接sql，只允许数字id
+     *
+     * @author chengzhy
+     * @param id 用户id
+     * @date 2026/10/18 15:30
+     * @return 规范化后的用户id(与缓存key一致)
+     */
+    private static String normalizeId(String id) {
+        try {
+            return Long.toString(Long.parseLong(id));
+        } catch (NumberFormatException e) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "用户id格式不正确！");
+        }
+    }
+
+    /**
+     * 缓存异常时按未命中处理，与{@code CacheErrorHandler}的行为一致
+     */
+    private static Map<Object, Object> getAllFromCache(Cache cache, List<String> ids) {
+        if (cache == null) {
+            return Collections.emptyMap();
+        }
+        try {
+            return BatchCache.getAll(cache, ids);
+        } catch (RuntimeException e) {
+            log.error("[cache get] redis error: key=[{}:{}]", cache.getName(), ids, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static void putAllToCache(Cache cache, Map<Object, Object> values) {
+        if (cache == null || values.isEmpty()) {
+            return;
+        }
+        try {
+            BatchCache.putAll(cache, values);
+        } catch (RuntimeException e) {
+            log.error("[cache put] redis error: key=[{}:{}]", cache.getName(), values.keySet(), e);
+        }
+    }
+
 }
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.ConstraintViolationException;
 
 /**
@@ -134,12 +135,13 @@ public class GlobalExceptionHandler {
      *
      * @author chengzhy
      * @param request 请求
+     * @param response 响应
      * @param e 异常
      * @date 2021/8/6 17:04
      * @return 错误返回响应体
      */
     @ExceptionHandler(BusinessException.class)
-    public ResponseResult<?> businessExceptionHandler(HttpServletRequest request,
+    public ResponseResult<?> businessExceptionHandler(HttpServletRequest request, HttpServletResponse response,
                                                       BusinessException e) {
         int messageIndex = e.getMessage().indexOf(BUSINESS_EXCEPTION_MESSAGE_PREFIX) == -1 ? 0 :
                 e.getMessage().indexOf(BUSINESS_EXCEPTION_MESSAGE_PREFIX) + BUSINESS_EXCEPTION_MESSAGE_PREFIX.length();
@@ -148,6 +150,12 @@ public class GlobalExceptionHandler {
                 log.info("请求[{}]业务处理成功！", request.getRequestURL());
                 log.info("异常信息: {}", e.getMessage().substring(messageIndex));
                 return ResponseResult.success(e.getMessage().substring(messageIndex));
+            case TOO_MANY_REQUESTS:
+                // 限流拒绝属于正常流量控制，不打印堆栈，并返回429状态码便于客户端和网关退避重试
+                log.warn("请求[{}]被限流: {}", request.getRequestURL(), e.getMessage().substring(messageIndex));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                return ResponseResult.response(HttpStatus.TOO_MANY_REQUESTS.value(),
+                        e.getMessage().substring(messageIndex));
             case INTERNAL_SERVER_ERROR:
                 log.error("请求[{}]业务处理错误！", request.getRequestURL());
                 log.error("错误信息: {}", e.getMessage(), e);
@@ -0,0 +1,240 @@
+package com.github.chengzhy.basiccode.interceptor.mybatis;
+
+import com.github.chengzhy.basiccode.interceptor.mybatis.annotation.EncDecClass;
+import com.github.chengzhy.basiccode.interceptor.mybatis.annotation.EncDecField;
+import org.springframework.util.Assert;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 字段加解密
+ *
+ * <p>对{@link EncDecClass @EncDecClass}类中{@link EncDecField @EncDecField}标注的String字段使用AES-GCM加解密，
+ * 密文格式为{@code "ENC:" + base64(版本号 + iv + 密文 + tag)}。
+ * <ul>
+ *     <li>写入时参数总是加密，即使明文本身以"ENC:"开头</li>
+ *     <li>读取时只有前缀、版本号和GCM tag都校验通过的值才视为密文，否则视为明文(兼容加密前的历史数据)，
+ *     用户输入的伪造密文不会导致该行数据无法读取</li>
+ *     <li>每个类的加密字段只在第一次使用时反射解析，之后从缓存读取</li>
+ *     <li>Cipher实例按线程复用</li>
+ * </ul>
+ * 注意：每次加密使用随机iv，同一明文的密文不同，加密字段不能作为查询条件
+ *
+ * @author chengzhy
+ * @date 2026/10/18 17:30
+ */
+public class FieldEncryptor {
+
+    public static final String ENCRYPTED_PREFIX = "ENC:";
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    /**
+     * 密文格式版本号
+     */
+    private static final byte VERSION = 1;
+
+    private static final int IV_LENGTH = 12;
+
+    private static final int TAG_LENGTH_BIT = 128;
+
+    /**
+     * 版本号 + iv + tag的长度，密文解码后不能小于该长度
+     */
+    private static final int MIN_DATA_LENGTH = 1 + IV_LENGTH + TAG_LENGTH_BIT / 8;
+
+    private static final Field[] NO_FIELDS = new Field[0];
+
+    private final SecretKeySpec secretKey;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * 类-加密字段，没有加密字段的类对应空数组
+     */
+    private final ConcurrentMap<Class<?>, Field[]> encryptedFieldsCache = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Cipher> encryptCipher = ThreadLocal.withInitial(FieldEncryptor::newCipher);
+
+    private final ThreadLocal<Cipher> decryptCipher = ThreadLocal.withInitial(FieldEncryptor::newCipher);
+
+    /**
+     * @param base64SecretKey base64编码的AES密钥(16、24或32字节)
+     */
+    public FieldEncryptor(String base64SecretKey) {
+        Assert.hasText(base64SecretKey, "mybatis.interceptor.secret-key未配置");
+        byte[] key = Base64.getDecoder().decode(base64SecretKey.trim());
+        Assert.isTrue(key.length == 16 || key.length == 24 || key.length == 32,
+                "mybatis.interceptor.secret-key必须为16、24或32字节的AES密钥");
+        this.secretKey = new SecretKeySpec(key, "AES");
+        // 启动时校验密钥可用
+        String checkValue = FieldEncryptor.class.getSimpleName();
+        Assert.state(checkValue.equals(decrypt(encrypt(checkValue))), "mybatis.interceptor.secret-key不可用");
+    }
+
+    /**
+     * 获取类的加密字段
+     *
+     * @author chengzhy
+     * @param clazz 类
+     * @date 2026/10/18 17:30
+     * @return 加密字段，没有时返回空数组
+     */
+    public Field[] getEncryptedFields(Class<?> clazz) {
+        Field[] fields = encryptedFieldsCache.get(clazz);
+        if (fields == null) {
+            fields = encryptedFieldsCache.computeIfAbsent(clazz, FieldEncryptor::resolveEncryptedFields);
+        }
+        return fields;
+    }
+
+    /**
+     * 加密
+     *
+     * @author chengzhy
+     * @param plainText 明文
+     * @date 2026/10/18 17:30
+     * @return 密文
+     */
+    public String encrypt(String plainText) {
+        if (plainText == null) {
+            return null;
+        }
+        byte[] iv = new byte[IV_LENGTH];
+        secureRandom.nextBytes(iv);
+        try {
+            Cipher cipher = encryptCipher.get();
+            cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(TAG_LENGTH_BIT, iv));
+            byte[] cipherText = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.allocate(1 + IV_LENGTH + cipherText.length);
+            buffer.put(VERSION).put(iv).put(cipherText);
+            return ENCRYPTED_PREFIX + Base64.getEncoder().encodeToString(buffer.array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("字段加密失败", e);
+        }
+    }
+
+    /**
+     * 解密
+     *
+     * @author chengzhy
+     * @param value 密文
+     * @date 2026/10/18 17:30
+     * @return 明文，不是合法密文(没有前缀、版本号不对或tag校验失败)时原样返回
+     */
+    public String decrypt(String value) {
+        if (value == null || !value.startsWith(ENCRYPTED_PREFIX)) {
+            return value;
+        }
+        byte[] data;
+        try {
+            data = Base64.getDecoder().decode(value.substring(ENCRYPTED_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return value;
+        }
+        if (data.length < MIN_DATA_LENGTH || data[0] != VERSION) {
+            return value;
+        }
+        try {
+            Cipher cipher = decryptCipher.get();
+            cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(TAG_LENGTH_BIT, data, 1, IV_LENGTH));
+            return new String(cipher.doFinal(data, 1 + IV_LENGTH, data.length - 1 - IV_LENGTH),
+                    StandardCharsets.UTF_8);
+        } catch (AEADBadTagException e) {
+            // tag校验失败：以"ENC:"开头的明文
+            return value;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("字段解密失败", e);
+        }
+    }
+
+    /**
+     * 原地解密对象的加密字段
+     *
+     * @author chengzhy
+     * @param target 对象
+     * @date 2026/10/18 17:30
+     */
+    public void decryptFields(Object target) {
+        if (target != null) {
+            decryptFields(target, getEncryptedFields(target.getClass()));
+        }
+    }
+
+    /**
+     * 原地批量解密结果集，同一个类只查找一次加密字段，没有加密字段的结果直接跳过
+     *
+     * @author chengzhy
+     * @param targets 结果集
+     * @date 2026/10/18 17:30
+     */
+    public void decryptAll(List<?> targets) {
+        Class<?> lastClass = null;
+        Field[] fields = NO_FIELDS;
+        for (Object target : targets) {
+            if (target == null) {
+                continue;
+            }
+            if (target.getClass() != lastClass) {
+                lastClass = target.getClass();
+                fields = getEncryptedFields(lastClass);
+            }
+            decryptFields(target, fields);
+        }
+    }
+
+    private void decryptFields(Object target, Field[] fields) {
+        for (Field field : fields) {
+            try {
+                String value = (String) field.get(target);
+                if (value != null && value.startsWith(ENCRYPTED_PREFIX)) {
+                    field.set(target, decrypt(value));
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static Field[] resolveEncryptedFields(Class<?> clazz) {
+        if (!clazz.isAnnotationPresent(EncDecClass.class)) {
+            return NO_FIELDS;
+        }
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(EncDecField.class) || Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Assert.isTrue(field.getType() == String.class,
+                        () -> "@EncDecField只支持String类型的字段：" + clazz.getName() + "." + field.getName());
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+        return fields.isEmpty() ? NO_FIELDS : fields.toArray(NO_FIELDS);
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -1,14 +1,26 @@
 package com.github.chengzhy.basiccode.interceptor.mybatis;
 
-import org.apache.ibatis.executor.Executor;
-import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
 import org.apache.ibatis.plugin.*;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.lang.reflect.Field;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -25,15 +37,26 @@ import java.util.Properties;
  * </ul>
  * method设置拦截type中的某方法
  * args设置拦截方法中的参数
+ * <p>字段加解密：参数设置完成后，把{@code @EncDecField}字段对应的参数重新设置为密文(不修改调用方的参数对象)；
+ * 查询结果(包括游标查询)中的{@code @EncDecField}字段原地解密
+ * <p>语句统计和慢sql日志见{@link SqlStatementInterceptor}
  * @author chengzhy
  * @date 2021/8/16 15:13
  */
-@Intercepts({@Signature(type = ParameterHandler.class, method = "setParameters", args = PreparedStatement.class),
-        @Signature(type = ResultSetHandler.class, method = "handleResultSets", args = Statement.class)})
+@Intercepts({@Signature(type = StatementHandler.class, method = "parameterize", args = Statement.class),
+        @Signature(type = ResultSetHandler.class, method = "handleResultSets", args = Statement.class),
+        @Signature(type = ResultSetHandler.class, method = "handleCursorResultSets", args = Statement.class)})
 @ConditionalOnProperty(prefix = "mybatis.interceptor", value = "enable", havingValue = "true")
 @Component
 public class MybatisInterceptor implements Interceptor {
 
+    private final FieldEncryptor fieldEncryptor;
+
+    public MybatisInterceptor(@Value("${mybatis.interceptor.secret-key:}") String secretKey) {
+        // 未配置密钥时启动失败，避免明文写入加密字段
+        this.fieldEncryptor = new FieldEncryptor(secretKey);
+    }
+
     /**
      * 代理对象每次调用的方法，就是要进行拦截的时候要执行的方法。在这个方法里面做自定义的逻辑处理
      *
@@ -45,15 +68,11 @@ public class MybatisInterceptor implements Interceptor {
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
         Object handler = invocation.getTarget();
-        // 拦截ParameterHandler的setParameters方法 动态设置参数
-        if (handler instanceof Executor) {
-            return executorIntercept(invocation);
-        } else if (handler instanceof ParameterHandler) {
-            return parameterHandlerIntercept(invocation);
-        } else if (handler instanceof ResultSetHandler){
-            return resultSetHandlerIntercept(invocation);
-        } else {
+        if (handler instanceof StatementHandler) {
+            // 拦截StatementHandler的parameterize方法 设置参数后替换加密字段
             return statementHandlerIntercept(invocation);
+        } else {
+            return resultSetHandlerIntercept(invocation);
         }
     }
 
@@ -79,35 +98,190 @@ public class MybatisInterceptor implements Interceptor {
 
     }
 
-    private Object executorIntercept(Invocation invocation) throws Throwable {
-        // TODO
-        return invocation.proceed();
-    }
-
-    private Object parameterHandlerIntercept(Invocation invocation) throws Throwable {
-        ParameterHandler parameterHandler = (ParameterHandler) invocation.getTarget();
-        // TODO
-        return invocation.proceed();
-    }
-
+    @SuppressWarnings("unchecked")
     private Object resultSetHandlerIntercept(Invocation invocation) throws Throwable {
         Object result = invocation.proceed();
-        // TODO
+        if (result instanceof List) {
+            fieldEncryptor.decryptAll((List<?>) result);
+        } else if (result instanceof Cursor) {
+            return new DecryptingCursor<>((Cursor<Object>) result, fieldEncryptor);
+        }
         return result;
     }
 
     private Object statementHandlerIntercept(Invocation invocation) throws Throwable {
-        // TODO
-        return invocation.proceed();
+        Object result = invocation.proceed();
+        Object statement = invocation.getArgs()[0];
+        if (statement instanceof PreparedStatement) {
+            encryptParameters(((StatementHandler) invocation.getTarget()).getBoundSql(),
+                    (PreparedStatement) statement);
+        }
+        return result;
     }
 
-    private void filterSameValue(Map<?, ?> map) {
-        if (map == null || map.size() < 1) {
+    /**
+     * 参数设置完成后，把{@code @EncDecField}字段对应的参数重新设置为密文
+     * <p>只修改PreparedStatement中的参数，不修改参数对象：参数对象可能同时被其它线程读取(如一级缓存中的实体)
+     *
+     * @author chengzhy
+     * @param boundSql boundSql
+     * @param preparedStatement 已设置明文参数的PreparedStatement
+     * @date 2026/10/18 17:30
+     * @throws SQLException 设置参数异常
+     */
+    private void encryptParameters(BoundSql boundSql, PreparedStatement preparedStatement) throws SQLException {
+        Object parameterObject = boundSql.getParameterObject();
+        if (!containsEncryptTarget(parameterObject)) {
             return;
         }
-        for (Map.Entry<?, ?> entry : map.entrySet()) {
+        List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+        MetaObject metaObject = null;
+        for (int i = 0; i < parameterMappings.size(); i++) {
+            ParameterMapping parameterMapping = parameterMappings.get(i);
+            if (parameterMapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            // 属性路径的最后一段为字段名，前面部分为字段所属的对象(如foreach中的__frch_item_0.passWord)
+            String property = parameterMapping.getProperty();
+            int index = property.lastIndexOf('.');
+            Object owner;
+            if (index < 0) {
+                if (boundSql.hasAdditionalParameter(property)) {
+                    continue;
+                }
+                owner = parameterObject;
+            } else {
+                String ownerPath = property.substring(0, index);
+                if (boundSql.hasAdditionalParameter(ownerPath)) {
+                    owner = boundSql.getAdditionalParameter(ownerPath);
+                } else {
+                    if (metaObject == null) {
+                        metaObject = SystemMetaObject.forObject(parameterObject);
+                    }
+                    owner = metaObject.getValue(ownerPath);
+                }
+            }
+            String cipherText = encryptField(owner, property.substring(index + 1));
+            if (cipherText != null) {
+                preparedStatement.setString(i + 1, cipherText);
+            }
+        }
+    }
+
+    /**
+     * 对象中名为fieldName的加密字段的密文
+     *
+     * @return 不是加密字段或值为null时返回null
+     */
+    private String encryptField(Object owner, String fieldName) {
+        if (owner == null) {
+            return null;
+        }
+        for (Field field : fieldEncryptor.getEncryptedFields(owner.getClass())) {
+            if (field.getName().equals(fieldName)) {
+                try {
+                    String value = (String) field.get(owner);
+                    // 参数总是加密：以"ENC:"开头的参数也可能是用户输入的明文
+                    return value == null ? null : fieldEncryptor.encrypt(value);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 参数中是否有包含加密字段的对象(实体、Map参数中的实体、集合参数中的实体)，没有时不再逐个解析参数
+     * <p>集合中的元素类型相同，只检查第一个非null元素
+     */
+    private boolean containsEncryptTarget(Object parameterObject) {
+        if (parameterObject instanceof Map) {
+            for (Object value : ((Map<?, ?>) parameterObject).values()) {
+                if (isEncryptTarget(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return isEncryptTarget(parameterObject);
+    }
 
+    private boolean isEncryptTarget(Object value) {
+        if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                if (element != null) {
+                    return hasEncryptedFields(element);
+                }
+            }
+            return false;
+        } else if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) {
+                if (element != null) {
+                    return hasEncryptedFields(element);
+                }
+            }
+            return false;
         }
+        return value != null && hasEncryptedFields(value);
+    }
+
+    private boolean hasEncryptedFields(Object value) {
+        return fieldEncryptor.getEncryptedFields(value.getClass()).length > 0;
+    }
+
+    /**
+     * 遍历时逐条解密的游标
+     */
+    private static final class DecryptingCursor<T> implements Cursor<T> {
+
+        private final Cursor<T> delegate;
+
+        private final FieldEncryptor fieldEncryptor;
+
+        private DecryptingCursor(Cursor<T> delegate, FieldEncryptor fieldEncryptor) {
+            this.delegate = delegate;
+            this.fieldEncryptor = fieldEncryptor;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return delegate.isConsumed();
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return delegate.getCurrentIndex();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            Iterator<T> iterator = delegate.iterator();
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    T next = iterator.next();
+                    fieldEncryptor.decryptFields(next);
+                    return next;
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
     }
 
 }
@@ -0,0 +1,212 @@
+package com.github.chengzhy.basiccode.interceptor.mybatis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * mybatis语句统计拦截器
+ *
+ * <p>按MappedStatement id记录执行耗时和行数，超过{@code mybatis.interceptor.slow-sql-threshold-millis}时打印慢sql日志；
+ * 游标查询在游标关闭(或遍历结束)时记录从执行到关闭的耗时和读取的行数，慢sql只按执行耗时判断
+ * <p>与字段加解密({@link MybatisInterceptor})相互独立，不需要配置加密密钥
+ *
+ * @author chengzhy
+ * @date 2026/10/18 18:00
+ */
+@Intercepts({@Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class}),
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})})
+@ConditionalOnProperty(prefix = "mybatis.interceptor.sql-stats", value = "enable", havingValue = "true")
+@Component
+@Slf4j
+public class SqlStatementInterceptor implements Interceptor {
+
+    private final SqlStatementMetrics sqlStatementMetrics;
+
+    /**
+     * 慢sql阈值，单位：纳秒
+     */
+    private final long slowSqlThresholdNanos;
+
+    public SqlStatementInterceptor(
+            @Value("${mybatis.interceptor.slow-sql-threshold-millis:1000}") long slowSqlThresholdMillis,
+            SqlStatementMetrics sqlStatementMetrics) {
+        this.slowSqlThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowSqlThresholdMillis);
+        this.sqlStatementMetrics = sqlStatementMetrics;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if ("queryCursor".equals(invocation.getMethod().getName())) {
+            return cursorIntercept(invocation);
+        }
+        long startTime = System.nanoTime();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            long costNanos = System.nanoTime() - startTime;
+            int rows = -1;
+            if (result instanceof List) {
+                rows = ((List<?>) result).size();
+            } else if (result instanceof Integer) {
+                rows = (Integer) result;
+            }
+            record(invocation.getArgs(), costNanos, costNanos, rows);
+        }
+    }
+
+    @Override
+    public Object plugin(Object o) {
+        return Plugin.wrap(o, this);
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object cursorIntercept(Invocation invocation) throws Throwable {
+        long startTime = System.nanoTime();
+        Cursor<Object> cursor;
+        try {
+            cursor = (Cursor<Object>) invocation.proceed();
+        } catch (Throwable e) {
+            long costNanos = System.nanoTime() - startTime;
+            record(invocation.getArgs(), costNanos, costNanos, -1);
+            throw e;
+        }
+        return new TimedCursor<>(cursor, invocation.getArgs(), startTime, System.nanoTime() - startTime);
+    }
+
+    /**
+     * 记录语句统计，执行耗时超过阈值时打印慢sql日志
+     *
+     * @author chengzhy
+     * @param args Executor方法的参数
+     * @param costNanos 语句耗时(游标查询为从执行到关闭的耗时)
+     * @param executeNanos 执行耗时，用于判断慢sql
+     * @param rows 行数，未知时为-1
+     * @date 2026/10/18 17:30
+     */
+    private void record(Object[] args, long costNanos, long executeNanos, int rows) {
+        MappedStatement mappedStatement = (MappedStatement) args[0];
+        sqlStatementMetrics.record(mappedStatement.getId(), costNanos, rows);
+        if (executeNanos >= slowSqlThresholdNanos) {
+            // 只在慢sql时获取BoundSql，正常路径不产生额外对象
+            BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : mappedStatement.getBoundSql(args[1]);
+            log.warn("[slow sql] statement=[{}], cost=[{}ms], rows=[{}], sql=[{}]", mappedStatement.getId(),
+                    TimeUnit.NANOSECONDS.toMillis(executeNanos), rows, boundSql.getSql().replaceAll("\\s+", " "));
+        }
+    }
+
+    /**
+     * 记录游标查询耗时和行数的游标，关闭或遍历结束时记录一次
+     */
+    private final class TimedCursor<T> implements Cursor<T> {
+
+        private final Cursor<T> delegate;
+
+        private final Object[] args;
+
+        private final long startTime;
+
+        private final long executeNanos;
+
+        private int rows;
+
+        private boolean recorded;
+
+        private TimedCursor(Cursor<T> delegate, Object[] args, long startTime, long executeNanos) {
+            this.delegate = delegate;
+            this.args = args;
+            this.startTime = startTime;
+            this.executeNanos = executeNanos;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return delegate.isConsumed();
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return delegate.getCurrentIndex();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            Iterator<T> iterator = delegate.iterator();
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    boolean hasNext = iterator.hasNext();
+                    if (!hasNext) {
+                        finish();
+                    }
+                    return hasNext;
+                }
+
+                @Override
+                public T next() {
+                    T next = iterator.next();
+                    rows++;
+                    return next;
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                delegate.close();
+            } finally {
+                finish();
+            }
+        }
+
+        /**
+         * 游标只在一个线程中遍历，不需要同步
+         */
+        private void finish() {
+            if (!recorded) {
+                recorded = true;
+                record(args, System.nanoTime() - startTime, executeNanos, rows);
+            }
+        }
+
+    }
+
+}
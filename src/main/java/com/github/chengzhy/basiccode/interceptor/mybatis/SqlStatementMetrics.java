@@ -0,0 +1,188 @@
+package com.github.chengzhy.basiccode.interceptor.mybatis;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * sql语句执行统计(按MappedStatement id)
+ *
+ * <p>每个语句的统计对象只在第一次执行时创建，之后每次记录只有计数器累加，不产生额外对象
+ *
+ * @author chengzhy
+ * @date 2026/10/18 18:00
+ */
+@ConditionalOnProperty(prefix = "mybatis.interceptor.sql-stats", value = "enable", havingValue = "true")
+@Component
+public class SqlStatementMetrics {
+
+    private static final String METRIC_LATENCY = "mybatis.statement";
+
+    private static final String METRIC_ROWS = "mybatis.statement.rows";
+
+    private final ConcurrentMap<String, StatementStats> statementStats = new ConcurrentHashMap<>();
+
+    @Nullable
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable();
+    }
+
+    /**
+     * 记录一次语句执行
+     *
+     * @author chengzhy
+     * @param statementId MappedStatement id
+     * @param costNanos 耗时，单位：纳秒
+     * @param rows 查询返回行数或更新影响行数，未知时为-1
+     * @date 2026/10/18 18:00
+     */
+    public void record(String statementId, long costNanos, int rows) {
+        StatementStats stats = statementStats.get(statementId);
+        if (stats == null) {
+            stats = statementStats.computeIfAbsent(statementId, this::createStats);
+        }
+        stats.record(costNanos, rows);
+    }
+
+    /**
+     * 耗时最长的语句
+     *
+     * @author chengzhy
+     * @param limit 返回条数
+     * @param orderBy 排序方式：max(最大耗时)|mean(平均耗时)|total(总耗时)
+     * @date 2026/10/18 18:00
+     * @return 语句统计快照
+     */
+    public List<StatementSnapshot> top(int limit, String orderBy) {
+        Comparator<StatementSnapshot> comparator;
+        if ("mean".equalsIgnoreCase(orderBy)) {
+            comparator = Comparator.comparingDouble(StatementSnapshot::getMeanMillis);
+        } else if ("total".equalsIgnoreCase(orderBy)) {
+            comparator = Comparator.comparingDouble(StatementSnapshot::getTotalMillis);
+        } else {
+            comparator = Comparator.comparingDouble(StatementSnapshot::getMaxMillis);
+        }
+        List<StatementSnapshot> snapshots = new ArrayList<>(statementStats.size());
+        statementStats.forEach((statementId, stats) -> snapshots.add(stats.snapshot(statementId)));
+        snapshots.sort(comparator.reversed());
+        return snapshots.size() > limit ? new ArrayList<>(snapshots.subList(0, limit)) : snapshots;
+    }
+
+    private StatementStats createStats(String statementId) {
+        if (meterRegistry == null) {
+            return new StatementStats(null, null);
+        }
+        Timer timer = Timer.builder(METRIC_LATENCY)
+                .tag("statement", statementId)
+                .description("sql语句执行耗时")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        DistributionSummary rowsSummary = DistributionSummary.builder(METRIC_ROWS)
+                .tag("statement", statementId)
+                .description("sql语句返回或影响的行数")
+                .register(meterRegistry);
+        return new StatementStats(timer, rowsSummary);
+    }
+
+    private static final class StatementStats {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private final LongAdder rows = new LongAdder();
+
+        @Nullable
+        private final Timer timer;
+
+        @Nullable
+        private final DistributionSummary rowsSummary;
+
+        private StatementStats(@Nullable Timer timer, @Nullable DistributionSummary rowsSummary) {
+            this.timer = timer;
+            this.rowsSummary = rowsSummary;
+        }
+
+        private void record(long costNanos, int rowCount) {
+            count.increment();
+            totalNanos.add(costNanos);
+            maxNanos.accumulate(costNanos);
+            if (timer != null) {
+                timer.record(costNanos, TimeUnit.NANOSECONDS);
+            }
+            if (rowCount >= 0) {
+                rows.add(rowCount);
+                if (rowsSummary != null) {
+                    rowsSummary.record(rowCount);
+                }
+            }
+        }
+
+        private StatementSnapshot snapshot(String statementId) {
+            long countValue = count.sum();
+            double totalMillis = totalNanos.sum() / 1_000_000D;
+            return new StatementSnapshot(statementId, countValue, totalMillis,
+                    countValue == 0L ? 0D : totalMillis / countValue, maxNanos.get() / 1_000_000D, rows.sum());
+        }
+
+    }
+
+    /**
+     * 语句统计快照
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class StatementSnapshot {
+
+        /**
+         * MappedStatement id
+         */
+        private final String statement;
+
+        /**
+         * 执行次数
+         */
+        private final long count;
+
+        /**
+         * 总耗时，单位：毫秒
+         */
+        private final double totalMillis;
+
+        /**
+         * 平均耗时，单位：毫秒
+         */
+        private final double meanMillis;
+
+        /**
+         * 最大耗时，单位：毫秒
+         */
+        private final double maxMillis;
+
+        /**
+         * 返回或影响的总行数
+         */
+        private final long rows;
+
+    }
+
+}
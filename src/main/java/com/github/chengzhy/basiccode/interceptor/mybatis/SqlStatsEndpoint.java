@@ -0,0 +1,43 @@
+package com.github.chengzhy.basiccode.interceptor.mybatis;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * sql语句耗时排行endpoint({@code GET /actuator/sqlstats?limit=10&orderBy=max})
+ * @author chengzhy
+ * @date 2026/10/18 18:00
+ */
+@ConditionalOnProperty(prefix = "mybatis.interceptor.sql-stats", value = "enable", havingValue = "true")
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final SqlStatementMetrics sqlStatementMetrics;
+
+    public SqlStatsEndpoint(SqlStatementMetrics sqlStatementMetrics) {
+        this.sqlStatementMetrics = sqlStatementMetrics;
+    }
+
+    /**
+     * 耗时最长的语句
+     *
+     * @author chengzhy
+     * @param limit 返回条数，默认10
+     * @param orderBy 排序方式：max(默认)|mean|total
+     * @date 2026/10/18 18:00
+     * @return 语句统计快照
+     */
+    @ReadOperation
+    public List<SqlStatementMetrics.StatementSnapshot> slowest(@Nullable Integer limit, @Nullable String orderBy) {
+        return sqlStatementMetrics.top(limit == null || limit <= 0 ? DEFAULT_LIMIT : limit, orderBy);
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.github.chengzhy.basiccode.schedule.metrics;
+
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+import org.springframework.util.ClassUtils;
+
+import java.util.Date;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 记录执行统计的定时任务调度器
+ *
+ * <p>提交到被包装调度器的每个任务都会记录执行耗时和与计划执行时间的差值，计划执行时间：
+ * <ul>
+ *     <li>fixedRate：首次执行时间 + n * period，执行耗时超过period记为一次overrun</li>
+ *     <li>fixedDelay：上次执行结束时间 + delay</li>
+ *     <li>trigger：trigger计算出的执行时间；cron任务的下次执行时间从本次执行结束后开始计算，
+ *     期间的触发时间都会被跳过，记为missed，其中在执行期间的触发记为overrun</li>
+ * </ul>
+ *
+ * @author chengzhy
+ * @date 2026/10/18 23:30
+ */
+public class InstrumentedTaskScheduler implements TaskScheduler {
+
+    /**
+     * 统计跳过的触发次数的上限，避免执行时间过长时遍历过多触发时间
+     */
+    private static final int MAX_MISSED_SCAN = 1000;
+
+    private final TaskScheduler delegate;
+
+    private final ScheduledTaskMetrics scheduledTaskMetrics;
+
+    public InstrumentedTaskScheduler(TaskScheduler delegate, ScheduledTaskMetrics scheduledTaskMetrics) {
+        this.delegate = delegate;
+        this.scheduledTaskMetrics = scheduledTaskMetrics;
+    }
+
+    @Override
+    @Nullable
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        String schedule = trigger instanceof CronTrigger
+                ? "cron(" + ((CronTrigger) trigger).getExpression() + ")" : trigger.getClass().getSimpleName();
+        TrackedTask trackedTask = track(task, schedule, 0L, 0L, 0L);
+        return delegate.schedule(trackedTask, new TrackedTrigger(trigger, trackedTask));
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+        return delegate.schedule(track(task, "once", startTime.getTime(), 0L, 0L), startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+        TrackedTask trackedTask = track(task, "fixedRate(" + period + "ms)",
+                Math.max(startTime.getTime(), System.currentTimeMillis()), period, 0L);
+        return delegate.scheduleAtFixedRate(trackedTask, startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+        TrackedTask trackedTask = track(task, "fixedRate(" + period + "ms)", System.currentTimeMillis(), period, 0L);
+        return delegate.scheduleAtFixedRate(trackedTask, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+        TrackedTask trackedTask = track(task, "fixedDelay(" + delay + "ms)",
+                Math.max(startTime.getTime(), System.currentTimeMillis()), 0L, delay);
+        return delegate.scheduleWithFixedDelay(trackedTask, startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+        TrackedTask trackedTask = track(task, "fixedDelay(" + delay + "ms)", System.currentTimeMillis(), 0L, delay);
+        return delegate.scheduleWithFixedDelay(trackedTask, delay);
+    }
+
+    private TrackedTask track(Runnable task, String schedule, long plannedMillis, long fixedRate, long fixedDelay) {
+        ScheduledTaskMetrics.JobStats stats = scheduledTaskMetrics.register(jobName(task), schedule);
+        return new TrackedTask(task, stats, plannedMillis, fixedRate, fixedDelay);
+    }
+
+    /**
+     * 任务名，定时方法为"全限定类名.方法名"，与{@code @ScheduledLock}的默认名称一致，
+     * 不同包下同名类的同名方法不会共用一份统计而误报重叠执行
+     */
+    private static String jobName(Runnable task) {
+        if (task instanceof ScheduledMethodRunnable) {
+            ScheduledMethodRunnable methodRunnable = (ScheduledMethodRunnable) task;
+            return ClassUtils.getUserClass(methodRunnable.getTarget()).getName() + "."
+                    + methodRunnable.getMethod().getName();
+        }
+        return task.getClass().getName();
+    }
+
+    private static final class TrackedTask implements Runnable {
+
+        private final Runnable task;
+
+        private final ScheduledTaskMetrics.JobStats stats;
+
+        private final long fixedRate;
+
+        private final long fixedDelay;
+
+        /**
+         * 下次计划执行时间，trigger任务在计算出下次执行时间时更新
+         */
+        private volatile long plannedMillis;
+
+        private TrackedTask(Runnable task, ScheduledTaskMetrics.JobStats stats, long plannedMillis,
+                            long fixedRate, long fixedDelay) {
+            this.task = task;
+            this.stats = stats;
+            this.plannedMillis = plannedMillis;
+            this.fixedRate = fixedRate;
+            this.fixedDelay = fixedDelay;
+        }
+
+        @Override
+        public void run() {
+            long planned = plannedMillis;
+            long startMillis = System.currentTimeMillis();
+            stats.start(startMillis, planned > 0L ? Math.max(0L, startMillis - planned) : 0L);
+            long startNanos = System.nanoTime();
+            boolean success = false;
+            try {
+                task.run();
+                success = true;
+            } finally {
+                long durationNanos = System.nanoTime() - startNanos;
+                stats.finish(durationNanos, success);
+                if (fixedRate > 0L) {
+                    // 超时后下次执行会立即开始，并不会跳过，延迟体现在lag中
+                    plannedMillis = planned + fixedRate;
+                    if (durationNanos > TimeUnit.MILLISECONDS.toNanos(fixedRate)) {
+                        stats.overrun();
+                    }
+                } else if (fixedDelay > 0L) {
+                    plannedMillis = System.currentTimeMillis() + fixedDelay;
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+
+    }
+
+    private static final class TrackedTrigger implements Trigger {
+
+        private final Trigger trigger;
+
+        private final TrackedTask trackedTask;
+
+        private TrackedTrigger(Trigger trigger, TrackedTask trackedTask) {
+            this.trigger = trigger;
+            this.trackedTask = trackedTask;
+        }
+
+        @Override
+        @Nullable
+        public Date nextExecutionTime(TriggerContext triggerContext) {
+            Date next = trigger.nextExecutionTime(triggerContext);
+            if (trigger instanceof CronTrigger) {
+                countMissed(triggerContext);
+            }
+            if (next != null) {
+                trackedTask.plannedMillis = next.getTime();
+            }
+            return next;
+        }
+
+        /**
+         * 统计上次计划执行时间到执行结束之间被跳过的触发时间，只有cron的触发时间与执行结束时间无关，可以逐个推算
+         */
+        private void countMissed(TriggerContext triggerContext) {
+            Date scheduled = triggerContext.lastScheduledExecutionTime();
+            Date actual = triggerContext.lastActualExecutionTime();
+            Date completion = triggerContext.lastCompletionTime();
+            if (scheduled == null || actual == null || completion == null) {
+                return;
+            }
+            int missed = 0;
+            boolean overrun = false;
+            Date fireTime = scheduled;
+            while (missed < MAX_MISSED_SCAN) {
+                fireTime = trigger.nextExecutionTime(new SimpleTriggerContext(fireTime, fireTime, fireTime));
+                if (fireTime == null || fireTime.after(completion)) {
+                    break;
+                }
+                missed++;
+                overrun |= fireTime.after(actual);
+            }
+            if (missed > 0) {
+                trackedTask.stats.missed(missed);
+            }
+            if (overrun) {
+                trackedTask.stats.overrun();
+            }
+        }
+
+    }
+
+}
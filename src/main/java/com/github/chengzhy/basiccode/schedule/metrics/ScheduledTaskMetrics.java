@@ -0,0 +1,520 @@
+package com.github.chengzhy.basiccode.schedule.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 定时任务执行统计
+ *
+ * <p>按任务(定时方法为"全限定类名.方法名")记录：
+ * <ul>
+ *     <li>{@code scheduled.task.duration}：执行耗时，按result区分success、failure</li>
+ *     <li>{@code scheduled.task.lag}：实际开始时间与计划执行时间的差值</li>
+ *     <li>{@code scheduled.task.overrun}：执行期间已到下一次计划执行时间的次数</li>
+ *     <li>{@code scheduled.task.missed}：cron任务因执行超时或延迟开始而跳过的触发次数</li>
+ *     <li>{@code scheduled.task.overlapped}：上一次执行尚未结束又开始执行的次数</li>
+ * </ul>
+ * 线程池的繁忙线程占比记录在{@code scheduled.executor.saturation}，已到执行时间但没有空闲线程执行的任务数记录在
+ * {@code scheduled.executor.overdue}；每隔logInterval输出一次各任务在该时间段内的执行情况
+ *
+ * @author chengzhy
+ * @date 2026/10/18 23:30
+ */
+@Component
+@Slf4j
+public class ScheduledTaskMetrics {
+
+    private static final String METRIC_DURATION = "scheduled.task.duration";
+
+    private static final String METRIC_LAG = "scheduled.task.lag";
+
+    private static final String METRIC_OVERRUN = "scheduled.task.overrun";
+
+    private static final String METRIC_MISSED = "scheduled.task.missed";
+
+    private static final String METRIC_OVERLAPPED = "scheduled.task.overlapped";
+
+    private static final String METRIC_SATURATION = "scheduled.executor.saturation";
+
+    private static final String METRIC_OVERDUE = "scheduled.executor.overdue";
+
+    @Nullable
+    private final MeterRegistry meterRegistry;
+
+    private final Duration logInterval;
+
+    private final long lagWarnThresholdMillis;
+
+    /**
+     * 任务名-统计对象
+     */
+    private final ConcurrentMap<String, JobStats> jobs = new ConcurrentHashMap<>();
+
+    @Nullable
+    private volatile ScheduledThreadPoolExecutor scheduledExecutor;
+
+    public ScheduledTaskMetrics(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${scheduled-task.metrics.log-interval:60s}") Duration logInterval,
+            @Value("${scheduled-task.metrics.lag-warn-threshold:1s}") Duration lagWarnThreshold) {
+        this.meterRegistry = meterRegistry.getIfAvailable();
+        this.logInterval = logInterval;
+        this.lagWarnThresholdMillis = lagWarnThreshold.toMillis();
+    }
+
+    /**
+     * 记录定时任务线程池的使用情况，并按logInterval定时输出统计日志(logInterval不大于0时不输出)
+     * <p>统计日志直接提交到线程池，不计入任务统计
+     *
+     * @author chengzhy
+     * @param taskScheduler 定时任务线程池
+     * @date 2026/10/18 23:30
+     */
+    public void bindTo(ThreadPoolTaskScheduler taskScheduler) {
+        ScheduledThreadPoolExecutor executor = taskScheduler.getScheduledThreadPoolExecutor();
+        this.scheduledExecutor = executor;
+        if (meterRegistry != null) {
+            new ExecutorServiceMetrics(executor, "scheduledExecutor", Collections.emptyList()).bindTo(meterRegistry);
+            Gauge.builder(METRIC_SATURATION, executor, ScheduledTaskMetrics::saturation)
+                    .description("定时任务线程池繁忙线程占比")
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_OVERDUE, executor, ScheduledTaskMetrics::overdueTasks)
+                    .description("已到执行时间但没有空闲线程执行的任务数")
+                    .register(meterRegistry);
+        }
+        if (!logInterval.isNegative() && !logInterval.isZero()) {
+            long intervalMillis = logInterval.toMillis();
+            taskScheduler.scheduleAtFixedRate(this::report,
+                    new Date(System.currentTimeMillis() + intervalMillis), intervalMillis);
+        }
+    }
+
+    /**
+     * 获取任务的统计对象，同名任务共用一个
+     *
+     * @author chengzhy
+     * @param name 任务名
+     * @param schedule 执行计划
+     * @date 2026/10/18 23:30
+     * @return 统计对象
+     */
+    JobStats register(String name, String schedule) {
+        JobStats stats = jobs.get(name);
+        if (stats == null) {
+            stats = jobs.computeIfAbsent(name, key -> new JobStats(key, schedule));
+        }
+        return stats;
+    }
+
+    /**
+     * 线程池和各任务的统计快照
+     *
+     * @author chengzhy
+     * @date 2026/10/18 23:30
+     * @return 统计快照，任务按名称排序
+     */
+    public SchedulerSnapshot snapshot() {
+        List<JobSnapshot> jobSnapshots = new ArrayList<>(jobs.size());
+        for (JobStats stats : jobs.values()) {
+            jobSnapshots.add(stats.snapshot());
+        }
+        jobSnapshots.sort(Comparator.comparing(JobSnapshot::getJob));
+        ScheduledThreadPoolExecutor executor = scheduledExecutor;
+        if (executor == null) {
+            return new SchedulerSnapshot(0, 0, 0, 0.0D, jobSnapshots);
+        }
+        return new SchedulerSnapshot(executor.getCorePoolSize(), executor.getActiveCount(), overdueTasks(executor),
+                saturation(executor), jobSnapshots);
+    }
+
+    /**
+     * 输出线程池使用情况和本周期内有执行或异常的任务
+     */
+    private void report() {
+        ScheduledThreadPoolExecutor executor = scheduledExecutor;
+        if (executor != null) {
+            int overdue = overdueTasks(executor);
+            if (overdue > 0) {
+                log.warn("[scheduled task] executor is saturated: poolSize=[{}], active=[{}], overdue=[{}]",
+                        executor.getCorePoolSize(), executor.getActiveCount(), overdue);
+            } else {
+                log.info("[scheduled task] executor poolSize=[{}], active=[{}], tasks=[{}]",
+                        executor.getCorePoolSize(), executor.getActiveCount(), executor.getQueue().size());
+            }
+        }
+        for (JobStats stats : jobs.values()) {
+            stats.report();
+        }
+    }
+
+    private static double saturation(ScheduledThreadPoolExecutor executor) {
+        int poolSize = executor.getCorePoolSize();
+        return poolSize <= 0 ? 0.0D : (double) executor.getActiveCount() / poolSize;
+    }
+
+    /**
+     * 队列中已到执行时间的任务数，有空闲线程时任务到期即被取出，不为0说明线程池已饱和
+     */
+    private static int overdueTasks(ScheduledThreadPoolExecutor executor) {
+        int overdue = 0;
+        for (Runnable task : executor.getQueue()) {
+            if (task instanceof Delayed && ((Delayed) task).getDelay(TimeUnit.MILLISECONDS) <= 0L) {
+                overdue++;
+            }
+        }
+        return overdue;
+    }
+
+    @Nullable
+    private static String formatTime(long epochMillis) {
+        return epochMillis <= 0L ? null
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()).toString();
+    }
+
+    /**
+     * 单个任务的统计对象
+     */
+    final class JobStats {
+
+        private final String name;
+
+        private final String schedule;
+
+        @Nullable
+        private final Timer successTimer;
+
+        @Nullable
+        private final Timer failureTimer;
+
+        @Nullable
+        private final Timer lagTimer;
+
+        @Nullable
+        private final Counter overrunCounter;
+
+        @Nullable
+        private final Counter missedCounter;
+
+        @Nullable
+        private final Counter overlappedCounter;
+
+        private final AtomicInteger running = new AtomicInteger();
+
+        private final LongAdder runs = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder overruns = new LongAdder();
+
+        private final LongAdder missed = new LongAdder();
+
+        private final LongAdder overlapped = new LongAdder();
+
+        private final LongAdder totalDurationNanos = new LongAdder();
+
+        private final LongAccumulator maxDurationNanos = new LongAccumulator(Math::max, 0L);
+
+        private final LongAccumulator maxLagMillis = new LongAccumulator(Math::max, 0L);
+
+        /**
+         * 本次日志周期内的最大耗时和最大延迟，输出日志时清零
+         */
+        private final LongAccumulator periodMaxDurationNanos = new LongAccumulator(Math::max, 0L);
+
+        private final LongAccumulator periodMaxLagMillis = new LongAccumulator(Math::max, 0L);
+
+        private volatile long lastStartMillis;
+
+        private volatile long lastDurationNanos;
+
+        private volatile long lastLagMillis;
+
+        private volatile boolean lastSuccess;
+
+        /**
+         * 上次输出日志时的累计值，只在输出日志的线程中访问
+         */
+        private long reportedRuns;
+
+        private long reportedFailures;
+
+        private long reportedOverruns;
+
+        private long reportedMissed;
+
+        private long reportedOverlapped;
+
+        private JobStats(String name, String schedule) {
+            this.name = name;
+            this.schedule = schedule;
+            if (meterRegistry == null) {
+                this.successTimer = null;
+                this.failureTimer = null;
+                this.lagTimer = null;
+                this.overrunCounter = null;
+                this.missedCounter = null;
+                this.overlappedCounter = null;
+                return;
+            }
+            this.successTimer = durationTimer("success");
+            this.failureTimer = durationTimer("failure");
+            this.lagTimer = Timer.builder(METRIC_LAG)
+                    .tag("job", name)
+                    .description("定时任务实际开始时间与计划执行时间的差值")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.overrunCounter = Counter.builder(METRIC_OVERRUN)
+                    .tag("job", name)
+                    .description("执行期间已到下一次计划执行时间的次数")
+                    .register(meterRegistry);
+            this.missedCounter = Counter.builder(METRIC_MISSED)
+                    .tag("job", name)
+                    .description("cron任务跳过的触发次数")
+                    .register(meterRegistry);
+            this.overlappedCounter = Counter.builder(METRIC_OVERLAPPED)
+                    .tag("job", name)
+                    .description("上一次执行尚未结束又开始执行的次数")
+                    .register(meterRegistry);
+        }
+
+        private Timer durationTimer(String result) {
+            return Timer.builder(METRIC_DURATION)
+                    .tag("job", name)
+                    .tag("result", result)
+                    .description("定时任务执行耗时")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        /**
+         * 记录开始执行
+         *
+         * @author chengzhy
+         * @param startMillis 开始时间
+         * @param lagMillis 与计划执行时间的差值，单位：毫秒
+         * @date 2026/10/18 23:30
+         */
+        void start(long startMillis, long lagMillis) {
+            if (running.getAndIncrement() > 0) {
+                overlapped.increment();
+                if (overlappedCounter != null) {
+                    overlappedCounter.increment();
+                }
+                log.warn("[scheduled task] job=[{}] started while the previous execution is still running", name);
+            }
+            lastStartMillis = startMillis;
+            lastLagMillis = lagMillis;
+            maxLagMillis.accumulate(lagMillis);
+            periodMaxLagMillis.accumulate(lagMillis);
+            if (lagTimer != null) {
+                lagTimer.record(lagMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /**
+         * 记录执行结束
+         *
+         * @author chengzhy
+         * @param durationNanos 执行耗时，单位：纳秒
+         * @param success 是否执行成功
+         * @date 2026/10/18 23:30
+         */
+        void finish(long durationNanos, boolean success) {
+            running.decrementAndGet();
+            runs.increment();
+            if (!success) {
+                failures.increment();
+            }
+            totalDurationNanos.add(durationNanos);
+            maxDurationNanos.accumulate(durationNanos);
+            periodMaxDurationNanos.accumulate(durationNanos);
+            lastDurationNanos = durationNanos;
+            lastSuccess = success;
+            Timer timer = success ? successTimer : failureTimer;
+            if (timer != null) {
+                timer.record(durationNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        /**
+         * 记录一次执行期间已到下一次计划执行时间
+         *
+         * @author chengzhy
+         * @date 2026/10/18 23:30
+         */
+        void overrun() {
+            overruns.increment();
+            if (overrunCounter != null) {
+                overrunCounter.increment();
+            }
+        }
+
+        /**
+         * 记录跳过的触发次数
+         *
+         * @author chengzhy
+         * @param count 跳过的触发次数
+         * @date 2026/10/18 23:30
+         */
+        void missed(int count) {
+            missed.add(count);
+            if (missedCounter != null) {
+                missedCounter.increment(count);
+            }
+        }
+
+        private JobSnapshot snapshot() {
+            long runCount = runs.sum();
+            return new JobSnapshot(name, schedule, runCount, failures.sum(), running.get(),
+                    formatTime(lastStartMillis), TimeUnit.NANOSECONDS.toMillis(lastDurationNanos), lastLagMillis,
+                    runCount == 0L ? null : (lastSuccess ? "SUCCESS" : "FAILED"),
+                    runCount == 0L ? 0L : TimeUnit.NANOSECONDS.toMillis(totalDurationNanos.sum() / runCount),
+                    TimeUnit.NANOSECONDS.toMillis(maxDurationNanos.get()), maxLagMillis.get(),
+                    overruns.sum(), missed.sum(), overlapped.sum());
+        }
+
+        private void report() {
+            long runCount = runs.sum();
+            long failureCount = failures.sum();
+            long overrunCount = overruns.sum();
+            long missedCount = missed.sum();
+            long overlappedCount = overlapped.sum();
+            long periodRuns = runCount - reportedRuns;
+            long periodFailures = failureCount - reportedFailures;
+            long periodOverruns = overrunCount - reportedOverruns;
+            long periodMissed = missedCount - reportedMissed;
+            long periodOverlapped = overlappedCount - reportedOverlapped;
+            reportedRuns = runCount;
+            reportedFailures = failureCount;
+            reportedOverruns = overrunCount;
+            reportedMissed = missedCount;
+            reportedOverlapped = overlappedCount;
+            long periodMaxDurationMillis = TimeUnit.NANOSECONDS.toMillis(periodMaxDurationNanos.getThenReset());
+            long periodMaxLag = periodMaxLagMillis.getThenReset();
+            long runningMillis = running.get() > 0 ? System.currentTimeMillis() - lastStartMillis : 0L;
+            boolean abnormal = periodFailures > 0L || periodOverruns > 0L || periodMissed > 0L
+                    || periodOverlapped > 0L || periodMaxLag >= lagWarnThresholdMillis
+                    || runningMillis >= logInterval.toMillis();
+            if (abnormal) {
+                log.warn("[scheduled task] job=[{}], schedule=[{}], runs=[{}], failures=[{}], "
+                                + "maxDuration=[{}ms], maxLag=[{}ms], overruns=[{}], missed=[{}], overlapped=[{}], "
+                                + "running=[{}ms]", name, schedule, periodRuns, periodFailures,
+                        periodMaxDurationMillis, periodMaxLag, periodOverruns, periodMissed, periodOverlapped,
+                        runningMillis);
+            } else if (periodRuns > 0L) {
+                log.info("[scheduled task] job=[{}], schedule=[{}], runs=[{}], maxDuration=[{}ms], maxLag=[{}ms]",
+                        name, schedule, periodRuns, periodMaxDurationMillis, periodMaxLag);
+            }
+        }
+
+    }
+
+    /**
+     * 线程池和各任务的统计快照
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SchedulerSnapshot {
+
+        /**
+         * 线程数
+         */
+        private final int poolSize;
+
+        /**
+         * 正在执行任务的线程数
+         */
+        private final int activeCount;
+
+        /**
+         * 已到执行时间但没有空闲线程执行的任务数
+         */
+        private final int overdueTasks;
+
+        /**
+         * 繁忙线程占比
+         */
+        private final double saturation;
+
+        private final List<JobSnapshot> jobs;
+
+    }
+
+    /**
+     * 单个任务的统计快照，时间单位均为毫秒
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class JobSnapshot {
+
+        private final String job;
+
+        /**
+         * 执行计划，如cron(0 0 * * * *)、fixedRate(5000ms)
+         */
+        private final String schedule;
+
+        private final long runs;
+
+        private final long failures;
+
+        /**
+         * 正在执行的数量
+         */
+        private final int running;
+
+        private final String lastStartTime;
+
+        private final long lastDurationMillis;
+
+        private final long lastLagMillis;
+
+        /**
+         * 最近一次执行结果：SUCCESS|FAILED，尚未执行时为null
+         */
+        private final String lastStatus;
+
+        private final long meanDurationMillis;
+
+        private final long maxDurationMillis;
+
+        private final long maxLagMillis;
+
+        private final long overruns;
+
+        private final long missed;
+
+        private final long overlapped;
+
+    }
+
+}
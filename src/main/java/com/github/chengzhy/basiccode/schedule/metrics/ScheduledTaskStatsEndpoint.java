@@ -0,0 +1,34 @@
+package com.github.chengzhy.basiccode.schedule.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 定时任务执行统计endpoint({@code GET /actuator/schedstats})
+ * @author chengzhy
+ * @date 2026/10/18 23:30
+ */
+@Component
+@Endpoint(id = "schedstats")
+public class ScheduledTaskStatsEndpoint {
+
+    private final ScheduledTaskMetrics scheduledTaskMetrics;
+
+    public ScheduledTaskStatsEndpoint(ScheduledTaskMetrics scheduledTaskMetrics) {
+        this.scheduledTaskMetrics = scheduledTaskMetrics;
+    }
+
+    /**
+     * 线程池和各任务的执行统计
+     *
+     * @author chengzhy
+     * @date 2026/10/18 23:30
+     * @return 统计快照
+     */
+    @ReadOperation
+    public ScheduledTaskMetrics.SchedulerSnapshot stats() {
+        return scheduledTaskMetrics.snapshot();
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * 定时任务模块
+ */
+package com.github.chengzhy.basiccode.schedule;
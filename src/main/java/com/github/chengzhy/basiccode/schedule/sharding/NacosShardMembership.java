@@ -0,0 +1,69 @@
+package com.github.chengzhy.basiccode.schedule.sharding;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.listener.EventListener;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基于nacos服务实例列表的分片组成员发现
+ * <p>实例标识为注册到nacos的{@code ip:port}，只统计健康实例；实例的注册、心跳和下线由nacos客户端负责
+ *
+ * @author chengzhy
+ * @date 2026/10/18 23:00
+ */
+@Slf4j
+public class NacosShardMembership implements ShardMembership {
+
+    private final NamingService namingService;
+
+    private final String serviceName;
+
+    private final String groupName;
+
+    private final String instanceId;
+
+    public NacosShardMembership(NamingService namingService, String serviceName, String groupName,
+                                String instanceId) {
+        this.namingService = namingService;
+        this.serviceName = serviceName;
+        this.groupName = groupName;
+        this.instanceId = instanceId;
+    }
+
+    @Override
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    @Override
+    public List<String> heartbeat() {
+        try {
+            List<Instance> instances = namingService.selectInstances(serviceName, groupName, true);
+            List<String> members = new ArrayList<>(instances.size());
+            for (Instance instance : instances) {
+                if (instance.isEnabled()) {
+                    members.add(instance.getIp() + ":" + instance.getPort());
+                }
+            }
+            return members;
+        } catch (NacosException e) {
+            throw new IllegalStateException("获取nacos服务实例失败：" + serviceName, e);
+        }
+    }
+
+    @Override
+    public void subscribe(Runnable listener) {
+        EventListener eventListener = event -> listener.run();
+        try {
+            namingService.subscribe(serviceName, groupName, eventListener);
+        } catch (NacosException e) {
+            log.error("[sharding] nacos subscribe error: service=[{}], group=[{}]", serviceName, groupName, e);
+        }
+    }
+
+}
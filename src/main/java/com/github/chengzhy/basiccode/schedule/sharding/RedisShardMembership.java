@@ -0,0 +1,67 @@
+package com.github.chengzhy.basiccode.schedule.sharding;
+
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RScoredSortedSetAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于redis有序集合的分片组成员发现
+ *
+ * <p>member为实例标识，score为最近一次心跳的时间戳。每次心跳在一个batch中完成：
+ * 更新自身心跳时间、删除超时的实例、读取全部实例、刷新整个key的过期时间(所有实例都停止后自动删除)。
+ * 心跳时间使用各实例的本地时钟，memberTimeout应远大于实例间的时钟偏差
+ *
+ * @author chengzhy
+ * @date 2026/10/18 23:00
+ */
+public class RedisShardMembership implements ShardMembership {
+
+    private final RedissonClient redissonClient;
+
+    private final String key;
+
+    private final String instanceId;
+
+    private final long memberTimeoutMillis;
+
+    public RedisShardMembership(RedissonClient redissonClient, String key, String instanceId,
+                                Duration memberTimeout) {
+        this.redissonClient = redissonClient;
+        this.key = key;
+        this.instanceId = instanceId;
+        this.memberTimeoutMillis = memberTimeout.toMillis();
+    }
+
+    @Override
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    @Override
+    public List<String> heartbeat() {
+        long now = System.currentTimeMillis();
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        RScoredSortedSetAsync<String> members = batch.getScoredSortedSet(key, StringCodec.INSTANCE);
+        members.addAsync(now, instanceId);
+        members.removeRangeByScoreAsync(0D, true, now - memberTimeoutMillis, false);
+        RFuture<Collection<String>> readFuture = members.readAllAsync();
+        members.expireAsync(memberTimeoutMillis << 1, TimeUnit.MILLISECONDS);
+        batch.execute();
+        return new ArrayList<>(readFuture.getNow());
+    }
+
+    @Override
+    public void leave() {
+        redissonClient.getScoredSortedSet(key, StringCodec.INSTANCE).remove(instanceId);
+    }
+
+}
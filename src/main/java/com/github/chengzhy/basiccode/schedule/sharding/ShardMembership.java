@@ -0,0 +1,49 @@
+package com.github.chengzhy.basiccode.schedule.sharding;
+
+import java.util.List;
+
+/**
+ * 分片组成员发现
+ * @author chengzhy
+ * @date 2026/10/18 23:00
+ */
+public interface ShardMembership {
+
+    /**
+     * 当前实例标识
+     *
+     * @author chengzhy
+     * @date 2026/10/18 23:00
+     * @return 实例标识
+     */
+    String getInstanceId();
+
+    /**
+     * 上报心跳(如果需要)并获取存活的实例
+     *
+     * @author chengzhy
+     * @date 2026/10/18 23:00
+     * @return 存活实例的标识
+     */
+    List<String> heartbeat();
+
+    /**
+     * 成员变化时回调，不支持推送的实现只依赖定时刷新
+     *
+     * @author chengzhy
+     * @param listener 回调
+     * @date 2026/10/18 23:00
+     */
+    default void subscribe(Runnable listener) {
+    }
+
+    /**
+     * 当前实例退出分片组
+     *
+     * @author chengzhy
+     * @date 2026/10/18 23:00
+     */
+    default void leave() {
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.github.chengzhy.basiccode.schedule.sharding;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 分片信息快照
+ * <p>实例按标识排序后的下标即为分片序号，实例加入或退出时重新分片并生成新的版本号
+ *
+ * @author chengzhy
+ * @date 2026/10/18 23:00
+ */
+@Getter
+public final class ShardingContext {
+
+    /**
+     * 当前实例标识
+     */
+    private final String instanceId;
+
+    /**
+     * 当前实例的分片序号，从0开始；-1表示当前实例不在分片组中，不处理任何数据
+     */
+    private final int index;
+
+    /**
+     * 分片总数
+     */
+    private final int total;
+
+    /**
+     * 排序后的全部实例
+     */
+    private final List<String> members;
+
+    /**
+     * 版本号，每次重新分片加1
+     */
+    private final long version;
+
+    ShardingContext(String instanceId, int index, List<String> members, long version) {
+        this.instanceId = instanceId;
+        this.index = index;
+        this.total = members.size();
+        this.members = Collections.unmodifiableList(members);
+        this.version = version;
+    }
+
+    static ShardingContext inactive(String instanceId, long version) {
+        return new ShardingContext(instanceId, -1, Collections.emptyList(), version);
+    }
+
+    public boolean isActive() {
+        return index >= 0;
+    }
+
+    /**
+     * 按取模判断id是否属于当前分片
+     *
+     * @author chengzhy
+     * @param id 数据id
+     * @date 2026/10/18 23:00
+     * @return 是|否
+     */
+    public boolean owns(long id) {
+        return isActive() && Math.floorMod(id, (long) total) == index;
+    }
+
+    /**
+     * 把[minId, maxId]切分为分片总数个连续区间，返回当前分片的区间
+     * <p>各区间的id个数最多相差1，按id范围处理可以使用主键索引做范围扫描
+     *
+     * @author chengzhy
+     * @param minId 最小id(包含)
+     * @param maxId 最大id(包含)
+     * @date 2026/10/18 23:00
+     * @return 当前分片的区间，当前实例不在分片组中或没有分到id时返回null
+     */
+    @Nullable
+    public IdRange range(long minId, long maxId) {
+        if (!isActive() || minId > maxId) {
+            return null;
+        }
+        long count = maxId - minId + 1;
+        Assert.isTrue(count > 0L, "id范围过大");
+        long base = count / total;
+        long remainder = count % total;
+        long size = base + (index < remainder ? 1L : 0L);
+        if (size == 0L) {
+            return null;
+        }
+        long from = minId + index * base + Math.min(index, remainder);
+        return new IdRange(from, from + size - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "ShardingContext{index=" + index + ", total=" + total + ", version=" + version
+                + ", members=" + members + "}";
+    }
+
+    /**
+     * id区间
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class IdRange {
+
+        /**
+         * 起始id(包含)
+         */
+        private final long from;
+
+        /**
+         * 结束id(包含)
+         */
+        private final long to;
+
+        @Override
+        public String toString() {
+            return "[" + from + ", " + to + "]";
+        }
+
+    }
+
+}
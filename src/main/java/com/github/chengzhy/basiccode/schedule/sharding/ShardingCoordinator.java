@@ -0,0 +1,172 @@
+package com.github.chengzhy.basiccode.schedule.sharding;
+
+import com.alibaba.cloud.nacos.NacosDiscoveryProperties;
+import com.alibaba.nacos.api.naming.NamingService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 定时任务分片协调
+ *
+ * <p>定时刷新分片组的存活实例，实例变化时重新分片。分片任务每次执行时通过{@link #getContext()}获取当前分片，
+ * 分批处理期间通过{@link #isCurrent(ShardingContext)}检查是否已重新分片，已重新分片时应停止本次处理，
+ * 剩余数据由下次执行按新的分片处理。
+ * <p>本实例超过memberTimeout没有刷新成功时(如redis不可用)，其它实例已把本实例视为下线并接管其分片，
+ * 此时本实例不处理任何分片，避免重复处理
+ *
+ * @author chengzhy
+ * @date 2026/10/18 23:00
+ */
+@ConditionalOnProperty(prefix = "sharding", value = "enable", havingValue = "true")
+@Component
+@Slf4j
+public class ShardingCoordinator implements DisposableBean {
+
+    private static final String REDIS_MEMBERS_KEY_PREFIX = "Sharding:members:";
+
+    private final ShardingProperties properties;
+
+    private final RedissonClient redissonClient;
+
+    private final ObjectProvider<NamingService> namingService;
+
+    private final ObjectProvider<NacosDiscoveryProperties> nacosDiscoveryProperties;
+
+    private final String group;
+
+    private volatile ShardMembership membership;
+
+    private volatile ShardingContext context;
+
+    /**
+     * 最近一次刷新成功的时间
+     */
+    private volatile long lastRefreshMillis;
+
+    public ShardingCoordinator(ShardingProperties properties, RedissonClient redissonClient,
+                               ObjectProvider<NamingService> namingService,
+                               ObjectProvider<NacosDiscoveryProperties> nacosDiscoveryProperties,
+                               @Value("${spring.application.name}") String applicationName) {
+        this.properties = properties;
+        this.redissonClient = redissonClient;
+        this.namingService = namingService;
+        this.nacosDiscoveryProperties = nacosDiscoveryProperties;
+        this.group = StringUtils.isBlank(properties.getGroup()) ? applicationName : properties.getGroup();
+        this.context = ShardingContext.inactive(ManagementFactory.getRuntimeMXBean().getName(), 0L);
+    }
+
+    /**
+     * 应用启动完成后加入分片组(nacos方式此时已注册实例并确定端口)
+     *
+     * @author chengzhy
+     * @date 2026/10/18 23:00
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void join() {
+        ShardMembership shardMembership;
+        if (properties.getRegistry() == ShardingProperties.Registry.NACOS) {
+            NacosDiscoveryProperties discoveryProperties = nacosDiscoveryProperties.getObject();
+            shardMembership = new NacosShardMembership(namingService.getObject(), discoveryProperties.getService(),
+                    discoveryProperties.getGroup(), discoveryProperties.getIp() + ":" + discoveryProperties.getPort());
+        } else {
+            shardMembership = new RedisShardMembership(redissonClient, REDIS_MEMBERS_KEY_PREFIX + group,
+                    ManagementFactory.getRuntimeMXBean().getName(), properties.getMemberTimeout());
+        }
+        this.membership = shardMembership;
+        shardMembership.subscribe(this::refresh);
+        refresh();
+    }
+
+    /**
+     * 定时刷新实例列表
+     *
+     * @author chengzhy
+     * @date 2026/10/18 23:00
+     */
+    @Scheduled(fixedDelayString = "${sharding.heartbeat-interval:5000}")
+    public void heartbeat() {
+        if (membership != null) {
+            refresh();
+        }
+    }
+
+    /**
+     * 当前分片，本实例超过memberTimeout没有刷新成功时返回不处理任何数据的分片
+     *
+     * @author chengzhy
+     * @date 2026/10/18 23:00
+     * @return 分片信息
+     */
+    public ShardingContext getContext() {
+        ShardingContext current = context;
+        if (current.isActive()
+                && System.currentTimeMillis() - lastRefreshMillis > properties.getMemberTimeout().toMillis()) {
+            return ShardingContext.inactive(current.getInstanceId(), current.getVersion());
+        }
+        return current;
+    }
+
+    /**
+     * 分片是否仍然有效(期间没有重新分片且本实例仍在分片组中)
+     *
+     * @author chengzhy
+     * @param shardingContext 之前获取的分片信息
+     * @date 2026/10/18 23:00
+     * @return 是|否
+     */
+    public boolean isCurrent(ShardingContext shardingContext) {
+        ShardingContext current = getContext();
+        return current.isActive() && current.getVersion() == shardingContext.getVersion();
+    }
+
+    private synchronized void refresh() {
+        ShardMembership shardMembership = membership;
+        List<String> members;
+        try {
+            members = new ArrayList<>(shardMembership.heartbeat());
+        } catch (RuntimeException e) {
+            log.error("[sharding] refresh members error: group=[{}]", group, e);
+            return;
+        }
+        lastRefreshMillis = System.currentTimeMillis();
+        Collections.sort(members);
+        ShardingContext current = context;
+        if (members.equals(current.getMembers())) {
+            return;
+        }
+        String instanceId = shardMembership.getInstanceId();
+        int index = members.indexOf(instanceId);
+        // 本实例不在列表中(如nacos中尚未健康)时index为-1，不处理任何数据
+        ShardingContext newContext = new ShardingContext(instanceId, index, members, current.getVersion() + 1);
+        context = newContext;
+        log.info("[sharding] rebalanced: group=[{}], instance=[{}], {}", group, instanceId, newContext);
+    }
+
+    @Override
+    public void destroy() {
+        ShardMembership shardMembership = membership;
+        if (shardMembership == null) {
+            return;
+        }
+        try {
+            shardMembership.leave();
+        } catch (RuntimeException e) {
+            log.error("[sharding] leave error: group=[{}]", group, e);
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.github.chengzhy.basiccode.schedule.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 定时任务分片配置
+ * @author chengzhy
+ * @date 2026/10/18 23:00
+ */
+@Component
+@ConfigurationProperties(prefix = "sharding")
+@Getter
+@Setter
+public class ShardingProperties {
+
+    /**
+     * 是否启用分片
+     */
+    private boolean enable = false;
+
+    /**
+     * 实例发现方式
+     */
+    private Registry registry = Registry.REDIS;
+
+    /**
+     * REDIS方式的分片组名，同一组的实例共同分片，为空时使用spring.application.name；NACOS方式按服务名分组
+     */
+    private String group;
+
+    /**
+     * 刷新实例列表(REDIS方式同时上报心跳)的间隔，单位：毫秒
+     */
+    private long heartbeatInterval = 5000L;
+
+    /**
+     * 超过该时间没有心跳的实例视为下线；本实例超过该时间没有刷新成功时不处理任何分片
+     */
+    private Duration memberTimeout = Duration.ofSeconds(15L);
+
+    public enum Registry {
+        /**
+         * redis有序集合，score为最近一次心跳时间
+         */
+        REDIS,
+        /**
+         * nacos服务实例列表(健康实例)，实例变化时立即重新分片
+         */
+        NACOS
+    }
+
+}
@@ -1,10 +1,35 @@
 package com.github.chengzhy.basiccode.util;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Redis工具类
+ *
+ * <p>批量操作按{@code redis.batch-size}分批执行，每批使用一条多key命令或一次pipeline完成，
+ * 即每批只需一次网络往返，同时避免单条命令过大阻塞redis
+ *
  * @author chengzhy
  * @date 2021/9/23 14:52
  */
@@ -13,10 +38,269 @@ public final class RedisUtils {
 
     private final RedisTemplate<String, Object> redisTemplate;
 
-    public RedisUtils(RedisTemplate<String, Object> redisTemplate) {
+    /**
+     * 每批最多处理的key数量
+     */
+    private final int batchSize;
+
+    private final RedisSerializer<String> keySerializer;
+
+    private final RedisSerializer<Object> valueSerializer;
+
+    private final RedisSerializer<String> hashKeySerializer;
+
+    private final RedisSerializer<Object> hashValueSerializer;
+
+    @SuppressWarnings("unchecked")
+    public RedisUtils(RedisTemplate<String, Object> redisTemplate,
+                      @Value("${redis.batch-size:500}") int batchSize) {
+        Assert.isTrue(batchSize > 0, "redis.batch-size必须大于0");
         this.redisTemplate = redisTemplate;
+        this.batchSize = batchSize;
+        this.keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        this.valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        this.hashKeySerializer = (RedisSerializer<String>) redisTemplate.getHashKeySerializer();
+        this.hashValueSerializer = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+    }
+
+    /**
+     * 批量获取(MGET)
+     *
+     * @author chengzhy
+     * @param keys key集合
+     * @date 2026/10/18 15:00
+     * @return 与keys顺序一致的值列表，key不存在时对应位置为null
+     */
+    public List<Object> multiGet(@NonNull Collection<String> keys) {
+        if (CollectionUtils.isEmpty(keys)) {
+            return Collections.emptyList();
+        }
+        List<Object> values = new ArrayList<>(keys.size());
+        for (List<String> batch : partition(keys)) {
+            List<Object> batchValues = redisTemplate.opsForValue().multiGet(batch);
+            if (batchValues == null) {
+                // pipeline/事务中调用时无返回值
+                batchValues = Collections.nCopies(batch.size(), null);
+            }
+            values.addAll(batchValues);
+        }
+        return values;
     }
 
-    /** TODO */
+    /**
+     * 批量设置，所有key使用相同的过期时间
+     *
+     * @author chengzhy
+     * @param values key-value
+     * @param ttl 过期时间，为null时不过期
+     * @date 2026/10/18 15:00
+     */
+    public void multiSet(@NonNull Map<String, ?> values, @Nullable Duration ttl) {
+        for (List<Map.Entry<String, ?>> batch : partition(values.entrySet())) {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<String, ?> entry : batch) {
+                    set(connection, entry.getKey(), entry.getValue(), ttl);
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * 批量设置，每个key使用各自的过期时间
+     *
+     * @author chengzhy
+     * @param values key-value
+     * @param ttls key-过期时间，未指定过期时间的key不过期
+     * @date 2026/10/18 15:00
+     */
+    public void multiSet(@NonNull Map<String, ?> values, @NonNull Map<String, Duration> ttls) {
+        for (List<Map.Entry<String, ?>> batch : partition(values.entrySet())) {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<String, ?> entry : batch) {
+                    set(connection, entry.getKey(), entry.getValue(), ttls.get(entry.getKey()));
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * 批量删除(DEL)
+     *
+     * @author chengzhy
+     * @param keys key集合
+     * @date 2026/10/18 15:00
+     * @return 删除的key数量
+     */
+    public long delete(@NonNull Collection<String> keys) {
+        long deleted = 0L;
+        for (List<String> batch : partition(keys)) {
+            Long count = redisTemplate.delete(batch);
+            deleted += count == null ? 0L : count;
+        }
+        return deleted;
+    }
+
+    /**
+     * 批量获取hash的所有字段(pipeline HGETALL)
+     *
+     * @author chengzhy
+     * @param keys key集合
+     * @date 2026/10/18 15:00
+     * @return key-hash，key不存在时对应的hash为空
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Map<String, Object>> hashMultiGetAll(@NonNull Collection<String> keys) {
+        Map<String, Map<String, Object>> values = new LinkedHashMap<>(keys.size() << 1);
+        for (List<String> batch : partition(keys)) {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : batch) {
+                    connection.hGetAll(rawKey(key));
+                }
+                return null;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                Object result = results.get(i);
+                values.put(batch.get(i), result instanceof Map ? (Map<String, Object>) result : Collections.emptyMap());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 批量设置hash字段(pipeline HMSET)
+     *
+     * @author chengzhy
+     * @param values key-hash
+     * @param ttl 过期时间，为null时不修改过期时间
+     * @date 2026/10/18 15:00
+     */
+    public void hashMultiPutAll(@NonNull Map<String, ? extends Map<String, ?>> values, @Nullable Duration ttl) {
+        for (List<Map.Entry<String, ? extends Map<String, ?>>> batch : partition(values.entrySet())) {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<String, ? extends Map<String, ?>> entry : batch) {
+                    if (CollectionUtils.isEmpty(entry.getValue())) {
+                        continue;
+                    }
+                    byte[] rawKey = rawKey(entry.getKey());
+                    Map<byte[], byte[]> rawHash = new LinkedHashMap<>(entry.getValue().size() << 1);
+                    for (Map.Entry<String, ?> field : entry.getValue().entrySet()) {
+                        rawHash.put(hashKeySerializer.serialize(field.getKey()),
+                                hashValueSerializer.serialize(field.getValue()));
+                    }
+                    connection.hMSet(rawKey, rawHash);
+                    if (ttl != null) {
+                        connection.pExpire(rawKey, ttl.toMillis());
+                    }
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * 批量删除hash字段(pipeline HDEL)
+     *
+     * @author chengzhy
+     * @param fields key-需要删除的字段
+     * @date 2026/10/18 15:00
+     */
+    public void hashMultiDelete(@NonNull Map<String, ? extends Collection<String>> fields) {
+        for (List<Map.Entry<String, ? extends Collection<String>>> batch : partition(fields.entrySet())) {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<String, ? extends Collection<String>> entry : batch) {
+                    if (CollectionUtils.isEmpty(entry.getValue())) {
+                        continue;
+                    }
+                    byte[][] rawFields = new byte[entry.getValue().size()][];
+                    int i = 0;
+                    for (String field : entry.getValue()) {
+                        rawFields[i++] = hashKeySerializer.serialize(field);
+                    }
+                    connection.hDel(rawKey(entry.getKey()), rawFields);
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * 使用SCAN游标遍历匹配的key，每{@code batchSize}个key回调一次
+     * <p>不会像KEYS命令一样阻塞redis
+     *
+     * @author chengzhy
+     * @param pattern key匹配模式，如"userInfo:*"
+     * @param consumer 每批key的处理
+     * @date 2026/10/18 15:00
+     */
+    public void scan(@NonNull String pattern, @NonNull Consumer<List<String>> consumer) {
+        ScanOptions scanOptions = ScanOptions.scanOptions().match(pattern).count(batchSize).build();
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            try (Cursor<byte[]> cursor = connection.scan(scanOptions)) {
+                List<String> batch = new ArrayList<>(batchSize);
+                while (cursor.hasNext()) {
+                    batch.add(keySerializer.deserialize(cursor.next()));
+                    if (batch.size() >= batchSize) {
+                        consumer.accept(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    consumer.accept(batch);
+                }
+            } catch (IOException e) {
+                throw new RedisSystemException(e.getMessage(), e);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 删除所有匹配的key(SCAN + DEL)
+     *
+     * @author chengzhy
+     * @param pattern key匹配模式
+     * @date 2026/10/18 15:00
+     * @return 删除的key数量
+     */
+    public long deleteByPattern(@NonNull String pattern) {
+        long[] deleted = {0L};
+        scan(pattern, keys -> deleted[0] += delete(keys));
+        return deleted[0];
+    }
+
+    private void set(RedisConnection connection, String key, Object value, @Nullable Duration ttl) {
+        byte[] rawKey = rawKey(key);
+        byte[] rawValue = valueSerializer.serialize(value);
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            connection.set(rawKey, rawValue);
+        } else {
+            connection.pSetEx(rawKey, ttl.toMillis(), rawValue);
+        }
+    }
+
+    private byte[] rawKey(String key) {
+        return keySerializer.serialize(key);
+    }
+
+    private <T> List<List<T>> partition(Collection<? extends T> collection) {
+        if (CollectionUtils.isEmpty(collection)) {
+            return Collections.emptyList();
+        }
+        List<List<T>> batches = new ArrayList<>((collection.size() + batchSize - 1) / batchSize);
+        List<T> batch = new ArrayList<>(Math.min(batchSize, collection.size()));
+        for (T element : collection) {
+            batch.add(element);
+            if (batch.size() >= batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
 
 }
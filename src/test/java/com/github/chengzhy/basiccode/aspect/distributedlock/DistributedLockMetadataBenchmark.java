@@ -0,0 +1,157 @@
+package com.github.chengzhy.basiccode.aspect.distributedlock;
+
+import com.github.chengzhy.basiccode.aspect.distributedlock.annotation.DistributedRedisLock;
+import com.github.chengzhy.basiccode.aspect.distributedlock.annotation.RedisLockKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式锁key生成基准测试：每次调用反射解析注解(原实现) vs 按方法缓存的{@link DistributedLockMetadata}
+ * <p>运行main方法
+ *
+ * @author chengzhy
+ * @date 2026/10/18 18:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistributedLockMetadataBenchmark {
+
+    private static final String REDIS_LOCK_KEY_PREFIX = "DistributedRedisLock:";
+
+    private final ConcurrentMap<Method, DistributedLockMetadata> lockMetadataCache = new ConcurrentHashMap<>();
+
+    private final EvaluationContext keyEvaluationContext = new StandardEvaluationContext();
+
+    private Method method;
+
+    private Method expressionMethod;
+
+    private Object[] args;
+
+    private LocalLocks localLocks;
+
+    private DistributedLockMetrics metrics;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        method = LockedService.class.getMethod("pay", Long.class, String.class, String.class);
+        expressionMethod = LockedService.class.getMethod("refund", Long.class, String.class, String.class);
+        args = new Object[]{10086L, "remark", "NO202610180001"};
+        localLocks = new LocalLocks();
+        metrics = new DistributedLockMetrics(new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class),
+                Duration.ofMillis(10L), 200);
+    }
+
+    /**
+     * 原实现：每次调用读取方法注解和参数注解，用TreeMap按order排序
+     */
+    @Benchmark
+    public String reflectionPerCall() {
+        return getRedisLockKey(method, args);
+    }
+
+    @Benchmark
+    public String cachedMetadata() {
+        return getLockMetadata(method).buildLockKey(args, keyEvaluationContext);
+    }
+
+    /**
+     * 缓存元数据 + key表达式(编译后执行)
+     */
+    @Benchmark
+    public String cachedMetadataWithExpression() {
+        return getLockMetadata(expressionMethod).buildLockKey(args, keyEvaluationContext);
+    }
+
+    private DistributedLockMetadata getLockMetadata(Method method) {
+        DistributedLockMetadata metadata = lockMetadataCache.get(method);
+        if (metadata == null) {
+            metadata = lockMetadataCache.computeIfAbsent(method,
+                    key -> DistributedLockMetadata.resolve(key, REDIS_LOCK_KEY_PREFIX, localLocks, metrics));
+        }
+        return metadata;
+    }
+
+    /**
+     * 缓存前DistributedLockAspect获取key的实现
+     */
+    private static String getRedisLockKey(Method method, Object[] args) {
+        StringBuilder lockKey = new StringBuilder(REDIS_LOCK_KEY_PREFIX);
+        DistributedRedisLock distributedRedisLock = method.getAnnotation(DistributedRedisLock.class);
+        if (StringUtils.isBlank(distributedRedisLock.lockKey())
+                && distributedRedisLock.defaultKey()) {
+            lockKey.append(method.getDeclaringClass().getName())
+                    .append(".")
+                    .append(method.getName());
+        } else {
+            lockKey.append(distributedRedisLock.lockKey());
+        }
+        if (args!=null && args.length>0) {
+            Annotation[][] annotations = method.getParameterAnnotations();
+            SortedMap<Integer, String> keys = new TreeMap<>();
+            for (int i=0; i<annotations.length; i++) {
+                Annotation[] paramAnnotations = annotations[i];
+                for (Annotation annotation : paramAnnotations) {
+                    if (RedisLockKey.class.equals(annotation.annotationType())) {
+                        if (args[i] != null) {
+                            RedisLockKey redisLockKey = (RedisLockKey) annotation;
+                            keys.put(redisLockKey.order(), args[i].toString());
+                        }
+                        break;
+                    }
+                }
+            }
+            for (String key : keys.values()) {
+                lockKey.append(".").append(key);
+            }
+        }
+        return lockKey.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DistributedLockMetadataBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    public static class LockedService {
+
+        @DistributedRedisLock
+        public void pay(@RedisLockKey(order = 1) Long userId, String remark,
+                        @RedisLockKey(order = 2) String orderNo) {
+        }
+
+        @DistributedRedisLock(key = "#p0")
+        public void refund(Long userId, String remark, @RedisLockKey String orderNo) {
+        }
+
+    }
+
+}
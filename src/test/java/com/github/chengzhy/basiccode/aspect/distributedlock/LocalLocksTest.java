@@ -0,0 +1,61 @@
+package com.github.chengzhy.basiccode.aspect.distributedlock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link LocalLocks}测试
+ * @author chengzhy
+ * @date 2026/10/18 19:15
+ */
+class LocalLocksTest {
+
+    private final LocalLocks localLocks = new LocalLocks();
+
+    @Test
+    void differentKeysDoNotBlockEachOther() {
+        LocalLocks.LocalLock first = localLocks.acquire("DistributedRedisLock:order.1", false);
+        first.getLock().lock();
+        try {
+            // 其它线程tryLock不同key成功，tryLock相同key失败
+            assertThat(tryLockInOtherThread("DistributedRedisLock:order.2")).isTrue();
+            assertThat(tryLockInOtherThread("DistributedRedisLock:order.1")).isFalse();
+        } finally {
+            first.getLock().unlock();
+            first.release();
+        }
+        assertThat(localLocks.size()).isZero();
+    }
+
+    @Test
+    void sameKeySharesLockUntilReleased() {
+        LocalLocks.LocalLock first = localLocks.acquire("key", true);
+        LocalLocks.LocalLock second = localLocks.acquire("key", false);
+        assertThat(second).isSameAs(first);
+        assertThat(second.getLock().isFair()).isTrue();
+        first.release();
+        assertThat(localLocks.size()).isEqualTo(1);
+        second.release();
+        assertThat(localLocks.size()).isZero();
+        assertThat(localLocks.acquire("key", false)).isNotSameAs(first);
+    }
+
+    private boolean tryLockInOtherThread(String lockKey) {
+        return CompletableFuture.supplyAsync(() -> {
+            LocalLocks.LocalLock localLock = localLocks.acquire(lockKey, false);
+            try {
+                if (localLock.getLock().tryLock()) {
+                    localLock.getLock().unlock();
+                    return true;
+                }
+                return false;
+            } finally {
+                localLock.release();
+            }
+        }).join();
+    }
+
+}
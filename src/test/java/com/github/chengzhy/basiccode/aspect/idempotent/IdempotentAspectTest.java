@@ -0,0 +1,156 @@
+package com.github.chengzhy.basiccode.aspect.idempotent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.chengzhy.basiccode.aspect.idempotent.annotation.Idempotent;
+import com.github.chengzhy.basiccode.exception.runtime.BusinessException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link IdempotentAspect}幂等key和参数摘要测试
+ * @author chengzhy
+ * @date 2026/10/18 20:30
+ */
+class IdempotentAspectTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+
+    /**
+     * 获取处理中标记脚本的调用：[redis key, 参数摘要]
+     */
+    private final List<String[]> acquireCalls = new ArrayList<>();
+
+    private long acquireResult = 1L;
+
+    private IdempotentAspect idempotentAspect;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        when(redissonClient.getTopic(anyString(), any(Codec.class))).thenReturn(mock(RTopic.class));
+        doReturn(RedisSerializer.java()).when(redisTemplate).getValueSerializer();
+        doAnswer(invocation -> {
+            RedisScript<Long> script = invocation.getArgument(0);
+            if (!script.getScriptAsString().contains("hmset")) {
+                return 1L;
+            }
+            List<String> keys = invocation.getArgument(3);
+            acquireCalls.add(new String[]{keys.get(0),
+                    new String((byte[]) invocation.getArgument(5), StandardCharsets.UTF_8)});
+            return acquireResult;
+        }).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any());
+        idempotentAspect = new IdempotentAspect(redisTemplate, redissonClient, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotentAspect.destroy();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void keyIsScopedByCaller() throws Throwable {
+        Map<String, Object> order = order("a", "b");
+        assertThat(idempotentAspect.idempotent(joinPoint(order, "alice"))).isEqualTo("created");
+        idempotentAspect.idempotent(joinPoint(order, "bob"));
+        idempotentAspect.idempotent(joinPoint(order, null));
+
+        assertThat(acquireCalls).hasSize(3);
+        String method = OrderController.class.getName() + ".create:";
+        assertThat(acquireCalls.get(0)[0]).isEqualTo("Idempotent:" + method + "alice:k1");
+        assertThat(acquireCalls.get(1)[0]).isEqualTo("Idempotent:" + method + "bob:k1");
+        assertThat(acquireCalls.get(2)[0]).isEqualTo("Idempotent:" + method + "k1");
+    }
+
+    @Test
+    void fingerprintDependsOnParameterValuesOnly() throws Throwable {
+        idempotentAspect.idempotent(joinPoint(order("a", "b"), null));
+        // Map的key顺序不影响摘要
+        idempotentAspect.idempotent(joinPoint(order("b", "a"), null));
+        Map<String, Object> changed = order("a", "b");
+        changed.put("a", "changed");
+        idempotentAspect.idempotent(joinPoint(changed, null));
+
+        assertThat(acquireCalls.get(0)[1]).isNotEmpty().isEqualTo(acquireCalls.get(1)[1]);
+        assertThat(acquireCalls.get(2)[1]).isNotEqualTo(acquireCalls.get(0)[1]);
+    }
+
+    @Test
+    void keyReusedWithDifferentParameters() throws Throwable {
+        acquireResult = -1L;
+        ProceedingJoinPoint joinPoint = joinPoint(order("a", "b"), null);
+
+        assertThatThrownBy(() -> idempotentAspect.idempotent(joinPoint))
+                .isInstanceOfSatisfying(BusinessException.class,
+                        e -> assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        verify(joinPoint, never()).proceed();
+    }
+
+    private static Map<String, Object> order(String... keys) {
+        Map<String, Object> order = new LinkedHashMap<>();
+        for (String key : keys) {
+            order.put(key, key + "-value");
+        }
+        return order;
+    }
+
+    private static ProceedingJoinPoint joinPoint(Map<String, Object> order, String caller) throws Throwable {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Idempotency-Key", "k1");
+        if (caller != null) {
+            request.setUserPrincipal(() -> caller);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(OrderController.class.getMethod("create", Map.class));
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{order});
+        when(joinPoint.proceed()).thenReturn("created");
+        return joinPoint;
+    }
+
+    static class OrderController {
+
+        @Idempotent
+        public String create(Map<String, Object> order) {
+            return "created";
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.github.chengzhy.basiccode.aspect.ratelimit;
+
+import com.github.chengzhy.basiccode.aspect.ratelimit.annotation.RateLimited;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RRateLimiter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link ClusterRateLimiter}测试
+ * @author chengzhy
+ * @date 2026/10/18 20:00
+ */
+class ClusterRateLimiterTest {
+
+    private final RRateLimiter rateLimiter = mock(RRateLimiter.class);
+
+    @Test
+    void prefetchedPermitsAreServedLocally() throws NoSuchMethodException {
+        when(rateLimiter.tryAcquire(10L)).thenReturn(true);
+        ClusterRateLimiter clusterRateLimiter = create("prefetch");
+        for (int i = 0; i < 10; i++) {
+            assertThat(clusterRateLimiter.tryAcquire()).isTrue();
+        }
+        verify(rateLimiter, times(1)).tryAcquire(anyLong());
+    }
+
+    @Test
+    void failedPrefetchRejectsLocallyWithOneRemoteCall() throws NoSuchMethodException {
+        when(rateLimiter.tryAcquire(anyLong())).thenReturn(false);
+        ClusterRateLimiter clusterRateLimiter = create("prefetch");
+        for (int i = 0; i < 100; i++) {
+            assertThat(clusterRateLimiter.tryAcquire()).isFalse();
+        }
+        // 只有一次预取，没有退化为单个获取，之后在prefetchTtl内直接拒绝
+        verify(rateLimiter, times(1)).tryAcquire(anyLong());
+        verify(rateLimiter, times(1)).tryAcquire(10L);
+    }
+
+    @Test
+    void concurrentCallersDoNotWaitForPrefetch() throws Exception {
+        CountDownLatch prefetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(rateLimiter.tryAcquire(10L)).thenAnswer(invocation -> {
+            prefetching.countDown();
+            release.await();
+            return true;
+        });
+        when(rateLimiter.tryAcquire(1L)).thenReturn(false);
+        ClusterRateLimiter clusterRateLimiter = create("prefetch");
+        CompletableFuture<Boolean> prefetcher = CompletableFuture.supplyAsync(clusterRateLimiter::tryAcquire);
+        prefetching.await();
+        // 预取进行中，其它线程不排队，各自获取单个许可
+        assertThat(clusterRateLimiter.tryAcquire()).isFalse();
+        verify(rateLimiter, times(1)).tryAcquire(1L);
+        release.countDown();
+        assertThat(prefetcher.get()).isTrue();
+        assertThat(clusterRateLimiter.tryAcquire()).isTrue();
+    }
+
+    private ClusterRateLimiter create(String methodName) throws NoSuchMethodException {
+        when(rateLimiter.getName()).thenReturn(methodName);
+        RateLimited rateLimited = getClass().getDeclaredMethod(methodName).getAnnotation(RateLimited.class);
+        return new ClusterRateLimiter(rateLimiter, rateLimited);
+    }
+
+    @RateLimited(rate = 100L, prefetch = 10, prefetchTtl = 60000L)
+    private void prefetch() {
+    }
+
+}
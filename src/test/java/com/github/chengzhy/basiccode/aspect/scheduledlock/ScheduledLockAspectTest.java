@@ -0,0 +1,174 @@
+package com.github.chengzhy.basiccode.aspect.scheduledlock;
+
+import com.github.chengzhy.basiccode.aspect.scheduledlock.annotation.ScheduledLock;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.Codec;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link ScheduledLockAspect}执行语义测试
+ * @author chengzhy
+ * @date 2026/10/18 22:30
+ */
+class ScheduledLockAspectTest {
+
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+
+    private final RLock lock = mock(RLock.class);
+
+    @SuppressWarnings("unchecked")
+    private final RBucket<String> executedMarker = mock(RBucket.class);
+
+    private final ScheduledLockAspect scheduledLockAspect = new ScheduledLockAspect(redissonClient);
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        when(redissonClient.getLock(anyString())).thenReturn(lock);
+        doReturn(executedMarker).when(redissonClient).getBucket(anyString(), any(Codec.class));
+        doReturn(mock(RMap.class)).when(redissonClient).getMap(anyString(), any(Codec.class));
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+        when(lock.tryLock(anyLong(), any(TimeUnit.class))).thenReturn(true);
+        when(lock.isHeldByCurrentThread()).thenReturn(true);
+    }
+
+    @Test
+    void defaultNameUsesFullyQualifiedClassName() throws Throwable {
+        scheduledLockAspect.scheduledLock(joinPoint("atMostOnce"));
+        String name = Jobs.class.getName() + ".atMostOnce";
+        verify(redissonClient).getLock("ScheduledLock:" + name);
+        verify(redissonClient).getBucket(eq("ScheduledLock:" + name + ":executed"), any(Codec.class));
+        verify(redissonClient).getMap(eq("ScheduledLock:" + name + ":stats"), any(Codec.class));
+    }
+
+    @Test
+    void atMostOnceMarksExecutedBeforeRunning() throws Throwable {
+        ProceedingJoinPoint joinPoint = joinPoint("atMostOnce");
+        assertThat(scheduledLockAspect.scheduledLock(joinPoint)).isEqualTo("done");
+
+        InOrder inOrder = inOrder(lock, executedMarker, joinPoint);
+        // 固定租期，不续期
+        inOrder.verify(lock).tryLock(0L, 30L, TimeUnit.SECONDS);
+        inOrder.verify(executedMarker).set(anyString(), eq(30L), eq(TimeUnit.SECONDS));
+        inOrder.verify(joinPoint).proceed();
+        inOrder.verify(executedMarker).set(anyString(), eq(500L), eq(TimeUnit.MILLISECONDS));
+        inOrder.verify(lock).unlock();
+    }
+
+    @Test
+    void atMostOnceFailureIsNotRetried() throws Throwable {
+        ProceedingJoinPoint joinPoint = joinPoint("atMostOnce");
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("failed"));
+
+        assertThatThrownBy(() -> scheduledLockAspect.scheduledLock(joinPoint)).hasMessage("failed");
+        // 失败后同样保持已执行标记，其它节点不再执行本次触发
+        verify(executedMarker).set(anyString(), eq(500L), eq(TimeUnit.MILLISECONDS));
+        verify(lock).unlock();
+    }
+
+    @Test
+    void atLeastOnceMarksExecutedOnlyOnSuccess() throws Throwable {
+        ProceedingJoinPoint joinPoint = joinPoint("atLeastOnce");
+        assertThat(scheduledLockAspect.scheduledLock(joinPoint)).isEqualTo("done");
+
+        InOrder inOrder = inOrder(lock, executedMarker, joinPoint);
+        // 不指定租期，由看门狗续期
+        inOrder.verify(lock).tryLock(0L, TimeUnit.SECONDS);
+        inOrder.verify(joinPoint).proceed();
+        inOrder.verify(executedMarker).set(anyString(), eq(500L), eq(TimeUnit.MILLISECONDS));
+        inOrder.verify(lock).unlock();
+        verify(executedMarker, never()).set(anyString(), anyLong(), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void atLeastOnceFailureReleasesWithoutMarker() throws Throwable {
+        ProceedingJoinPoint joinPoint = joinPoint("atLeastOnce");
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("failed"));
+
+        assertThatThrownBy(() -> scheduledLockAspect.scheduledLock(joinPoint)).hasMessage("failed");
+        // 触发稍晚的节点可以重新执行
+        verify(executedMarker, never()).set(anyString(), anyLong(), any(TimeUnit.class));
+        verify(lock).unlock();
+    }
+
+    @Test
+    void skipsWhenLockedByAnotherNode() throws Throwable {
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenReturn(false);
+        ProceedingJoinPoint joinPoint = joinPoint("atMostOnce");
+
+        assertThat(scheduledLockAspect.scheduledLock(joinPoint)).isNull();
+        verify(joinPoint, never()).proceed();
+        verify(lock, never()).unlock();
+    }
+
+    @Test
+    void skipsWhenAlreadyExecuted() throws Throwable {
+        when(executedMarker.isExists()).thenReturn(true);
+        for (String methodName : new String[]{"atMostOnce", "atLeastOnce"}) {
+            ProceedingJoinPoint joinPoint = joinPoint(methodName);
+            assertThat(scheduledLockAspect.scheduledLock(joinPoint)).isNull();
+            verify(joinPoint, never()).proceed();
+        }
+        verify(executedMarker, never()).set(anyString(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    void redisErrorSkipsAtMostOnceAndRunsAtLeastOnce() throws Throwable {
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenThrow(new RedisException("down"));
+        when(lock.tryLock(anyLong(), any(TimeUnit.class))).thenThrow(new RedisException("down"));
+
+        ProceedingJoinPoint atMostOnce = joinPoint("atMostOnce");
+        assertThat(scheduledLockAspect.scheduledLock(atMostOnce)).isNull();
+        verify(atMostOnce, never()).proceed();
+
+        ProceedingJoinPoint atLeastOnce = joinPoint("atLeastOnce");
+        assertThat(scheduledLockAspect.scheduledLock(atLeastOnce)).isEqualTo("done");
+        verify(atLeastOnce).proceed();
+    }
+
+    private static ProceedingJoinPoint joinPoint(String methodName) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(Jobs.class.getMethod(methodName));
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.proceed()).thenReturn("done");
+        return joinPoint;
+    }
+
+    static class Jobs {
+
+        @ScheduledLock(leaseTime = 30L, lockAtLeastFor = 500L)
+        public String atMostOnce() {
+            return "done";
+        }
+
+        @ScheduledLock(mode = ScheduledLock.Mode.AT_LEAST_ONCE, lockAtLeastFor = 500L)
+        public String atLeastOnce() {
+            return "done";
+        }
+
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.github.chengzhy.basiccode.async;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link FairTaskQueue}测试
+ * @author chengzhy
+ * @date 2026/10/18 22:00
+ */
+class FairTaskQueueTest {
+
+    /**
+     * 任务-名称(优先级-租户-序号)
+     */
+    private final Map<Runnable, String> taskNames = new IdentityHashMap<>();
+
+    @Test
+    void weightedRoundRobinAcrossPriorities() {
+        FairTaskQueue queue = new FairTaskQueue(100, 100, weights(4, 2, 1));
+        for (int i = 0; i < 10; i++) {
+            queue.offer(task(TaskPriority.LOW, "t", i));
+            queue.offer(task(TaskPriority.NORMAL, "t", i));
+            queue.offer(task(TaskPriority.HIGH, "t", i));
+        }
+        List<TaskPriority> order = new ArrayList<>();
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            order.add(((ClassifiedTask) task).getPriority());
+        }
+        // 每轮HIGH 4个、NORMAL 2个、LOW 1个
+        assertThat(order.subList(0, 14)).containsExactly(
+                TaskPriority.HIGH, TaskPriority.HIGH, TaskPriority.HIGH, TaskPriority.HIGH,
+                TaskPriority.NORMAL, TaskPriority.NORMAL, TaskPriority.LOW,
+                TaskPriority.HIGH, TaskPriority.HIGH, TaskPriority.HIGH, TaskPriority.HIGH,
+                TaskPriority.NORMAL, TaskPriority.NORMAL, TaskPriority.LOW);
+        assertThat(order).hasSize(30);
+        // HIGH用完后剩余优先级不再受HIGH的权重占用
+        assertThat(order.subList(order.size() - 3, order.size())).containsOnly(TaskPriority.LOW);
+    }
+
+    @Test
+    void emptyPriorityIsSkipped() {
+        FairTaskQueue queue = new FairTaskQueue(100, 100, weights(4, 2, 1));
+        for (int i = 0; i < 5; i++) {
+            queue.offer(task(TaskPriority.LOW, "t", i));
+        }
+        // 只有LOW任务时不受权重限制，按提交顺序全部出队
+        for (int i = 0; i < 5; i++) {
+            assertThat(taskNames.get(queue.poll())).isEqualTo("LOW-t-" + i);
+        }
+        assertThat(queue.poll()).isNull();
+    }
+
+    @Test
+    void tenantsTakeTurnsWithinPriority() {
+        FairTaskQueue queue = new FairTaskQueue(100, 100, weights(1, 1, 1));
+        queue.offer(task(TaskPriority.NORMAL, "a", 0));
+        queue.offer(task(TaskPriority.NORMAL, "a", 1));
+        queue.offer(task(TaskPriority.NORMAL, "a", 2));
+        queue.offer(task(TaskPriority.NORMAL, "b", 0));
+        assertThat(pollAll(queue)).containsExactly("NORMAL-a-0", "NORMAL-b-0", "NORMAL-a-1", "NORMAL-a-2");
+    }
+
+    @Test
+    void perTenantCapAndCapacity() {
+        FairTaskQueue queue = new FairTaskQueue(5, 2, weights(1, 1, 1));
+        assertThat(queue.offer(task(TaskPriority.NORMAL, "a", 0))).isTrue();
+        assertThat(queue.offer(task(TaskPriority.NORMAL, "a", 1))).isTrue();
+        // 同一租户同一优先级超过上限
+        assertThat(queue.offer(task(TaskPriority.NORMAL, "a", 2))).isFalse();
+        // 其它租户或其它优先级不受影响
+        assertThat(queue.offer(task(TaskPriority.NORMAL, "b", 0))).isTrue();
+        assertThat(queue.offer(task(TaskPriority.HIGH, "a", 0))).isTrue();
+        assertThat(queue.offer(task(TaskPriority.LOW, "c", 0))).isTrue();
+        // 总容量已满
+        assertThat(queue.remainingCapacity()).isZero();
+        assertThat(queue.offer(task(TaskPriority.LOW, "d", 0))).isFalse();
+        assertThat(queue.size()).isEqualTo(5);
+        assertThat(queue.size(TaskPriority.NORMAL)).isEqualTo(3);
+        assertThat(queue.tenantCount(TaskPriority.NORMAL)).isEqualTo(2);
+        // 其它租户的任务出队不释放租户a的名额
+        assertThat(taskNames.get(queue.poll())).isEqualTo("HIGH-a-0");
+        assertThat(queue.offer(task(TaskPriority.NORMAL, "a", 2))).isFalse();
+        // 租户a的任务出队后可以再次入队
+        assertThat(taskNames.get(queue.poll())).isEqualTo("NORMAL-a-0");
+        assertThat(queue.offer(task(TaskPriority.NORMAL, "a", 2))).isTrue();
+    }
+
+    @Test
+    void unclassifiedTaskUsesNormalPriorityAndDefaultTenant() {
+        FairTaskQueue queue = new FairTaskQueue(10, 1, weights(1, 1, 1));
+        assertThat(queue.offer(() -> { })).isTrue();
+        assertThat(queue.offer(() -> { })).isFalse();
+        assertThat(queue.size(TaskPriority.NORMAL)).isEqualTo(1);
+    }
+
+    @Test
+    void removeTask() {
+        FairTaskQueue queue = new FairTaskQueue(100, 100, weights(1, 1, 1));
+        Runnable a0 = task(TaskPriority.NORMAL, "a", 0);
+        Runnable b0 = task(TaskPriority.NORMAL, "b", 0);
+        Runnable a1 = task(TaskPriority.NORMAL, "a", 1);
+        queue.offer(a0);
+        queue.offer(b0);
+        queue.offer(a1);
+
+        assertThat(queue.remove(b0)).isTrue();
+        assertThat(queue.remove(b0)).isFalse();
+        assertThat(queue.remove(null)).isFalse();
+        assertThat(queue.size()).isEqualTo(2);
+        // 租户b没有排队的任务，不再参与轮转
+        assertThat(queue.tenantCount(TaskPriority.NORMAL)).isEqualTo(1);
+        assertThat(queue.contains(a1)).isTrue();
+        assertThat(pollAll(queue)).containsExactly("NORMAL-a-0", "NORMAL-a-1");
+    }
+
+    @Test
+    void drainToKeepsDequeueOrder() {
+        FairTaskQueue queue = new FairTaskQueue(100, 100, weights(2, 1, 1));
+        for (int i = 0; i < 3; i++) {
+            queue.offer(task(TaskPriority.HIGH, "t", i));
+            queue.offer(task(TaskPriority.LOW, "t", i));
+        }
+        List<Runnable> drained = new ArrayList<>();
+        assertThat(queue.drainTo(drained, 3)).isEqualTo(3);
+        assertThat(names(drained)).containsExactly("HIGH-t-0", "HIGH-t-1", "LOW-t-0");
+        drained.clear();
+        assertThat(queue.drainTo(drained)).isEqualTo(3);
+        assertThat(names(drained)).containsExactly("HIGH-t-2", "LOW-t-1", "LOW-t-2");
+        assertThat(queue.isEmpty()).isTrue();
+        assertThat(queue.remainingCapacity()).isEqualTo(100);
+    }
+
+    private static Map<TaskPriority, Integer> weights(int high, int normal, int low) {
+        Map<TaskPriority, Integer> weights = new EnumMap<>(TaskPriority.class);
+        weights.put(TaskPriority.HIGH, high);
+        weights.put(TaskPriority.NORMAL, normal);
+        weights.put(TaskPriority.LOW, low);
+        return weights;
+    }
+
+    private Runnable task(TaskPriority priority, String tenant, int index) {
+        Runnable task = new ClassifiedTask(() -> { }, priority, tenant, null);
+        taskNames.put(task, priority + "-" + tenant + "-" + index);
+        return task;
+    }
+
+    private List<String> pollAll(FairTaskQueue queue) {
+        List<Runnable> tasks = new ArrayList<>();
+        queue.drainTo(tasks);
+        return names(tasks);
+    }
+
+    private List<String> names(List<Runnable> tasks) {
+        List<String> names = new ArrayList<>();
+        for (Runnable task : tasks) {
+            names.add(taskNames.get(task));
+        }
+        return names;
+    }
+
+}
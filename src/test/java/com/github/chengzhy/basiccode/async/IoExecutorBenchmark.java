@@ -0,0 +1,138 @@
+package com.github.chengzhy.basiccode.async;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * io密集型任务负载测试：默认线程池(原来执行io任务的线程池) vs ioExecutor(ELASTIC、VIRTUAL)
+ * <p>每次调用提交一批阻塞io任务(sleep模拟mysql、redis、feign等调用)并等待全部完成，结果为一批任务的耗时。
+ * 线程池配置与ExecutorConfig的默认值一致；VIRTUAL需要JDK 21及以上，运行main方法时自动跳过
+ *
+ * @author chengzhy
+ * @date 2026/10/18 21:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IoExecutorBenchmark {
+
+    private static final int CPU_NUM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 执行器类型：DEFAULT为默认线程池，ELASTIC、VIRTUAL为ioExecutor的两种方式
+     */
+    @Param({"DEFAULT", "ELASTIC", "VIRTUAL"})
+    private String executorType;
+
+    /**
+     * 每批任务数
+     */
+    @Param({"1000"})
+    private int tasks;
+
+    /**
+     * 每个任务的阻塞时间 单位：毫秒
+     */
+    @Param({"20"})
+    private long blockMillis;
+
+    private TaskExecutor executor;
+
+    @Setup
+    public void setup() {
+        executor = createExecutor(executorType);
+        if (executor == null) {
+            throw new IllegalStateException("当前JDK不支持虚拟线程");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (executor instanceof DisposableBean) {
+            ((DisposableBean) executor).destroy();
+        }
+    }
+
+    @Benchmark
+    public void blockingTasks() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(blockMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+    }
+
+    private static TaskExecutor createExecutor(String executorType) {
+        if ("VIRTUAL".equals(executorType)) {
+            return VirtualThreadTaskExecutor.create("ioExecutor-", new IoExecutorProperties().getMaxConcurrency(),
+                    new MdcTaskDecorator());
+        }
+        VisiableThreadPoolTaskExecutor executor =
+                new VisiableThreadPoolTaskExecutor(VisiableThreadPoolTaskExecutor.VisibleMode.METRICS);
+        if ("ELASTIC".equals(executorType)) {
+            IoExecutorProperties properties = new IoExecutorProperties();
+            executor.setCorePoolSize(properties.getMaxConcurrency());
+            executor.setMaxPoolSize(properties.getMaxConcurrency());
+            executor.setAllowCoreThreadTimeOut(true);
+            executor.setKeepAliveSeconds(properties.getKeepAliveSeconds());
+            executor.setQueueCapacity(properties.getQueueCapacity());
+            executor.setThreadNamePrefix("ioExecutor-");
+            executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        } else {
+            executor.setCorePoolSize(CPU_NUM + 1);
+            executor.setMaxPoolSize(CPU_NUM << 1);
+            executor.setQueueCapacity(1024);
+            executor.setThreadNamePrefix("defaultExecutor-");
+            executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    public static void main(String[] args) throws RunnerException, InterruptedException {
+        List<String> executorTypes = new ArrayList<>();
+        executorTypes.add("DEFAULT");
+        executorTypes.add("ELASTIC");
+        TaskExecutor virtual = createExecutor("VIRTUAL");
+        if (virtual != null) {
+            ((VirtualThreadTaskExecutor) virtual).destroy();
+            executorTypes.add("VIRTUAL");
+        }
+        new Runner(new OptionsBuilder().include(IoExecutorBenchmark.class.getSimpleName())
+                .param("executorType", executorTypes.toArray(new String[0])).build()).run();
+    }
+
+}
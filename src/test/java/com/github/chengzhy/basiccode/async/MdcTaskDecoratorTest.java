@@ -0,0 +1,78 @@
+package com.github.chengzhy.basiccode.async;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * {@link MdcTaskDecorator}测试
+ * @author chengzhy
+ * @date 2026/10/18 21:00
+ */
+class MdcTaskDecoratorTest {
+
+    private final MdcTaskDecorator mdcTaskDecorator = new MdcTaskDecorator();
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        worker.shutdownNow();
+    }
+
+    @Test
+    void propagatesCallerMdc() throws Exception {
+        MDC.put("traceId", "caller-trace");
+        AtomicReference<Map<String, String>> seen = new AtomicReference<>();
+        Runnable decorated = mdcTaskDecorator.decorate(() -> seen.set(MDC.getCopyOfContextMap()));
+        // 提交后修改调用线程的MDC不影响任务
+        MDC.put("traceId", "changed");
+        worker.submit(decorated).get();
+        assertThat(seen.get()).containsOnly(entry("traceId", "caller-trace"));
+    }
+
+    @Test
+    void restoresWorkerMdcAfterTask() throws Exception {
+        worker.submit(() -> MDC.put("worker", "worker-context")).get();
+        MDC.put("traceId", "caller-trace");
+        AtomicReference<Map<String, String>> seen = new AtomicReference<>();
+        worker.submit(mdcTaskDecorator.decorate(() -> seen.set(MDC.getCopyOfContextMap()))).get();
+        assertThat(seen.get()).containsOnlyKeys("traceId");
+        assertThat(worker.submit(MDC::getCopyOfContextMap).get()).containsOnlyKeys("worker");
+    }
+
+    @Test
+    void clearsMdcWhenWorkerHadNone() throws Exception {
+        MDC.put("traceId", "caller-trace");
+        worker.submit(mdcTaskDecorator.decorate(() -> MDC.put("inner", "value"))).get();
+        Map<String, String> after = worker.submit(MDC::getCopyOfContextMap).get();
+        assertThat(after == null || after.isEmpty()).isTrue();
+    }
+
+    @Test
+    void restoresWorkerMdcWhenTaskThrows() throws Exception {
+        worker.submit(() -> MDC.put("worker", "worker-context")).get();
+        MDC.put("traceId", "caller-trace");
+        Runnable failing = mdcTaskDecorator.decorate(() -> {
+            throw new IllegalStateException("task failed");
+        });
+        worker.submit(failing);
+        assertThat(worker.submit(MDC::getCopyOfContextMap).get()).containsOnlyKeys("worker");
+    }
+
+    @Test
+    void returnsTaskAsIsWithoutCallerMdc() {
+        Runnable task = () -> { };
+        assertThat(mdcTaskDecorator.decorate(task)).isSameAs(task);
+    }
+
+}
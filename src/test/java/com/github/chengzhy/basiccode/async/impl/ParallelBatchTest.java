@@ -0,0 +1,165 @@
+package com.github.chengzhy.basiccode.async.impl;
+
+import com.github.chengzhy.basiccode.async.BatchOptions;
+import com.github.chengzhy.basiccode.async.BatchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link ParallelBatch}测试
+ * @author chengzhy
+ * @date 2026/10/18 21:30
+ */
+class ParallelBatchTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void processesEveryItemOnceInInputOrder() throws Exception {
+        List<Integer> items = range(10000);
+        AtomicIntegerArray calls = new AtomicIntegerArray(items.size());
+        BatchResult<Integer> result = new ParallelBatch<Integer, Integer>(items, item -> {
+            calls.incrementAndGet(item);
+            return item * 2;
+        }, pool, fixedChunks(7, 0)).start().get(10L, TimeUnit.SECONDS);
+
+        assertThat(result.getTotal()).isEqualTo(10000);
+        assertThat(result.getSucceeded()).isEqualTo(10000);
+        assertThat(result.isAborted()).isFalse();
+        for (int i = 0; i < items.size(); i++) {
+            assertThat(calls.get(i)).isEqualTo(1);
+            assertThat(result.getResults().get(i)).isEqualTo(i * 2);
+        }
+    }
+
+    @Test
+    void singleChunkRunsOnCallerThread() throws Exception {
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        BatchResult<Integer> result = new ParallelBatch<Integer, Integer>(range(10), item -> {
+            threads.add(Thread.currentThread());
+            return item;
+        }, pool, fixedChunks(16, 0)).start().get();
+        assertThat(result.getSucceeded()).isEqualTo(10);
+        assertThat(threads).containsOnly(caller);
+    }
+
+    @Test
+    void emptyItems() throws Exception {
+        BatchResult<Integer> result = new ParallelBatch<Integer, Integer>(Collections.emptyList(), item -> item,
+                pool, new BatchOptions()).start().get();
+        assertThat(result.getTotal()).isZero();
+        assertThat(result.getResults()).isEmpty();
+    }
+
+    @Test
+    void inFlightChunksAreBounded() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        BatchResult<Integer> result = new ParallelBatch<Integer, Integer>(range(200), item -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(1L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return item;
+        }, pool, fixedChunks(10, 2)).start().get(10L, TimeUnit.SECONDS);
+        // 同一批内的元素顺序处理，同时处理的元素数不超过同时执行的批次数
+        assertThat(result.getSucceeded()).isEqualTo(200);
+        assertThat(maxRunning.get()).isBetween(1, 2);
+    }
+
+    @Test
+    void errorsAreSortedByIndexAndAbortAfterMaxErrors() throws Exception {
+        BatchOptions options = fixedChunks(10, 1);
+        options.setMaxErrors(3);
+        BatchResult<Integer> result = new ParallelBatch<Integer, Integer>(range(1000), item -> {
+            if (item % 10 == 5) {
+                throw new IllegalArgumentException("invalid " + item);
+            }
+            return item;
+        }, pool, options).start().get(10L, TimeUnit.SECONDS);
+        // 只有一个批次在执行，失败按顺序出现，第3个失败后不再处理剩余元素
+        assertThat(result.isAborted()).isTrue();
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(BatchResult.ItemError::getIndex).containsExactly(5, 15, 25);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("invalid 5");
+        assertThat(result.getSucceeded()).isLessThan(1000 - 3);
+        assertThat(result.getResults().get(999)).isNull();
+    }
+
+    @Test
+    void cancellationStopsClaimingChunks() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        AtomicInteger processed = new AtomicInteger();
+        CompletableFuture<BatchResult<Integer>> future = new ParallelBatch<Integer, Integer>(range(1000), item -> {
+            processed.incrementAndGet();
+            started.countDown();
+            try {
+                cancelled.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return item;
+        }, pool, fixedChunks(10, 2)).start();
+        assertThat(started.await(10L, TimeUnit.SECONDS)).isTrue();
+        future.cancel(true);
+        cancelled.countDown();
+        assertThat(pool.awaitQuiescence(10L, TimeUnit.SECONDS)).isTrue();
+        assertThat(future.isCancelled()).isTrue();
+        // 已开始的批次处理完当前元素后停止，不再领取新的批次
+        assertThat(processed.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void errorCompletesExceptionally() {
+        CompletableFuture<BatchResult<Integer>> future = new ParallelBatch<Integer, Integer>(range(100), item -> {
+            if (item == 50) {
+                throw new AssertionError("fatal");
+            }
+            return item;
+        }, pool, fixedChunks(10, 0)).start();
+        assertThatThrownBy(() -> future.get(10L, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(AssertionError.class);
+    }
+
+    private static BatchOptions fixedChunks(int chunkSize, int maxInFlightChunks) {
+        BatchOptions options = new BatchOptions();
+        options.setMinChunkSize(chunkSize);
+        options.setMaxChunkSize(chunkSize);
+        options.setMaxInFlightChunks(maxInFlightChunks);
+        return options;
+    }
+
+    private static List<Integer> range(int size) {
+        List<Integer> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.github.chengzhy.basiccode.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link BatchRedisCache}sync加载测试
+ * @author chengzhy
+ * @date 2026/10/18 15:30
+ */
+class BatchRedisCacheTest {
+
+    /**
+     * 模拟redis，key为序列化后的缓存key
+     */
+    private final Map<String, byte[]> store = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private BatchRedisCache cache;
+
+    @BeforeEach
+    void setUp() {
+        RedisCacheWriter cacheWriter = mock(RedisCacheWriter.class);
+        when(cacheWriter.get(anyString(), any(byte[].class)))
+                .thenAnswer(invocation -> store.get(rawKey(invocation.getArgument(1))));
+        doAnswer(invocation -> store.put(rawKey(invocation.getArgument(1)), invocation.getArgument(2)))
+                .when(cacheWriter).put(anyString(), any(byte[].class), any(byte[].class), any());
+        cache = new BatchRedisCache("userInfo", cacheWriter,
+                RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(1)),
+                mock(RedisConnectionFactory.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void differentKeysDoNotBlockEachOther() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> slowLoad = executor.submit(() -> cache.get(1L, () -> {
+            loading.countDown();
+            release.await();
+            return "user1";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // key=1的加载未结束时key=2的加载不需要等待
+        Future<String> otherLoad = executor.submit(() -> cache.get(2L, () -> "user2"));
+        assertThat(otherLoad.get(5, TimeUnit.SECONDS)).isEqualTo("user2");
+        assertThat(slowLoad.isDone()).isFalse();
+
+        release.countDown();
+        assertThat(slowLoad.get(5, TimeUnit.SECONDS)).isEqualTo("user1");
+    }
+
+    @Test
+    void sameKeyLoadsOnce() throws Exception {
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> first = executor.submit(() -> cache.get(1L, () -> {
+            loadCount.incrementAndGet();
+            loading.countDown();
+            release.await();
+            return "user1";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> second = executor.submit(() -> cache.get(1L, () -> {
+            loadCount.incrementAndGet();
+            return "other";
+        }));
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("user1");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("user1");
+        assertThat(loadCount).hasValue(1);
+    }
+
+    @Test
+    void nullResultIsNotCached() {
+        assertThat(cache.<String>get(1L, () -> null)).isNull();
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(1L, () -> "user1")).isEqualTo("user1");
+        assertThat(cache.get(1L, () -> "other")).isEqualTo("user1");
+    }
+
+    @Test
+    void loaderFailure() {
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(Cache.ValueRetrievalException.class).hasRootCauseMessage("db down");
+        // 失败后不残留加载中的状态
+        assertThat(cache.get(1L, () -> "user1")).isEqualTo("user1");
+    }
+
+    private static String rawKey(byte[] key) {
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+}
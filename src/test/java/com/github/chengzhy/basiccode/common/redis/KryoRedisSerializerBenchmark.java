@@ -0,0 +1,125 @@
+package com.github.chengzhy.basiccode.common.redis;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.chengzhy.basiccode.cache.stampede.CacheEntry;
+import com.github.chengzhy.basiccode.demo.entity.UserInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * redis value序列化基准测试：jackson(当前默认) vs kryo vs kryo + lz4
+ * <p>运行main方法，结果中的序列化大小见{@link #main(String[])}的输出
+ *
+ * @author chengzhy
+ * @date 2026/10/18 14:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KryoRedisSerializerBenchmark {
+
+    /**
+     * 序列化方式
+     */
+    @Param({"JACKSON", "KRYO", "KRYO_LZ4"})
+    private String serializerType;
+
+    /**
+     * 缓存值中的用户数量：1为单个UserInfo(包装为CacheEntry)，其它为UserInfo列表
+     */
+    @Param({"1", "100"})
+    private int size;
+
+    private RedisSerializer<Object> serializer;
+
+    private Object value;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        serializer = createSerializer(serializerType);
+        value = createValue(size);
+        bytes = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+    static RedisSerializer<Object> createSerializer(String serializerType) {
+        List<Class<?>> registeredClasses = Arrays.asList(UserInfo.class, CacheEntry.class);
+        switch (serializerType) {
+            case "KRYO":
+                return new KryoRedisSerializer(registeredClasses, 0);
+            case "KRYO_LZ4":
+                return new KryoRedisSerializer(registeredClasses, 1024);
+            default:
+                // 与RedisConfig中的jackson配置一致，另外注册JavaTimeModule以支持LocalDateTime
+                Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer =
+                        new Jackson2JsonRedisSerializer<>(Object.class);
+                ObjectMapper objectMapper = new ObjectMapper();
+                objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+                objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
+                        ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.WRAPPER_ARRAY);
+                objectMapper.registerModule(new JavaTimeModule());
+                jackson2JsonRedisSerializer.setObjectMapper(objectMapper);
+                return jackson2JsonRedisSerializer;
+        }
+    }
+
+    static Object createValue(int size) {
+        if (size == 1) {
+            return new CacheEntry(KryoRedisSerializerTest.userInfo(1L), 5L, System.currentTimeMillis());
+        }
+        List<UserInfo> userInfoList = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            userInfoList.add(KryoRedisSerializerTest.userInfo(i));
+        }
+        return userInfoList;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (String serializerType : new String[]{"JACKSON", "KRYO", "KRYO_LZ4"}) {
+            for (int size : new int[]{1, 100}) {
+                System.out.printf("%s size=%d bytes=%d%n", serializerType, size,
+                        createSerializer(serializerType).serialize(createValue(size)).length);
+            }
+        }
+        new Runner(new OptionsBuilder().include(KryoRedisSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
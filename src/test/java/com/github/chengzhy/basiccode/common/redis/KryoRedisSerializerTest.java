@@ -0,0 +1,211 @@
+package com.github.chengzhy.basiccode.common.redis;
+
+import com.github.chengzhy.basiccode.cache.stampede.CacheEntry;
+import com.github.chengzhy.basiccode.common.response.ResponseResult;
+import com.github.chengzhy.basiccode.demo.entity.UserInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link KryoRedisSerializer}序列化往返测试
+ * @author chengzhy
+ * @date 2026/10/18 14:00
+ */
+class KryoRedisSerializerTest {
+
+    private final KryoRedisSerializer serializer = new KryoRedisSerializer(
+            Arrays.asList(UserInfo.class, CacheEntry.class), 1024);
+
+    @Test
+    void nullValue() {
+        assertThat(serializer.serialize(null)).isEmpty();
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+
+    @Test
+    void userInfo() {
+        UserInfo userInfo = userInfo(1L);
+        assertThat(roundTrip(userInfo)).isEqualTo(userInfo);
+    }
+
+    @Test
+    void cacheEntry() {
+        CacheEntry cacheEntry = new CacheEntry(userInfo(1L), 12L, System.currentTimeMillis() + 60000L);
+        assertThat(roundTrip(cacheEntry)).isEqualTo(cacheEntry);
+        // 空值标记
+        CacheEntry nullMarker = new CacheEntry(null, 3L, System.currentTimeMillis() + 60000L);
+        assertThat(roundTrip(nullMarker)).isEqualTo(nullMarker);
+    }
+
+    @Test
+    void responseResult() {
+        ResponseResult<UserInfo> responseResult = ResponseResult.success(userInfo(1L));
+        ResponseResult<?> restored = (ResponseResult<?>) roundTrip(responseResult);
+        assertThat(restored.getCode()).isEqualTo(responseResult.getCode());
+        assertThat(restored.getMessage()).isEqualTo(responseResult.getMessage());
+        assertThat(restored.getSuccess()).isEqualTo(responseResult.getSuccess());
+        assertThat(restored.getTimestamp()).isEqualTo(responseResult.getTimestamp());
+        assertThat(restored.getData()).isEqualTo(responseResult.getData());
+    }
+
+    @Test
+    void arraysAsList() {
+        List<UserInfo> list = Arrays.asList(userInfo(1L), userInfo(2L));
+        Object restored = roundTrip(list);
+        assertThat(restored).isInstanceOf(list.getClass()).isEqualTo(list);
+    }
+
+    @Test
+    void unmodifiableCollections() {
+        List<String> randomAccessList = Collections.unmodifiableList(new ArrayList<>(Arrays.asList("a", "b")));
+        List<String> linkedList = Collections.unmodifiableList(new LinkedList<>(Arrays.asList("c", "d")));
+        Set<String> set = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList("e", "f")));
+        Collection<String> collection = Collections.unmodifiableCollection(new ArrayList<>(Arrays.asList("g")));
+        Map<String, UserInfo> map = new HashMap<>();
+        map.put("1", userInfo(1L));
+        Map<String, UserInfo> unmodifiableMap = Collections.unmodifiableMap(map);
+
+        assertUnmodifiable(roundTrip(randomAccessList), randomAccessList);
+        assertUnmodifiable(roundTrip(linkedList), linkedList);
+        assertUnmodifiable(roundTrip(set), set);
+        Collection<?> restoredCollection = (Collection<?>) roundTrip(collection);
+        assertThat(restoredCollection).containsExactlyElementsOf(collection);
+        assertThatThrownBy(() -> restoredCollection.add(null)).isInstanceOf(UnsupportedOperationException.class);
+        Map<?, ?> restoredMap = (Map<?, ?>) roundTrip(unmodifiableMap);
+        assertThat(restoredMap).isEqualTo(unmodifiableMap);
+        assertThatThrownBy(() -> restoredMap.clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void emptyAndSingletonCollections() {
+        assertThat(roundTrip(Collections.emptyList())).isEqualTo(Collections.emptyList());
+        assertThat(roundTrip(Collections.emptyMap())).isEqualTo(Collections.emptyMap());
+        assertThat(roundTrip(Collections.singletonList(userInfo(1L))))
+                .isEqualTo(Collections.singletonList(userInfo(1L)));
+    }
+
+    @Test
+    void compressedLargeValue() {
+        List<UserInfo> userInfoList = new ArrayList<>();
+        for (long i = 0; i < 200; i++) {
+            userInfoList.add(userInfo(i));
+        }
+        byte[] bytes = serializer.serialize(userInfoList);
+        // flag为1表示lz4压缩
+        assertThat(bytes[1]).isEqualTo((byte) 1);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(userInfoList);
+    }
+
+    @Test
+    void evolvedClass() {
+        // 同一个注册id分别对应类的旧版本和新版本，模拟类字段变更前后的同一个类
+        KryoRedisSerializer oldSerializer = new KryoRedisSerializer(Collections.singletonList(AccountV1.class), 0);
+        KryoRedisSerializer newSerializer = new KryoRedisSerializer(Collections.singletonList(AccountV2.class), 0);
+        KryoRedisSerializer removedSerializer = new KryoRedisSerializer(
+                Collections.singletonList(AccountV3.class), 0);
+        AccountV1 account = new AccountV1();
+        account.id = 1L;
+        account.name = "user1";
+        account.email = "user1@example.com";
+        account.tags = Arrays.asList("a", "b");
+        byte[] bytes = oldSerializer.serialize(account);
+
+        // 调整字段顺序并增加字段
+        AccountV2 evolved = (AccountV2) newSerializer.deserialize(bytes);
+        assertThat(evolved.id).isEqualTo(1L);
+        assertThat(evolved.name).isEqualTo("user1");
+        assertThat(evolved.email).isEqualTo("user1@example.com");
+        assertThat(evolved.tags).containsExactly("a", "b");
+        assertThat(evolved.mobilePhone).isNull();
+
+        // 删除字段
+        AccountV3 removed = (AccountV3) removedSerializer.deserialize(bytes);
+        assertThat(removed.id).isEqualTo(1L);
+        assertThat(removed.email).isEqualTo("user1@example.com");
+
+        // 新版本的数据也可以被旧版本读取(滚动发布期间新旧节点共存)
+        evolved.mobilePhone = "13800000001";
+        AccountV1 restored = (AccountV1) oldSerializer.deserialize(newSerializer.serialize(evolved));
+        assertThat(restored.name).isEqualTo("user1");
+        assertThat(restored.email).isEqualTo("user1@example.com");
+    }
+
+    @Test
+    void unknownFormat() {
+        assertThatThrownBy(() -> serializer.deserialize("{\"id\":1}".getBytes()))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void assertUnmodifiable(Object restored, Collection<String> expected) {
+        assertThat(restored).isInstanceOf(expected.getClass()).isEqualTo(expected);
+        assertThatThrownBy(() -> ((Collection<String>) restored).add("x"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private Object roundTrip(Object value) {
+        return serializer.deserialize(serializer.serialize(value));
+    }
+
+    static class AccountV1 {
+
+        private Long id;
+
+        private String name;
+
+        private String email;
+
+        private List<String> tags;
+
+    }
+
+    static class AccountV2 {
+
+        private String mobilePhone;
+
+        private String email;
+
+        private List<String> tags;
+
+        private String name;
+
+        private Long id;
+
+    }
+
+    static class AccountV3 {
+
+        private String email;
+
+        private Long id;
+
+    }
+
+    static UserInfo userInfo(long id) {
+        UserInfo userInfo = new UserInfo();
+        userInfo.setId(id);
+        userInfo.setUserName("user" + id);
+        userInfo.setPassWord("password" + id);
+        userInfo.setEmailAddress("user" + id + "@example.com");
+        userInfo.setMobilePhone("138" + String.format("%08d", id));
+        userInfo.setCreateTime(LocalDateTime.of(2026, 10, 18, 14, 0, 0));
+        return userInfo;
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.github.chengzhy.basiccode.config;
+
+import com.github.chengzhy.basiccode.cache.multilevel.MultiLevelCache;
+import com.github.chengzhy.basiccode.cache.multilevel.MultiLevelCacheManager;
+import com.github.chengzhy.basiccode.cache.multilevel.MultiLevelCacheProperties;
+import com.github.chengzhy.basiccode.cache.stampede.StampedeProtectionProperties;
+import com.github.chengzhy.basiccode.common.redis.RedisSerializerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link RedisConfig}缓存配置测试
+ * @author chengzhy
+ * @date 2026/10/18 9:30
+ */
+class RedisConfigTest {
+
+    private RedisConfig redisConfig;
+
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisConfig = new RedisConfig(new StampedeProtectionProperties(), mock(ObjectProvider.class),
+                mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(redisConfig, "appName", "test");
+        redisTemplate = redisConfig.redisTemplate(mock(RedisConnectionFactory.class), new RedisSerializerProperties());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void multiLevelRemoteCacheKeepsPerCacheTtl() {
+        MultiLevelCacheManager cacheManager = redisConfig.multiLevelCacheManager(redisTemplate,
+                new MultiLevelCacheProperties(), mock(ObjectProvider.class));
+        cacheManager.afterPropertiesSet();
+
+        assertThat(remoteCache(cacheManager.getCache("userInfoCount")).getCacheConfiguration().getTtl())
+                .isEqualTo(Duration.ofSeconds(60L));
+        assertThat(remoteCache(cacheManager.getCache("userInfo")).getCacheConfiguration().getTtl())
+                .isEqualTo(Duration.ofSeconds(3600L));
+    }
+
+    private static RedisCache remoteCache(Cache cache) {
+        assertThat(cache).isInstanceOf(TransactionAwareCacheDecorator.class);
+        Cache targetCache = ((TransactionAwareCacheDecorator) cache).getTargetCache();
+        assertThat(targetCache).isInstanceOf(MultiLevelCache.class);
+        Cache remoteCache = ((MultiLevelCache) targetCache).getRemoteCache();
+        assertThat(remoteCache).isInstanceOf(RedisCache.class);
+        return (RedisCache) remoteCache;
+    }
+
+}
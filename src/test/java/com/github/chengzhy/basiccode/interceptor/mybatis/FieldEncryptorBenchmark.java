@@ -0,0 +1,127 @@
+package com.github.chengzhy.basiccode.interceptor.mybatis;
+
+import com.github.chengzhy.basiccode.demo.entity.UserInfo;
+import com.github.chengzhy.basiccode.interceptor.mybatis.annotation.EncDecClass;
+import com.github.chengzhy.basiccode.interceptor.mybatis.annotation.EncDecField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 查询结果解密的每行开销：模拟10000行的selectByConditions结果集经过resultSetHandlerIntercept的处理
+ * <ul>
+ *     <li>baseline：只遍历结果集</li>
+ *     <li>plainRows：没有加密字段的实体(如UserInfo)，每个类只查一次字段缓存</li>
+ *     <li>encryptedRows：两个加密字段的实体，逐行AES-GCM解密</li>
+ * </ul>
+ * 结果为每行的平均耗时
+ *
+ * @author chengzhy
+ * @date 2026/10/18 17:30
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldEncryptorBenchmark {
+
+    private static final int ROWS = 10000;
+
+    private final FieldEncryptor fieldEncryptor = new FieldEncryptor("MDEyMzQ1Njc4OWFiY2RlZg==");
+
+    private List<UserInfo> plainRows;
+
+    private List<EncryptedUserInfo> encryptedRows;
+
+    private String[] encryptedPassWords;
+
+    private String[] encryptedMobilePhones;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        plainRows = new ArrayList<>(ROWS);
+        encryptedRows = new ArrayList<>(ROWS);
+        encryptedPassWords = new String[ROWS];
+        encryptedMobilePhones = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            UserInfo userInfo = new UserInfo();
+            userInfo.setId((long) i);
+            userInfo.setUserName("user" + i);
+            userInfo.setPassWord("password" + i);
+            userInfo.setMobilePhone("138" + String.format("%08d", i));
+            plainRows.add(userInfo);
+            encryptedPassWords[i] = fieldEncryptor.encrypt(userInfo.getPassWord());
+            encryptedMobilePhones[i] = fieldEncryptor.encrypt(userInfo.getMobilePhone());
+            encryptedRows.add(new EncryptedUserInfo());
+        }
+    }
+
+    /**
+     * 解密是原地修改，每次调用前恢复为密文
+     */
+    @Setup(Level.Invocation)
+    public void resetCipherText() {
+        for (int i = 0; i < ROWS; i++) {
+            EncryptedUserInfo row = encryptedRows.get(i);
+            row.passWord = encryptedPassWords[i];
+            row.mobilePhone = encryptedMobilePhones[i];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void baseline(Blackhole blackhole) {
+        for (UserInfo userInfo : plainRows) {
+            blackhole.consume(userInfo);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<UserInfo> plainRows() {
+        fieldEncryptor.decryptAll(plainRows);
+        return plainRows;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<EncryptedUserInfo> encryptedRows() {
+        fieldEncryptor.decryptAll(encryptedRows);
+        return encryptedRows;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FieldEncryptorBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @EncDecClass
+    public static class EncryptedUserInfo {
+
+        @EncDecField
+        private String passWord;
+
+        @EncDecField
+        private String mobilePhone;
+
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.github.chengzhy.basiccode.interceptor.mybatis;
+
+import com.github.chengzhy.basiccode.interceptor.mybatis.annotation.EncDecClass;
+import com.github.chengzhy.basiccode.interceptor.mybatis.annotation.EncDecField;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link FieldEncryptor}加解密测试
+ * @author chengzhy
+ * @date 2026/10/18 17:30
+ */
+class FieldEncryptorTest {
+
+    private final FieldEncryptor fieldEncryptor = new FieldEncryptor("MDEyMzQ1Njc4OWFiY2RlZg==");
+
+    @Test
+    void roundTrip() {
+        String cipherText = fieldEncryptor.encrypt("secret");
+        assertThat(cipherText).startsWith(FieldEncryptor.ENCRYPTED_PREFIX).isNotEqualTo("secret");
+        // 随机iv，同一明文的密文不同
+        assertThat(fieldEncryptor.encrypt("secret")).isNotEqualTo(cipherText);
+        assertThat(fieldEncryptor.decrypt(cipherText)).isEqualTo("secret");
+        assertThat(fieldEncryptor.encrypt(null)).isNull();
+        assertThat(fieldEncryptor.decrypt(null)).isNull();
+    }
+
+    @Test
+    void plainTextWithPrefixIsEncrypted() {
+        String cipherText = fieldEncryptor.encrypt("ENC:abc");
+        assertThat(cipherText).isNotEqualTo("ENC:abc");
+        assertThat(fieldEncryptor.decrypt(cipherText)).isEqualTo("ENC:abc");
+        // 已经是密文的值再次写入时同样加密，读取时只解密一层
+        assertThat(fieldEncryptor.decrypt(fieldEncryptor.encrypt(cipherText))).isEqualTo(cipherText);
+    }
+
+    @Test
+    void forgedCipherTextIsTreatedAsPlainText() {
+        assertThat(fieldEncryptor.decrypt("legacy")).isEqualTo("legacy");
+        assertThat(fieldEncryptor.decrypt("ENC:")).isEqualTo("ENC:");
+        assertThat(fieldEncryptor.decrypt("ENC:not base64!")).isEqualTo("ENC:not base64!");
+        String wrongVersion = FieldEncryptor.ENCRYPTED_PREFIX + Base64.getEncoder().encodeToString(new byte[64]);
+        assertThat(fieldEncryptor.decrypt(wrongVersion)).isEqualTo(wrongVersion);
+        byte[] forged = new byte[64];
+        forged[0] = 1;
+        String badTag = FieldEncryptor.ENCRYPTED_PREFIX + Base64.getEncoder().encodeToString(forged);
+        assertThat(fieldEncryptor.decrypt(badTag)).isEqualTo(badTag);
+    }
+
+    @Test
+    void tamperedCipherTextIsNotDecrypted() {
+        String cipherText = fieldEncryptor.encrypt("secret");
+        byte[] data = Base64.getDecoder().decode(cipherText.substring(FieldEncryptor.ENCRYPTED_PREFIX.length()));
+        data[data.length - 1] ^= 1;
+        String tampered = FieldEncryptor.ENCRYPTED_PREFIX + Base64.getEncoder().encodeToString(data);
+        assertThat(fieldEncryptor.decrypt(tampered)).isEqualTo(tampered);
+        // 校验失败后cipher仍可继续使用
+        assertThat(fieldEncryptor.decrypt(cipherText)).isEqualTo("secret");
+    }
+
+    @Test
+    void otherKeyCannotDecrypt() {
+        String cipherText = new FieldEncryptor("ZmVkY2JhOTg3NjU0MzIxMA==").encrypt("secret");
+        assertThat(fieldEncryptor.decrypt(cipherText)).isEqualTo(cipherText);
+    }
+
+    @Test
+    void decryptFieldsKeepsForgedValues() {
+        Account account = new Account();
+        account.secret = "ENC:forged";
+        fieldEncryptor.decryptFields(account);
+        assertThat(account.secret).isEqualTo("ENC:forged");
+        account.secret = fieldEncryptor.encrypt("secret");
+        fieldEncryptor.decryptFields(account);
+        assertThat(account.secret).isEqualTo("secret");
+    }
+
+    @EncDecClass
+    static class Account {
+
+        @EncDecField
+        private String secret;
+
+    }
+
+}
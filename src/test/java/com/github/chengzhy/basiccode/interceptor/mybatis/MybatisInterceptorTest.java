@@ -0,0 +1,159 @@
+package com.github.chengzhy.basiccode.interceptor.mybatis;
+
+import com.github.chengzhy.basiccode.interceptor.mybatis.annotation.EncDecClass;
+import com.github.chengzhy.basiccode.interceptor.mybatis.annotation.EncDecField;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link MybatisInterceptor}参数加密测试
+ * @author chengzhy
+ * @date 2026/10/18 17:30
+ */
+class MybatisInterceptorTest {
+
+    private static final String SECRET_KEY = "MDEyMzQ1Njc4OWFiY2RlZg==";
+
+    private final Configuration configuration = new Configuration();
+
+    private final FieldEncryptor fieldEncryptor = new FieldEncryptor(SECRET_KEY);
+
+    private final MybatisInterceptor interceptor = new MybatisInterceptor(SECRET_KEY);
+
+    @Test
+    void encryptsEntityParameterWithoutModifyingIt() throws Throwable {
+        Account account = new Account(1L, "secret", "name");
+        BoundSql boundSql = new BoundSql(configuration, "insert into account values (?, ?, ?)",
+                mappings("id", "secret", "name"), account);
+        PreparedStatement preparedStatement = parameterize(boundSql);
+
+        ArgumentCaptor<String> cipherText = ArgumentCaptor.forClass(String.class);
+        verify(preparedStatement).setString(eq(2), cipherText.capture());
+        verify(preparedStatement, never()).setString(eq(1), anyString());
+        verify(preparedStatement, never()).setString(eq(3), anyString());
+        assertThat(cipherText.getValue()).startsWith(FieldEncryptor.ENCRYPTED_PREFIX);
+        assertThat(fieldEncryptor.decrypt(cipherText.getValue())).isEqualTo("secret");
+        // 调用方对象始终为明文
+        assertThat(account.secret).isEqualTo("secret");
+    }
+
+    @Test
+    void encryptsPlainTextWithCipherTextPrefix() throws Throwable {
+        Account account = new Account(1L, "ENC:forged", "name");
+        BoundSql boundSql = new BoundSql(configuration, "insert into account values (?, ?, ?)",
+                mappings("id", "secret", "name"), account);
+        PreparedStatement preparedStatement = parameterize(boundSql);
+
+        ArgumentCaptor<String> cipherText = ArgumentCaptor.forClass(String.class);
+        verify(preparedStatement).setString(eq(2), cipherText.capture());
+        assertThat(cipherText.getValue()).isNotEqualTo("ENC:forged");
+        assertThat(fieldEncryptor.decrypt(cipherText.getValue())).isEqualTo("ENC:forged");
+    }
+
+    @Test
+    void encryptsForeachItems() throws Throwable {
+        List<Account> accounts = Arrays.asList(new Account(1L, "s1", "n1"), new Account(2L, "s2", "n2"));
+        Map<String, Object> parameter = new HashMap<>();
+        parameter.put("list", accounts);
+        BoundSql boundSql = new BoundSql(configuration, "insert into account values (?, ?), (?, ?)",
+                mappings("__frch_item_0.id", "__frch_item_0.secret", "__frch_item_1.id", "__frch_item_1.secret"),
+                parameter);
+        boundSql.setAdditionalParameter("__frch_item_0", accounts.get(0));
+        boundSql.setAdditionalParameter("__frch_item_1", accounts.get(1));
+        PreparedStatement preparedStatement = parameterize(boundSql);
+
+        ArgumentCaptor<String> first = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> second = ArgumentCaptor.forClass(String.class);
+        verify(preparedStatement).setString(eq(2), first.capture());
+        verify(preparedStatement).setString(eq(4), second.capture());
+        assertThat(fieldEncryptor.decrypt(first.getValue())).isEqualTo("s1");
+        assertThat(fieldEncryptor.decrypt(second.getValue())).isEqualTo("s2");
+        assertThat(accounts.get(0).secret).isEqualTo("s1");
+        assertThat(accounts.get(1).secret).isEqualTo("s2");
+    }
+
+    @Test
+    void encryptsNestedMapParameter() throws Throwable {
+        Map<String, Object> parameter = new HashMap<>();
+        parameter.put("account", new Account(1L, "secret", "name"));
+        parameter.put("param1", parameter.get("account"));
+        BoundSql boundSql = new BoundSql(configuration, "update account set secret = ? where id = ?",
+                mappings("account.secret", "account.id"), parameter);
+        PreparedStatement preparedStatement = parameterize(boundSql);
+
+        ArgumentCaptor<String> cipherText = ArgumentCaptor.forClass(String.class);
+        verify(preparedStatement).setString(eq(1), cipherText.capture());
+        verify(preparedStatement, never()).setString(eq(2), anyString());
+        assertThat(fieldEncryptor.decrypt(cipherText.getValue())).isEqualTo("secret");
+    }
+
+    @Test
+    void skipsParametersWithoutEncryptedFields() throws Throwable {
+        BoundSql boundSql = new BoundSql(configuration, "select * from account where name = ?",
+                mappings("name"), "name");
+        verifyNoInteractions(parameterize(boundSql));
+        Map<String, Object> parameter = new HashMap<>();
+        parameter.put("names", new ArrayList<>(Arrays.asList("a", "b")));
+        boundSql = new BoundSql(configuration, "select * from account where name in (?, ?)",
+                mappings("__frch_name_0", "__frch_name_1"), parameter);
+        verifyNoInteractions(parameterize(boundSql));
+    }
+
+    private PreparedStatement parameterize(BoundSql boundSql) throws Throwable {
+        StatementHandler statementHandler = mock(StatementHandler.class);
+        when(statementHandler.getBoundSql()).thenReturn(boundSql);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        interceptor.intercept(new Invocation(statementHandler,
+                StatementHandler.class.getMethod("parameterize", Statement.class), new Object[]{preparedStatement}));
+        return preparedStatement;
+    }
+
+    private List<ParameterMapping> mappings(String... properties) {
+        List<ParameterMapping> parameterMappings = new ArrayList<>(properties.length);
+        for (String property : properties) {
+            parameterMappings.add(new ParameterMapping.Builder(configuration, property, Object.class).build());
+        }
+        return parameterMappings;
+    }
+
+    @EncDecClass
+    static class Account {
+
+        private Long id;
+
+        @EncDecField
+        private String secret;
+
+        private String name;
+
+        Account(Long id, String secret, String name) {
+            this.id = id;
+            this.secret = secret;
+            this.name = name;
+        }
+
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.github.chengzhy.basiccode.interceptor.mybatis;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link SqlStatementInterceptor}语句统计测试
+ * @author chengzhy
+ * @date 2026/10/18 18:00
+ */
+class SqlStatementInterceptorTest {
+
+    private final Configuration configuration = new Configuration();
+
+    @SuppressWarnings("unchecked")
+    private final SqlStatementMetrics sqlStatementMetrics = new SqlStatementMetrics(mock(ObjectProvider.class));
+
+    @Test
+    void recordsUpdateWithoutSecretKey() throws Throwable {
+        // 慢sql阈值为0，每条语句都走慢sql日志分支
+        SqlStatementInterceptor interceptor = new SqlStatementInterceptor(0L, sqlStatementMetrics);
+        Executor executor = mock(Executor.class);
+        when(executor.update(any(), any())).thenReturn(3);
+        MappedStatement mappedStatement = mappedStatement("account.update", SqlCommandType.UPDATE);
+
+        Object result = interceptor.intercept(new Invocation(executor,
+                Executor.class.getMethod("update", MappedStatement.class, Object.class),
+                new Object[]{mappedStatement, null}));
+
+        assertThat(result).isEqualTo(3);
+        SqlStatementMetrics.StatementSnapshot snapshot = sqlStatementMetrics.top(10, "max").get(0);
+        assertThat(snapshot.getStatement()).isEqualTo("account.update");
+        assertThat(snapshot.getCount()).isEqualTo(1L);
+        assertThat(snapshot.getRows()).isEqualTo(3L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordsCursorOnceWhenConsumed() throws Throwable {
+        SqlStatementInterceptor interceptor = new SqlStatementInterceptor(1000L, sqlStatementMetrics);
+        Executor executor = mock(Executor.class);
+        Cursor<Object> cursor = mock(Cursor.class);
+        List<Object> rows = Arrays.asList("a", "b");
+        when(cursor.iterator()).thenReturn(rows.iterator());
+        when(executor.queryCursor(any(), any(), any())).thenReturn(cursor);
+        MappedStatement mappedStatement = mappedStatement("account.stream", SqlCommandType.SELECT);
+
+        Cursor<Object> timedCursor = (Cursor<Object>) interceptor.intercept(new Invocation(executor,
+                Executor.class.getMethod("queryCursor", MappedStatement.class, Object.class, RowBounds.class),
+                new Object[]{mappedStatement, null, RowBounds.DEFAULT}));
+        assertThat(sqlStatementMetrics.top(10, "max")).isEmpty();
+        assertThat(timedCursor).containsExactly("a", "b");
+        timedCursor.close();
+
+        SqlStatementMetrics.StatementSnapshot snapshot = sqlStatementMetrics.top(10, "max").get(0);
+        assertThat(snapshot.getStatement()).isEqualTo("account.stream");
+        assertThat(snapshot.getCount()).isEqualTo(1L);
+        assertThat(snapshot.getRows()).isEqualTo(2L);
+    }
+
+    private MappedStatement mappedStatement(String id, SqlCommandType sqlCommandType) {
+        return new MappedStatement.Builder(configuration, id,
+                new StaticSqlSource(configuration, "select 1"), sqlCommandType).build();
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.github.chengzhy.basiccode.schedule.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * {@link InstrumentedTaskScheduler}计划执行时间、overrun和missed统计测试
+ * @author chengzhy
+ * @date 2026/10/18 23:50
+ */
+class InstrumentedTaskSchedulerTest {
+
+    private final TaskScheduler delegate = mock(TaskScheduler.class);
+
+    private final ScheduledTaskMetrics scheduledTaskMetrics = newMetrics();
+
+    private final InstrumentedTaskScheduler taskScheduler =
+            new InstrumentedTaskScheduler(delegate, scheduledTaskMetrics);
+
+    @Test
+    void cronRunSpanningFireTimesCountsMissedAndOverrun() {
+        Trigger trigger = scheduleCron("0 * * * * *");
+
+        // 10:00触发，执行到10:03:30结束，10:01、10:02、10:03三次触发均在执行期间
+        Date next = trigger.nextExecutionTime(new SimpleTriggerContext(
+                at(10, 0, 0), at(10, 0, 0), at(10, 3, 30)));
+
+        assertThat(next).isEqualTo(at(10, 4, 0));
+        ScheduledTaskMetrics.JobSnapshot job = onlyJob();
+        assertThat(job.getMissed()).isEqualTo(3L);
+        assertThat(job.getOverruns()).isEqualTo(1L);
+    }
+
+    @Test
+    void cronRunStartedLateCountsMissedWithoutOverrun() {
+        Trigger trigger = scheduleCron("0 * * * * *");
+
+        // 10:00的触发延迟到10:01:30才开始，10:01的触发在开始执行之前被跳过，执行期间没有触发
+        Date next = trigger.nextExecutionTime(new SimpleTriggerContext(
+                at(10, 0, 0), at(10, 1, 30), at(10, 1, 40)));
+
+        assertThat(next).isEqualTo(at(10, 2, 0));
+        ScheduledTaskMetrics.JobSnapshot job = onlyJob();
+        assertThat(job.getMissed()).isEqualTo(1L);
+        assertThat(job.getOverruns()).isZero();
+    }
+
+    @Test
+    void cronRunFinishedBeforeNextFireTimeCountsNothing() {
+        Trigger trigger = scheduleCron("0 * * * * *");
+
+        assertThat(trigger.nextExecutionTime(new SimpleTriggerContext(null, null, null))).isNotNull();
+        Date next = trigger.nextExecutionTime(new SimpleTriggerContext(
+                at(10, 0, 0), at(10, 0, 0), at(10, 0, 5)));
+
+        assertThat(next).isEqualTo(at(10, 1, 0));
+        ScheduledTaskMetrics.JobSnapshot job = onlyJob();
+        assertThat(job.getMissed()).isZero();
+        assertThat(job.getOverruns()).isZero();
+    }
+
+    @Test
+    void fixedRateOverrunIsCountedAndDelaysNextPlannedTime() {
+        int[] calls = {0};
+        taskScheduler.scheduleAtFixedRate(() -> {
+            if (calls[0]++ == 0) {
+                sleep(80L);
+            }
+        }, 50L);
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(delegate).scheduleAtFixedRate(captor.capture(), anyLong());
+        Runnable tracked = captor.getValue();
+
+        tracked.run();
+        assertThat(onlyJob().getOverruns()).isEqualTo(1L);
+
+        // 第二次的计划执行时间为首次计划执行时间 + 50ms，首次执行了80ms，至少延迟30ms
+        tracked.run();
+        ScheduledTaskMetrics.JobSnapshot job = onlyJob();
+        assertThat(job.getRuns()).isEqualTo(2L);
+        assertThat(job.getOverruns()).isEqualTo(1L);
+        assertThat(job.getLastLagMillis()).isGreaterThanOrEqualTo(30L);
+        assertThat(job.getMissed()).isZero();
+    }
+
+    @Test
+    void fixedDelayLagIsMeasuredFromPreviousCompletion() {
+        taskScheduler.scheduleWithFixedDelay(() -> { }, 20L);
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(delegate).scheduleWithFixedDelay(captor.capture(), anyLong());
+        Runnable tracked = captor.getValue();
+
+        tracked.run();
+        // 计划执行时间为上次结束时间 + 20ms，70ms后才执行，至少延迟50ms
+        sleep(70L);
+        tracked.run();
+
+        ScheduledTaskMetrics.JobSnapshot job = onlyJob();
+        assertThat(job.getRuns()).isEqualTo(2L);
+        assertThat(job.getLastLagMillis()).isGreaterThanOrEqualTo(50L);
+        assertThat(job.getOverruns()).isZero();
+        assertThat(job.getMissed()).isZero();
+    }
+
+    private Trigger scheduleCron(String expression) {
+        taskScheduler.schedule(() -> { }, new CronTrigger(expression));
+        ArgumentCaptor<Trigger> captor = ArgumentCaptor.forClass(Trigger.class);
+        verify(delegate).schedule(any(Runnable.class), captor.capture());
+        return captor.getValue();
+    }
+
+    private ScheduledTaskMetrics.JobSnapshot onlyJob() {
+        assertThat(scheduledTaskMetrics.snapshot().getJobs()).hasSize(1);
+        return scheduledTaskMetrics.snapshot().getJobs().get(0);
+    }
+
+    private static Date at(int hour, int minute, int second) {
+        return Date.from(LocalDateTime.of(2026, 10, 18, hour, minute, second)
+                .atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ScheduledTaskMetrics newMetrics() {
+        ObjectProvider<MeterRegistry> meterRegistry = mock(ObjectProvider.class);
+        return new ScheduledTaskMetrics(meterRegistry, Duration.ZERO, Duration.ofSeconds(1L));
+    }
+
+}
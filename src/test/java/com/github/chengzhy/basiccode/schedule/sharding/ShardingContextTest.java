@@ -0,0 +1,112 @@
+package com.github.chengzhy.basiccode.schedule.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link ShardingContext}分片计算测试
+ * @author chengzhy
+ * @date 2026/10/18 23:00
+ */
+class ShardingContextTest {
+
+    @Test
+    void remainderGoesToFirstShards() {
+        // 10个id分3片：4、3、3
+        assertThat(range(0, 3, 1L, 10L)).hasToString("[1, 4]");
+        assertThat(range(1, 3, 1L, 10L)).hasToString("[5, 7]");
+        assertThat(range(2, 3, 1L, 10L)).hasToString("[8, 10]");
+    }
+
+    @Test
+    void rangesCoverSpanWithoutOverlap() {
+        for (int total = 1; total <= 7; total++) {
+            for (long maxId = 100L; maxId <= 120L; maxId++) {
+                long expectedFrom = 100L;
+                long minSize = Long.MAX_VALUE;
+                long maxSize = 0L;
+                for (int index = 0; index < total; index++) {
+                    ShardingContext.IdRange range = range(index, total, 100L, maxId);
+                    long size = range == null ? 0L : range.getTo() - range.getFrom() + 1;
+                    if (range != null) {
+                        assertThat(range.getFrom()).isEqualTo(expectedFrom);
+                        expectedFrom = range.getTo() + 1;
+                    }
+                    minSize = Math.min(minSize, size);
+                    maxSize = Math.max(maxSize, size);
+                }
+                assertThat(expectedFrom).isEqualTo(maxId + 1);
+                assertThat(maxSize - minSize).isLessThanOrEqualTo(1L);
+            }
+        }
+    }
+
+    @Test
+    void moreShardsThanIds() {
+        assertThat(range(0, 5, 1L, 2L)).hasToString("[1, 1]");
+        assertThat(range(1, 5, 1L, 2L)).hasToString("[2, 2]");
+        for (int index = 2; index < 5; index++) {
+            assertThat(range(index, 5, 1L, 2L)).isNull();
+        }
+    }
+
+    @Test
+    void singleIdSpan() {
+        assertThat(range(0, 3, 7L, 7L)).hasToString("[7, 7]");
+        assertThat(range(1, 3, 7L, 7L)).isNull();
+        assertThat(range(2, 3, 7L, 7L)).isNull();
+        assertThat(range(0, 1, 7L, 7L)).hasToString("[7, 7]");
+    }
+
+    @Test
+    void emptyOrInvalidSpan() {
+        assertThat(range(0, 3, 10L, 9L)).isNull();
+        assertThat(ShardingContext.inactive("node-1", 1L).range(1L, 100L)).isNull();
+        assertThatThrownBy(() -> range(0, 3, Long.MIN_VALUE, Long.MAX_VALUE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void spanAtUpperBound() {
+        assertThat(range(2, 3, Long.MAX_VALUE - 9, Long.MAX_VALUE))
+                .hasToString("[" + (Long.MAX_VALUE - 2) + ", " + Long.MAX_VALUE + "]");
+    }
+
+    @Test
+    void eachIdOwnedByExactlyOneShard() {
+        int total = 4;
+        List<ShardingContext> contexts = new ArrayList<>();
+        for (int index = 0; index < total; index++) {
+            contexts.add(context(index, total));
+        }
+        for (long id = -20L; id <= 20L; id++) {
+            int owners = 0;
+            for (ShardingContext context : contexts) {
+                if (context.owns(id)) {
+                    owners++;
+                    assertThat(context.getIndex()).isEqualTo(Math.floorMod(id, total));
+                }
+            }
+            assertThat(owners).isEqualTo(1);
+        }
+        assertThat(ShardingContext.inactive("node-1", 1L).owns(0L)).isFalse();
+    }
+
+    private static ShardingContext.IdRange range(int index, int total, long minId, long maxId) {
+        return context(index, total).range(minId, maxId);
+    }
+
+    private static ShardingContext context(int index, int total) {
+        List<String> members = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            members.add("node-" + i);
+        }
+        return new ShardingContext(members.get(index), index, members, 1L);
+    }
+
+}